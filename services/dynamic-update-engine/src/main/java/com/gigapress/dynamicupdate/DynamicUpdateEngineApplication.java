@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableNeo4jRepositories
 @EnableKafka
 @EnableCaching
+@EnableScheduling
 public class DynamicUpdateEngineApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,21 @@
+package com.gigapress.dynamicupdate.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache keys to drop, grouped by cache name, broadcast to every engine replica.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+    private String originId;
+    private Map<String, Set<String>> keysByCache;
+}
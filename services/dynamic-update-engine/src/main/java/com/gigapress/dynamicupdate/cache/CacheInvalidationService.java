@@ -0,0 +1,164 @@
+package com.gigapress.dynamicupdate.cache;
+
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.graph.ProjectDependencyGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Evicts only the cache entries a write actually touches, instead of flushing whole caches.
+ * <p>
+ * Evictions run after the surrounding transaction commits so a concurrent read cannot
+ * repopulate the cache with the pre-write state, and are broadcast over Redis pub/sub so
+ * other replicas drop their local near-cache copies too.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationService implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "gigapress:cache-invalidation";
+
+    static final String COMPONENTS = "components";
+    static final String DEPENDENCIES = "dependencies";
+    static final String DEPENDENTS = "dependents";
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidationService(CacheManager cacheManager,
+                                    RedisTemplate<String, Object> redisTemplate,
+                                    DependencyGraphIndex dependencyGraphIndex) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.dependencyGraphIndex = dependencyGraphIndex;
+    }
+
+    /**
+     * A component's own properties changed: drop it and every cached neighbour list that embeds it.
+     */
+    public void componentChanged(String projectId, String componentId) {
+        Map<String, Set<String>> keys = new HashMap<>();
+        add(keys, COMPONENTS, componentId);
+        add(keys, DEPENDENCIES, componentId);
+        add(keys, DEPENDENTS, componentId);
+
+        dependencyGraphIndex.graphForProject(projectId)
+                .filter(graph -> graph.contains(componentId))
+                .ifPresent(graph -> addNeighbours(keys, graph, componentId));
+
+        invalidate(keys);
+    }
+
+    /**
+     * An edge between two components changed: drop both endpoints and their affected neighbour lists.
+     */
+    public void dependencyChanged(String sourceId, String targetId) {
+        Map<String, Set<String>> keys = new HashMap<>();
+        add(keys, COMPONENTS, sourceId);
+        add(keys, COMPONENTS, targetId);
+        add(keys, DEPENDENCIES, sourceId);
+        add(keys, DEPENDENTS, targetId);
+
+        invalidate(keys);
+    }
+
+    /**
+     * Many components changed at once, e.g. a bulk import: drop each of them and its neighbour lists.
+     */
+    public void componentsChanged(Collection<String> componentIds) {
+        if (componentIds.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> keys = new HashMap<>();
+        keys.put(COMPONENTS, new HashSet<>(componentIds));
+        keys.put(DEPENDENCIES, new HashSet<>(componentIds));
+        keys.put(DEPENDENTS, new HashSet<>(componentIds));
+
+        invalidate(keys);
+    }
+
+    private void addNeighbours(Map<String, Set<String>> keys, ProjectDependencyGraph graph, String componentId) {
+        // Components depending on this one cache it in their dependency lists, and vice versa
+        graph.directDependents(componentId).forEach(id -> add(keys, DEPENDENCIES, id));
+        graph.directDependencies(componentId).forEach(id -> add(keys, DEPENDENTS, id));
+    }
+
+    private void invalidate(Map<String, Set<String>> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndBroadcast(keys);
+                }
+            });
+        } else {
+            evictAndBroadcast(keys);
+        }
+    }
+
+    private void evictAndBroadcast(Map<String, Set<String>> keys) {
+        evict(keys);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, CacheInvalidationMessage.builder()
+                    .originId(instanceId)
+                    .keysByCache(keys)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast cache invalidation for {}", keys, e);
+        }
+    }
+
+    private void evict(Map<String, Set<String>> keys) {
+        keys.forEach((cacheName, cacheKeys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cacheKeys.forEach(cache::evict);
+            }
+        });
+        log.debug("Evicted cache entries: {}", keys);
+    }
+
+    /**
+     * The shared tier was already evicted by the originating replica, only local copies remain.
+     */
+    private void evictLocal(Map<String, Set<String>> keys) {
+        keys.forEach((cacheName, cacheKeys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                cacheKeys.forEach(twoTierCache::evictLocal);
+            }
+        });
+        log.debug("Evicted local cache entries on remote invalidation: {}", keys);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (payload instanceof CacheInvalidationMessage invalidation
+                    && !instanceId.equals(invalidation.getOriginId())
+                    && invalidation.getKeysByCache() != null) {
+                evictLocal(invalidation.getKeysByCache());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to process cache invalidation message", e);
+        }
+    }
+
+    private static void add(Map<String, Set<String>> keys, String cacheName, String key) {
+        if (key != null) {
+            keys.computeIfAbsent(cacheName, k -> new HashSet<>()).add(key);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.gigapress.dynamicupdate.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Near cache: a bounded in-process Caffeine tier in front of a shared remote (Redis) tier.
+ * <p>
+ * Reads are served locally when possible and populate the local tier on a remote hit.
+ * Writes and evictions go to both tiers; other replicas drop their local copies through
+ * {@link CacheInvalidationService}, which calls {@link #evictLocal(Object)}.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                        Cache remoteCache) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return localCache;
+    }
+
+    public Cache getRemoteCache() {
+        return remoteCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote != null && remote.get() != null) {
+            localCache.put(key, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            return (T) local;
+        }
+        T value = remoteCache.get(key, valueLoader);
+        if (value != null) {
+            localCache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(key, value);
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            localCache.put(key, current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remoteCache.evictIfPresent(key);
+        localCache.invalidate(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remoteCache.invalidate();
+        localCache.invalidateAll();
+        return invalidated;
+    }
+
+    public void evictLocal(Object key) {
+        localCache.invalidate(key);
+    }
+}
@@ -0,0 +1,71 @@
+package com.gigapress.dynamicupdate.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a remote {@link CacheManager} so every cache it hands out gets a local Caffeine tier.
+ * Local entries expire with the same TTL as the remote cache and are bounded by total weight,
+ * where a cached collection weighs as much as its element count.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, Duration> timeToLive;
+    private final Duration defaultTimeToLive;
+    private final long maximumWeight;
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               Map<String, Duration> timeToLive,
+                               Duration defaultTimeToLive,
+                               long maximumWeight) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.timeToLive = timeToLive;
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.maximumWeight = maximumWeight;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return remote != null ? new TwoTierCache(cacheName, buildLocalCache(cacheName), remote) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remoteCacheManager.getCacheNames());
+        names.addAll(caches.keySet());
+        return names;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildLocalCache(String name) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive.getOrDefault(name, defaultTimeToLive))
+                .maximumWeight(maximumWeight)
+                .weigher(TwoTierCacheManager::weigh)
+                .recordStats()
+                .build();
+    }
+
+    static int weigh(Object key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gigapress.dynamicupdate.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes hit/miss/eviction metrics of both tiers under the standard {@code cache.*} meters,
+ * distinguished by a {@code tier} tag.
+ */
+@Component
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return registry -> {
+            new CaffeineCacheMetrics<>(cache.getLocalCache(), cache.getName(), Tags.concat(tags, "tier", "local"))
+                    .bindTo(registry);
+            if (cache.getRemoteCache() instanceof RedisCache redisCache) {
+                new RedisCacheMetrics(redisCache, Tags.concat(tags, "tier", "remote")).bindTo(registry);
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.gigapress.dynamicupdate.config;
 
+import com.gigapress.dynamicupdate.event.serde.EngineEventDeserializer;
+import com.gigapress.dynamicupdate.event.serde.EngineEventSerializer;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
@@ -23,6 +26,7 @@ import java.util.Map;
 
 @Configuration
 @EnableKafka
+@EnableKafkaRetryTopic
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -31,17 +35,37 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${dynamic-update.kafka.consumer.batch-max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${dynamic-update.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${dynamic-update.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${dynamic-update.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    // Consumers read both formats, so enable this only once every consumer of the topics is upgraded
+    @Value("${dynamic-update.kafka.producer.binary-events:false}")
+    private boolean binaryEvents;
+
     // Producer Configuration
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                binaryEvents ? EngineEventSerializer.class : JsonSerializer.class);
         configs.put(ProducerConfig.ACKS_CONFIG, "all");
         configs.put(ProducerConfig.RETRIES_CONFIG, 3);
         configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
 
         return new DefaultKafkaProducerFactory<>(configs);
     }
@@ -58,9 +82,12 @@ public class KafkaConfig {
         configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // A record neither format can read is handed to the error handler instead of failing every poll
+        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configs.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, EngineEventDeserializer.class);
         configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // JSON fallback for producers that do not write the binary format yet
         configs.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         configs.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Object.class);
 
@@ -78,6 +105,39 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * Batch listener factory: the whole poll is handed to the listener and acknowledged once.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        Map<String, Object> overrides = new HashMap<>(consumerFactory().getConfigurationProperties());
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(overrides));
+        factory.setConcurrency(3);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        return factory;
+    }
+
+    /**
+     * Record listener factory for the project update retry chain. Offsets are committed per record by
+     * the container, which is what the retry topic error handling expects.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+
+        return factory;
+    }
+
     // Topic Creation
     @Bean
     public NewTopic componentChangesTopic() {
@@ -0,0 +1,106 @@
+package com.gigapress.dynamicupdate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies the engine's Neo4j schema (constraints and indexes) at startup.
+ * <p>
+ * Migrations are numbered and the highest applied one is recorded on a {@code :SchemaVersion}
+ * node, so each instance only runs what is missing. Every statement is {@code IF NOT EXISTS},
+ * which keeps concurrent startups and re-runs harmless. A failing migration is logged and not
+ * recorded, so it is retried on the next start.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class Neo4jSchemaInitializer implements ApplicationRunner {
+    
+    public static final String SCHEMA_NAME = "dynamic-update-engine";
+    
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Component identity and project lookups", List.of(
+                    "CREATE CONSTRAINT component_id_unique IF NOT EXISTS " +
+                    "FOR (c:Component) REQUIRE c.componentId IS UNIQUE",
+                    "CREATE INDEX component_project_id IF NOT EXISTS " +
+                    "FOR (c:Component) ON (c.projectId)")),
+            new Migration(2, "Status and type filters", List.of(
+                    "CREATE INDEX component_project_status IF NOT EXISTS " +
+                    "FOR (c:Component) ON (c.projectId, c.status)",
+                    "CREATE INDEX component_project_type IF NOT EXISTS " +
+                    "FOR (c:Component) ON (c.projectId, c.type)",
+                    "CREATE INDEX component_type IF NOT EXISTS " +
+                    "FOR (c:Component) ON (c.type)")),
+            new Migration(3, "Blast radius ranking", List.of(
+                    "CREATE INDEX component_project_dependent_count IF NOT EXISTS " +
+                    "FOR (c:Component) ON (c.projectId, c.dependentCount)")),
+            new Migration(4, "Component history", List.of(
+                    "CREATE INDEX component_revision_component IF NOT EXISTS " +
+                    "FOR (r:ComponentRevision) ON (r.componentId, r.revision)",
+                    "CREATE INDEX component_revision_project_at IF NOT EXISTS " +
+                    "FOR (r:ComponentRevision) ON (r.projectId, r.at)")));
+    
+    private final Driver neo4jDriver;
+    private final boolean enabled;
+    
+    public Neo4jSchemaInitializer(Driver neo4jDriver,
+                                  @Value("${dynamic-update.neo4j.schema.enabled:true}") boolean enabled) {
+        this.neo4jDriver = neo4jDriver;
+        this.enabled = enabled;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Neo4j schema management is disabled");
+            return;
+        }
+        try (Session session = neo4jDriver.session()) {
+            int current = currentVersion(session);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                log.info("Applying Neo4j schema migration {}: {}", migration.version(), migration.description());
+                migration.statements().forEach(statement -> session.run(statement).consume());
+                session.run("MERGE (v:SchemaVersion {name: $name}) " +
+                                "SET v.version = CASE WHEN coalesce(v.version, 0) < $version " +
+                                "THEN $version ELSE v.version END, v.updatedAt = localdatetime()",
+                        Values.parameters("name", SCHEMA_NAME, "version", migration.version())).consume();
+                current = migration.version();
+            }
+            log.info("Neo4j schema is at version {}", current);
+        } catch (Exception e) {
+            // Lookups still work without indexes, only slower; the health check reports it
+            log.error("Failed to apply Neo4j schema migrations", e);
+        }
+    }
+    
+    /**
+     * Highest migration recorded in the database, 0 when none has been applied.
+     */
+    public static int currentVersion(Session session) {
+        return session.run("OPTIONAL MATCH (v:SchemaVersion {name: $name}) RETURN coalesce(v.version, 0) AS version",
+                        Values.parameters("name", SCHEMA_NAME))
+                .single()
+                .get("version")
+                .asInt();
+    }
+    
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+    
+    record Migration(int version, String description, List<String> statements) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.gigapress.dynamicupdate.config;
 
+import com.gigapress.dynamicupdate.cache.CacheInvalidationService;
+import com.gigapress.dynamicupdate.cache.TwoTierCacheManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -11,10 +13,13 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
@@ -29,6 +34,19 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String redisPassword;
     
+    @Value("${dynamic-update.cache.local.enabled:true}")
+    private boolean localCacheEnabled;
+    
+    @Value("${dynamic-update.cache.local.max-weight:10000}")
+    private long localCacheMaxWeight;
+    
+    private static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(10);
+    
+    private static final Map<String, Duration> CACHE_TTLS = Map.of(
+            "components", Duration.ofMinutes(15),
+            "dependencies", Duration.ofMinutes(30),
+            "dependents", Duration.ofMinutes(30));
+    
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
@@ -59,21 +77,34 @@ public class RedisConfig {
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(DEFAULT_CACHE_TTL)
                 .disableCachingNullValues()
                 .prefixCacheNameWith("gigapress:");
         
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(cacheConfig)
-                .withCacheConfiguration("components", 
-                    RedisCacheConfiguration.defaultCacheConfig()
-                        .entryTtl(Duration.ofMinutes(15)))
-                .withCacheConfiguration("dependencies",
-                    RedisCacheConfiguration.defaultCacheConfig()
-                        .entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("dependents",
-                    RedisCacheConfiguration.defaultCacheConfig()
-                        .entryTtl(Duration.ofMinutes(30)))
-                .build();
+                .enableStatistics();
+        CACHE_TTLS.forEach((name, ttl) -> builder.withCacheConfiguration(name,
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(ttl)));
+        RedisCacheManager redisCacheManager = builder.build();
+        
+        if (!localCacheEnabled) {
+            return redisCacheManager;
+        }
+        
+        // Not exposed as a bean, so initialize the per-cache configurations explicitly
+        redisCacheManager.afterPropertiesSet();
+        return new TwoTierCacheManager(redisCacheManager, CACHE_TTLS, DEFAULT_CACHE_TTL, localCacheMaxWeight);
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        CacheInvalidationService cacheInvalidationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationService,
+                new ChannelTopic(CacheInvalidationService.INVALIDATION_CHANNEL));
+        return container;
     }
 }
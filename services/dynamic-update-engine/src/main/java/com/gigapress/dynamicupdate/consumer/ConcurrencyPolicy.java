@@ -0,0 +1,48 @@
+package com.gigapress.dynamicupdate.consumer;
+
+/**
+ * Maps consumer lag to a listener concurrency within {@code [min, max]}. Scaling up follows the
+ * lag immediately; scaling down waits until the lag has stayed low for {@code scaleDownAfter}
+ * consecutive checks, so a short lull does not trigger a rebalance.
+ */
+public final class ConcurrencyPolicy {
+    
+    private final int min;
+    private final int max;
+    private final long lagPerConsumer;
+    private final int scaleDownAfter;
+    
+    public ConcurrencyPolicy(int min, int max, long lagPerConsumer, int scaleDownAfter) {
+        if (min < 1 || max < min || lagPerConsumer < 1 || scaleDownAfter < 1) {
+            throw new IllegalArgumentException("Invalid concurrency bounds " + min + ".." + max
+                    + " with lag per consumer " + lagPerConsumer + " and scale down after " + scaleDownAfter);
+        }
+        this.min = min;
+        this.max = max;
+        this.lagPerConsumer = lagPerConsumer;
+        this.scaleDownAfter = scaleDownAfter;
+    }
+    
+    /**
+     * Concurrency the lag calls for, ignoring the current state.
+     */
+    public int desired(long lag) {
+        long consumers = (lag + lagPerConsumer - 1) / lagPerConsumer;
+        return (int) Math.max(min, Math.min(max, consumers));
+    }
+    
+    /**
+     * Next concurrency given the current one and how many previous checks already asked for less.
+     */
+    public int next(int current, long lag, int lowStreak) {
+        int desired = desired(lag);
+        if (desired >= current) {
+            return desired;
+        }
+        return lowStreak + 1 >= scaleDownAfter ? desired : current;
+    }
+    
+    public int getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,28 @@
+package com.gigapress.dynamicupdate.consumer;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Lag of one consumer group, measured as end offset minus committed offset per partition.
+ */
+@Value
+@Builder
+public class ConsumerLag {
+    String groupId;
+    long totalLag;
+    Map<String, Long> lagByTopic;
+    Map<String, Integer> partitionsByTopic;
+    Instant measuredAt;
+    
+    public long lag(String topic) {
+        return lagByTopic.getOrDefault(topic, 0L);
+    }
+    
+    public int partitions(String topic) {
+        return partitionsByTopic.getOrDefault(topic, 0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.gigapress.dynamicupdate.consumer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures consumer group lag through the Kafka admin API and keeps the latest measurement per
+ * group for health and metrics. Also owns partition expansion of hot topics.
+ */
+@Slf4j
+@Component
+public class ConsumerLagMonitor {
+    
+    private static final long TIMEOUT_SECONDS = 5;
+    
+    private final KafkaAdmin kafkaAdmin;
+    private final Map<String, ConsumerLag> latest = new ConcurrentHashMap<>();
+    private volatile AdminClient adminClient;
+    
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin) {
+        this.kafkaAdmin = kafkaAdmin;
+    }
+    
+    /**
+     * Measures the lag of {@code groupId} on {@code topics}. Partitions without a committed offset
+     * count from the start of the log, matching {@code auto.offset.reset=earliest}.
+     */
+    public ConsumerLag measure(String groupId, Collection<String> topics) throws Exception {
+        AdminClient admin = admin();
+        Map<String, TopicDescription> descriptions = admin.describeTopics(topics)
+                .allTopicNames().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        
+        Map<TopicPartition, OffsetSpec> latestSpecs = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> earliestSpecs = new HashMap<>();
+        Map<String, Integer> partitionsByTopic = new HashMap<>();
+        descriptions.forEach((topic, description) -> {
+            partitionsByTopic.put(topic, description.partitions().size());
+            description.partitions().forEach(partition -> {
+                TopicPartition topicPartition = new TopicPartition(topic, partition.partition());
+                latestSpecs.put(topicPartition, OffsetSpec.latest());
+                earliestSpecs.put(topicPartition, OffsetSpec.earliest());
+            });
+        });
+        
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = admin.listOffsets(latestSpecs)
+                .all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> starts = admin.listOffsets(earliestSpecs)
+                .all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        
+        Map<String, Long> lagByTopic = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end : ends.entrySet()) {
+            OffsetAndMetadata offset = committed.get(end.getKey());
+            long position = offset != null ? offset.offset() : starts.get(end.getKey()).offset();
+            long lag = Math.max(0, end.getValue().offset() - position);
+            lagByTopic.merge(end.getKey().topic(), lag, Long::sum);
+            total += lag;
+        }
+        
+        ConsumerLag lag = ConsumerLag.builder()
+                .groupId(groupId)
+                .totalLag(total)
+                .lagByTopic(lagByTopic)
+                .partitionsByTopic(partitionsByTopic)
+                .measuredAt(Instant.now())
+                .build();
+        latest.put(groupId, lag);
+        return lag;
+    }
+    
+    public Map<String, ConsumerLag> getLatest() {
+        return Collections.unmodifiableMap(latest);
+    }
+    
+    /**
+     * Raises the partition count of {@code topic} to {@code partitions}. Partitions can only grow,
+     * and records keyed before the change may map to a different partition afterwards.
+     */
+    public void expandPartitions(String topic, int partitions) throws Exception {
+        admin().createPartitions(Map.of(topic, NewPartitions.increaseTo(partitions)))
+                .all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        log.info("Expanded topic {} to {} partitions", topic, partitions);
+    }
+    
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+    
+    private AdminClient admin() {
+        AdminClient admin = adminClient;
+        if (admin == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                }
+                admin = adminClient;
+            }
+        }
+        return admin;
+    }
+}
@@ -0,0 +1,144 @@
+package com.gigapress.dynamicupdate.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resizes the listener containers of hot topics to follow their consumer lag.
+ * <p>
+ * Every check measures the lag of each container consuming one of
+ * {@code dynamic-update.kafka.autoscale.topics}, asks the {@link ConcurrencyPolicy} for a
+ * concurrency and restarts the container with it. Consumers beyond the partition count would sit
+ * idle, so concurrency is capped by partitions; with {@code expand-partitions} enabled, lagging
+ * topics are first grown up to {@code max-partitions}. Growing a topic remaps keys to partitions,
+ * so per-component ordering is only guaranteed for records produced after the expansion.
+ * <p>
+ * A restart rebalances the group and redelivers unacknowledged records, which the processed event
+ * store skips.
+ */
+@Slf4j
+@Component
+public class ListenerConcurrencyController {
+    
+    private final KafkaListenerEndpointRegistry registry;
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrencyPolicy policy;
+    private final boolean enabled;
+    private final Set<String> topics;
+    private final boolean expandPartitions;
+    private final int maxPartitions;
+    
+    private final Map<String, Integer> lowStreaks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lagGauges = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> concurrencyGauges = new ConcurrentHashMap<>();
+    
+    public ListenerConcurrencyController(KafkaListenerEndpointRegistry registry,
+                                         ConsumerLagMonitor consumerLagMonitor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${dynamic-update.kafka.autoscale.enabled:true}") boolean enabled,
+                                         @Value("${dynamic-update.kafka.autoscale.topics:project.updates}") List<String> topics,
+                                         @Value("${dynamic-update.kafka.autoscale.min-concurrency:3}") int minConcurrency,
+                                         @Value("${dynamic-update.kafka.autoscale.max-concurrency:12}") int maxConcurrency,
+                                         @Value("${dynamic-update.kafka.autoscale.lag-per-consumer:1000}") long lagPerConsumer,
+                                         @Value("${dynamic-update.kafka.autoscale.scale-down-after:3}") int scaleDownAfter,
+                                         @Value("${dynamic-update.kafka.autoscale.expand-partitions:false}") boolean expandPartitions,
+                                         @Value("${dynamic-update.kafka.autoscale.max-partitions:12}") int maxPartitions) {
+        this.registry = registry;
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.topics = Set.copyOf(topics);
+        this.policy = new ConcurrencyPolicy(minConcurrency, maxConcurrency, lagPerConsumer, scaleDownAfter);
+        this.expandPartitions = expandPartitions;
+        this.maxPartitions = maxPartitions;
+    }
+    
+    @Scheduled(initialDelayString = "${dynamic-update.kafka.autoscale.interval:PT30S}",
+            fixedDelayString = "${dynamic-update.kafka.autoscale.interval:PT30S}")
+    public void adjustConcurrency() {
+        if (!enabled) {
+            return;
+        }
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if (!(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) || !container.isRunning()) {
+                continue;
+            }
+            String[] containerTopics = concurrent.getContainerProperties().getTopics();
+            if (containerTopics == null) {
+                continue;
+            }
+            List<String> hot = Arrays.stream(containerTopics).filter(topics::contains).toList();
+            if (hot.isEmpty()) {
+                continue;
+            }
+            try {
+                adjust(concurrent, hot);
+            } catch (Exception e) {
+                log.warn("Failed to adjust concurrency of listener {}", concurrent.getListenerId(), e);
+            }
+        }
+    }
+    
+    /**
+     * Current concurrency of every managed listener, by listener id.
+     */
+    public Map<String, Integer> getConcurrencyByListener() {
+        Map<String, Integer> concurrency = new TreeMap<>();
+        concurrencyGauges.forEach((listenerId, gauge) -> concurrency.put(listenerId, (int) gauge.get()));
+        return concurrency;
+    }
+    
+    private void adjust(ConcurrentMessageListenerContainer<?, ?> container, List<String> hot) throws Exception {
+        String listenerId = container.getListenerId();
+        ConsumerLag lag = consumerLagMonitor.measure(container.getGroupId(), hot);
+        int current = container.getConcurrency();
+        gauge(lagGauges, "dynamic.update.consumer.lag", "group", container.getGroupId()).set(lag.getTotalLag());
+        
+        int streak = lowStreaks.getOrDefault(listenerId, 0);
+        int target = policy.next(current, lag.getTotalLag(), streak);
+        lowStreaks.put(listenerId, policy.desired(lag.getTotalLag()) < current ? streak + 1 : 0);
+        
+        int partitions = hot.stream().mapToInt(lag::partitions).max().orElse(0);
+        if (target > partitions && expandPartitions) {
+            int expanded = Math.min(target, maxPartitions);
+            for (String topic : hot) {
+                if (lag.lag(topic) > 0 && lag.partitions(topic) < expanded) {
+                    consumerLagMonitor.expandPartitions(topic, expanded);
+                    partitions = Math.max(partitions, expanded);
+                }
+            }
+        }
+        target = Math.min(target, Math.max(1, partitions));
+        
+        if (target != current) {
+            log.info("Resizing listener {} from {} to {} consumers (lag {} on {})",
+                    listenerId, current, target, lag.getTotalLag(), hot);
+            // Concurrency only applies to child containers created on start
+            container.stop();
+            container.setConcurrency(target);
+            container.start();
+            lowStreaks.put(listenerId, 0);
+        }
+        gauge(concurrencyGauges, "dynamic.update.listener.concurrency", "listener", listenerId).set(target);
+    }
+    
+    private AtomicLong gauge(Map<String, AtomicLong> gauges, String name, String tag, String value) {
+        return gauges.computeIfAbsent(value, key -> {
+            AtomicLong state = new AtomicLong();
+            meterRegistry.gauge(name, Tags.of(tag, key), state);
+            return state;
+        });
+    }
+}
@@ -1,23 +1,44 @@
 package com.gigapress.dynamicupdate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gigapress.dynamicupdate.domain.Component;
 import com.gigapress.dynamicupdate.domain.ComponentType;
 import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.dto.BulkIngestRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestResponse;
+import com.gigapress.dynamicupdate.dto.ComponentAnalytics;
+import com.gigapress.dynamicupdate.dto.ComponentDiff;
+import com.gigapress.dynamicupdate.dto.ComponentImpact;
+import com.gigapress.dynamicupdate.dto.ComponentPage;
 import com.gigapress.dynamicupdate.dto.ComponentRequest;
+import com.gigapress.dynamicupdate.dto.ComponentRevision;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
 import com.gigapress.dynamicupdate.dto.DependencyRequest;
+import com.gigapress.dynamicupdate.dto.MetadataQuery;
 import com.gigapress.dynamicupdate.dto.UpdateRequest;
+import com.gigapress.dynamicupdate.service.BulkIngestService;
+import com.gigapress.dynamicupdate.service.ComponentHistoryService;
 import com.gigapress.dynamicupdate.service.ComponentService;
+import com.gigapress.dynamicupdate.service.GraphAnalyticsService;
+import com.gigapress.dynamicupdate.service.ImpactScoringService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
@@ -27,6 +48,11 @@ import java.util.Set;
 public class ComponentController {
     
     private final ComponentService componentService;
+    private final BulkIngestService bulkIngestService;
+    private final GraphAnalyticsService graphAnalyticsService;
+    private final ComponentHistoryService componentHistoryService;
+    private final ImpactScoringService impactScoringService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<Component> createComponent(@Valid @RequestBody ComponentRequest request) {
@@ -45,10 +71,24 @@ public class ComponentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkIngestResponse> bulkIngest(@Valid @RequestBody BulkIngestRequest request) {
+        log.info("Bulk ingesting {} components and {} dependencies into project: {}",
+                request.getComponents().size(), request.getDependencies().size(), request.getProjectId());
+        
+        BulkIngestResponse response = bulkIngestService.ingest(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
     @GetMapping("/{componentId}")
-    public ResponseEntity<Component> getComponent(@PathVariable String componentId) {
-        return componentService.findByComponentId(componentId)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getComponent(
+            @PathVariable String componentId,
+            @RequestParam(defaultValue = "false") boolean expand) {
+        // Relationships are only read when explicitly asked for
+        Optional<?> component = expand
+                ? componentService.findByComponentId(componentId)
+                : componentService.findSummary(componentId);
+        return component.<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -95,9 +135,104 @@ public class ComponentController {
         return ResponseEntity.ok(affected);
     }
     
+    /**
+     * Affected components ranked by an impact score that decays with dependency strength, type and
+     * distance; branches below {@code threshold} are not followed.
+     */
+    @GetMapping("/{componentId}/impact-analysis/ranked")
+    public ResponseEntity<List<ComponentImpact>> getRankedImpact(
+            @PathVariable String componentId,
+            @RequestParam(defaultValue = "0.1") double threshold,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(impactScoringService.rankAffected(List.of(componentId), threshold, limit));
+    }
+    
+    /**
+     * Precomputed blast radius, layer and cycle membership; 404 until the analytics job has run.
+     */
+    @GetMapping("/{componentId}/analytics")
+    public ResponseEntity<ComponentAnalytics> getAnalytics(@PathVariable String componentId) {
+        return graphAnalyticsService.findAnalytics(componentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{componentId}/history")
+    public ResponseEntity<List<ComponentRevision>> getHistory(@PathVariable String componentId) {
+        return ResponseEntity.ok(componentHistoryService.getHistory(componentId));
+    }
+    
+    /**
+     * Full state of a component as of a revision, rebuilt from the nearest checkpoint.
+     */
+    @GetMapping("/{componentId}/history/{revision}")
+    public ResponseEntity<ComponentRevision> getRevision(@PathVariable String componentId,
+                                                         @PathVariable int revision) {
+        return componentHistoryService.getStateAt(componentId, revision)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{componentId}/history/as-of")
+    public ResponseEntity<ComponentRevision> getStateAt(
+            @PathVariable String componentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return componentHistoryService.getStateAt(componentId, at)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{componentId}/diff")
+    public ResponseEntity<ComponentDiff> getDiff(@PathVariable String componentId,
+                                                 @RequestParam int from,
+                                                 @RequestParam int to) {
+        return ResponseEntity.ok(componentHistoryService.diff(componentId, from, to));
+    }
+    
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Component>> getProjectComponents(@PathVariable String projectId) {
-        List<Component> components = componentService.findByProjectId(projectId);
+    public ResponseEntity<List<?>> getProjectComponents(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "false") boolean expand) {
+        List<?> components = expand
+                ? componentService.findByProjectId(projectId)
+                : componentService.findProjectSummaries(projectId);
         return ResponseEntity.ok(components);
     }
+    
+    @GetMapping("/project/{projectId}/page")
+    public ResponseEntity<ComponentPage> getProjectComponentPage(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(componentService.findProjectComponentPage(projectId, cursor, limit));
+    }
+    
+    /**
+     * Components of a project filtered by metadata, e.g. {@code {"where": {"framework": "react", "tier": "frontend"}}}.
+     */
+    @PostMapping("/project/{projectId}/query")
+    public ResponseEntity<ComponentPage> queryProjectComponents(
+            @PathVariable String projectId,
+            @Valid @RequestBody MetadataQuery query) {
+        return ResponseEntity.ok(componentService.findProjectComponentsByMetadata(
+                projectId, query.getWhere(), query.getCursor(), query.getLimit()));
+    }
+    
+    @GetMapping(value = "/project/{projectId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProjectComponents(@PathVariable String projectId) {
+        StreamingResponseBody body = outputStream -> componentService.streamProjectComponents(projectId, page -> {
+            try {
+                for (ComponentSummary summary : page) {
+                    outputStream.write(objectMapper.writeValueAsBytes(summary));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
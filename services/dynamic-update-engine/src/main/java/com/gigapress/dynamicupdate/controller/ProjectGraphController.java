@@ -0,0 +1,96 @@
+package com.gigapress.dynamicupdate.controller;
+
+import com.gigapress.dynamicupdate.dto.ComponentAnalytics;
+import com.gigapress.dynamicupdate.graph.GraphAnalytics;
+import com.gigapress.dynamicupdate.graph.GraphSnapshot;
+import com.gigapress.dynamicupdate.graph.GraphSnapshotCodec;
+import com.gigapress.dynamicupdate.service.ComponentHistoryService;
+import com.gigapress.dynamicupdate.service.GraphAnalyticsService;
+import com.gigapress.dynamicupdate.service.GraphSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves versioned project graph snapshots. The snapshot version is the ETag, so clients holding
+ * the current version get a 304 without a body.
+ */
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class ProjectGraphController {
+    
+    private final GraphSnapshotService graphSnapshotService;
+    private final GraphAnalyticsService graphAnalyticsService;
+    private final ComponentHistoryService componentHistoryService;
+    
+    @GetMapping(value = "/{projectId}/dependency-graph", produces = GraphSnapshotCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getEncodedDependencyGraph(@PathVariable String projectId, WebRequest request) {
+        GraphSnapshotService.CachedSnapshot cached = graphSnapshotService.getSnapshot(projectId);
+        if (request.checkNotModified(etag(cached.snapshot()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(cached.snapshot())).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag(cached.snapshot()))
+                .contentType(MediaType.parseMediaType(GraphSnapshotCodec.MEDIA_TYPE))
+                .body(cached.encoded());
+    }
+    
+    @GetMapping(value = "/{projectId}/dependency-graph", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GraphSnapshot> getDependencyGraph(@PathVariable String projectId, WebRequest request) {
+        GraphSnapshot snapshot = graphSnapshotService.getSnapshot(projectId).snapshot();
+        if (request.checkNotModified(etag(snapshot))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(snapshot)).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag(snapshot))
+                .body(snapshot);
+    }
+    
+    /**
+     * The project graph as it was at {@code at}, rebuilt from component history. Not cached.
+     */
+    @GetMapping(value = "/{projectId}/dependency-graph/as-of", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GraphSnapshot> getDependencyGraphAt(
+            @PathVariable String projectId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(componentHistoryService.getProjectGraphAt(projectId, at));
+    }
+    
+    /**
+     * Components with the most transitive dependents, from the last analytics run.
+     */
+    @GetMapping("/{projectId}/hubs")
+    public ResponseEntity<List<ComponentAnalytics>> getHubs(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(graphAnalyticsService.findHubs(projectId, limit));
+    }
+    
+    @PostMapping("/{projectId}/analytics")
+    public ResponseEntity<Map<String, Object>> analyzeProject(@PathVariable String projectId) {
+        GraphAnalytics analytics = graphAnalyticsService.analyzeProject(projectId);
+        return ResponseEntity.ok(Map.of(
+                "projectId", projectId,
+                "components", analytics.size(),
+                "longestChain", analytics.maxChain(),
+                "cyclicComponents", analytics.cyclicComponentCount()));
+    }
+    
+    private String etag(GraphSnapshot snapshot) {
+        return "\"" + snapshot.getVersion() + "\"";
+    }
+}
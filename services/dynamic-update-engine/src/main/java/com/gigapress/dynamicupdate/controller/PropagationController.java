@@ -0,0 +1,25 @@
+package com.gigapress.dynamicupdate.controller;
+
+import com.gigapress.dynamicupdate.propagation.PropagationExecutor;
+import com.gigapress.dynamicupdate.propagation.PropagationProgress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/propagations")
+@RequiredArgsConstructor
+public class PropagationController {
+    
+    private final PropagationExecutor propagationExecutor;
+    
+    @GetMapping("/{propagationId}")
+    public ResponseEntity<PropagationProgress> getProgress(@PathVariable String propagationId) {
+        return propagationExecutor.getProgress(propagationId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -70,38 +70,4 @@ public class Component {
                 .build();
         dependencies.add(dependency);
     }
-    
-    // Check if component has circular dependencies
-    public boolean hasCircularDependency(Component target) {
-        if (target == null || this.equals(target)) {
-            return false;
-        }
-        return hasCircularDependency(target, new HashSet<>());
-    }
-    
-    private boolean hasCircularDependency(Component target, Set<String> visited) {
-        // Prevent infinite recursion
-        if (visited.contains(this.componentId)) {
-            return false;
-        }
-        
-        // Check if target depends on this component
-        if (target.componentId != null && target.componentId.equals(this.componentId)) {
-            return true;
-        }
-        
-        visited.add(this.componentId);
-        
-        // Check all dependencies
-        if (dependencies != null) {
-            for (Dependency dep : dependencies) {
-                if (dep.getTarget() != null && dep.getTarget().hasCircularDependency(target, visited)) {
-                    return true;
-                }
-            }
-        }
-        
-        visited.remove(this.componentId);
-        return false;
-    }
 }
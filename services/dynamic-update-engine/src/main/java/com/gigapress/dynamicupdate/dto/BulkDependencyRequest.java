@@ -0,0 +1,30 @@
+package com.gigapress.dynamicupdate.dto;
+
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDependencyRequest {
+    @NotBlank
+    private String sourceComponentId;
+    
+    @NotBlank
+    private String targetComponentId;
+    
+    @NotNull
+    private DependencyType type;
+    
+    private DependencyStrength strength;
+    
+    private String metadata;
+}
@@ -0,0 +1,28 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestRequest {
+    @NotBlank
+    private String projectId;
+    
+    @Valid
+    @Builder.Default
+    private List<ComponentRequest> components = new ArrayList<>();
+    
+    @Valid
+    @Builder.Default
+    private List<BulkDependencyRequest> dependencies = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestResponse {
+    private String projectId;
+    private int componentsWritten;
+    private int dependenciesWritten;
+    private long durationMs;
+}
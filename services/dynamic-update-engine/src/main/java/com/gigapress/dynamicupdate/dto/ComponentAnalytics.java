@@ -0,0 +1,28 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Graph metrics of a component as last persisted by the analytics job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentAnalytics {
+    private String componentId;
+    private String name;
+    private String projectId;
+    private int transitiveDependentCount;
+    private int topologicalLayer;
+    private int cycleGroup;
+    private int cycleSize;
+    private int longestChain;
+    private boolean criticalPath;
+    private LocalDateTime analyzedAt;
+}
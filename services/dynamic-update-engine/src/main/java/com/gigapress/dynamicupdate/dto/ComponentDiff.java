@@ -0,0 +1,30 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Tracked properties that differ between two revisions of a component.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentDiff {
+    private String componentId;
+    private int fromRevision;
+    private int toRevision;
+    private Map<String, FieldChange> changes;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FieldChange {
+        private Object from;
+        private Object to;
+    }
+}
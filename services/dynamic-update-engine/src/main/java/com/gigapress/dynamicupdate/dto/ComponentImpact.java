@@ -0,0 +1,20 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A component affected by a change, with its decayed impact score in (0, 1] and the number of
+ * hops on the path that produced it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentImpact {
+    private String componentId;
+    private double score;
+    private int distance;
+}
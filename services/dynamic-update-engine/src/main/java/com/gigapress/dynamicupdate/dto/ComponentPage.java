@@ -0,0 +1,20 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated component listing. {@code nextCursor} is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentPage {
+    private List<ComponentSummary> items;
+    private String nextCursor;
+}
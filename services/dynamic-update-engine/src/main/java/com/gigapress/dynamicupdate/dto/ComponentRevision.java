@@ -0,0 +1,26 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One entry of a component's append-only history. Checkpoints carry every tracked property,
+ * other revisions only the properties that changed.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentRevision {
+    private String componentId;
+    private int revision;
+    private String kind;
+    private LocalDateTime at;
+    private boolean checkpoint;
+    private Map<String, Object> properties;
+}
@@ -0,0 +1,29 @@
+package com.gigapress.dynamicupdate.dto;
+
+import com.gigapress.dynamicupdate.domain.ComponentStatus;
+import com.gigapress.dynamicupdate.domain.ComponentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar properties of a component, read without hydrating its DEPENDS_ON relationships.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentSummary {
+    private String componentId;
+    private String name;
+    private ComponentType type;
+    private String version;
+    private String projectId;
+    private ComponentStatus status;
+    private String metadata;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
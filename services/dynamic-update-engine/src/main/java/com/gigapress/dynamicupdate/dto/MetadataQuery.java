@@ -0,0 +1,26 @@
+package com.gigapress.dynamicupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.Map;
+
+/**
+ * Metadata filter over a project's components. Every entry must match: a scalar value is an
+ * equality test, a list value matches any of its elements. Array metadata matches when any of its
+ * elements does, so {@code {"tags": "ui"}} finds components tagged {@code ["ui", "web"]}. Keys use
+ * the dotted form of nested metadata, e.g. {@code build.tool}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataQuery {
+    @NotEmpty
+    private Map<String, Object> where;
+    
+    private String cursor;
+    
+    private int limit = 100;
+}
@@ -0,0 +1,178 @@
+package com.gigapress.dynamicupdate.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single publishing path for engine events.
+ * <p>
+ * Records are keyed so that all events for one component (or one propagation trigger) land on
+ * the same partition and stay ordered. Component updates are additionally coalesced: repeated
+ * updates to the same component within {@code dynamic-update.kafka.coalesce-window-ms} are merged
+ * into one event carrying the first previous version, the last new version and the merged changes.
+ * <p>
+ * Dependency changes and project-wide updates wait in the same buffer without being merged, so
+ * every event is sent after the component updates published before it; a merged update keeps the
+ * slot of its first occurrence.
+ */
+@Slf4j
+@Component
+public class ComponentEventPublisher {
+
+    public static final String COMPONENT_UPDATE_TOPIC = "component.changes";
+    public static final String DEPENDENCY_CHANGE_TOPIC = "dependency.events";
+    public static final String UPDATE_PROPAGATION_TOPIC = "update.propagation";
+    public static final String PROJECT_UPDATES_TOPIC = "project.updates";
+    // Entry of the non-blocking retry chain: -retry-N topics with backoff, then -dlt
+    public static final String FAILED_PROJECT_UPDATES_TOPIC = "project.updates.failed";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final long coalesceWindowMs;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Object> pending = new ArrayList<>();
+    private final Map<String, Integer> pendingSlots = new HashMap<>();
+
+    public ComponentEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                   @Value("${dynamic-update.kafka.coalesce-window-ms:100}") long coalesceWindowMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "component-event-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void publishComponentUpdate(ComponentUpdateEvent event) {
+        if (coalesceWindowMs <= 0) {
+            send(event);
+            return;
+        }
+        enqueue(event, event.getComponentId());
+    }
+
+    public void publishDependencyChange(DependencyChangeEvent event) {
+        if (coalesceWindowMs <= 0) {
+            send(event);
+            return;
+        }
+        enqueue(event, null);
+    }
+
+    /**
+     * Sends one propagation chunk; the future completes once the broker has acknowledged it.
+     */
+    public CompletableFuture<SendResult<String, Object>> publishPropagation(UpdatePropagationEvent event) {
+        return kafkaTemplate.send(UPDATE_PROPAGATION_TOPIC, event.getTriggerComponentId(), event);
+    }
+
+    /**
+     * Hands a project update that failed on the main listener over to the retry chain.
+     */
+    public CompletableFuture<?> publishFailedProjectUpdate(ComponentUpdateEvent event) {
+        String key = event.getComponentId() != null ? event.getComponentId() : event.getProjectId();
+        return kafkaTemplate.send(FAILED_PROJECT_UPDATES_TOPIC, key, event);
+    }
+
+    /**
+     * Sends every pending event in the order it was first published.
+     */
+    public void flush() {
+        List<Object> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            pendingSlots.clear();
+        }
+        try {
+            batch.forEach(this::send);
+            log.debug("Flushed {} buffered engine events", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to publish {} buffered engine events", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Buffers an event until the next flush. Events with a {@code coalesceKey} merge into the
+     * pending event of the same key; the others always take a new slot.
+     */
+    private void enqueue(Object event, String coalesceKey) {
+        boolean scheduleFlush;
+        synchronized (pending) {
+            scheduleFlush = pending.isEmpty();
+            Integer slot = coalesceKey != null ? pendingSlots.putIfAbsent(coalesceKey, pending.size()) : null;
+            if (slot == null) {
+                pending.add(event);
+            } else {
+                pending.set(slot, coalesce((ComponentUpdateEvent) pending.get(slot), (ComponentUpdateEvent) event));
+            }
+        }
+        if (scheduleFlush) {
+            scheduler.schedule(this::flush, coalesceWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void send(Object event) {
+        if (event instanceof DependencyChangeEvent change) {
+            kafkaTemplate.send(DEPENDENCY_CHANGE_TOPIC, change.getSourceComponentId(), change);
+            return;
+        }
+        ComponentUpdateEvent update = (ComponentUpdateEvent) event;
+        // Project-wide events such as bulk imports have no component to key on
+        String key = update.getComponentId() != null ? update.getComponentId() : update.getProjectId();
+        kafkaTemplate.send(COMPONENT_UPDATE_TOPIC, key, update);
+    }
+
+    static ComponentUpdateEvent coalesce(ComponentUpdateEvent earlier, ComponentUpdateEvent later) {
+        ComponentUpdateEvent.UpdateType updateType = later.getUpdateType();
+        if (earlier.getUpdateType() == ComponentUpdateEvent.UpdateType.CREATE
+                && updateType != ComponentUpdateEvent.UpdateType.DELETE) {
+            // Consumers have not seen the component yet, so it is still a creation
+            updateType = ComponentUpdateEvent.UpdateType.CREATE;
+        }
+
+        Map<String, Object> changes = null;
+        if (earlier.getChanges() != null || later.getChanges() != null) {
+            changes = new HashMap<>();
+            if (earlier.getChanges() != null) {
+                changes.putAll(earlier.getChanges());
+            }
+            if (later.getChanges() != null) {
+                changes.putAll(later.getChanges());
+            }
+        }
+
+        return ComponentUpdateEvent.builder()
+                .eventId(later.getEventId())
+                .componentId(later.getComponentId())
+                .projectId(later.getProjectId() != null ? later.getProjectId() : earlier.getProjectId())
+                .updateType(updateType)
+                .previousVersion(earlier.getPreviousVersion())
+                .newVersion(later.getNewVersion())
+                .changes(changes)
+                .timestamp(later.getTimestamp())
+                .userId(later.getUserId())
+                .reason(later.getReason())
+                .build();
+    }
+}
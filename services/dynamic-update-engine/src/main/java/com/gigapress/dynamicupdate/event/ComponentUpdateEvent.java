@@ -34,6 +34,7 @@ public class ComponentUpdateEvent {
         DELETE,
         VERSION_CHANGE,
         DEPENDENCY_CHANGE,
-        CONFIGURATION_CHANGE
+        CONFIGURATION_CHANGE,
+        BULK_IMPORT
     }
 }
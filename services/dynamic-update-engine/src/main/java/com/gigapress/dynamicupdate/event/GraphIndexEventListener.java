@@ -0,0 +1,53 @@
+package com.gigapress.dynamicupdate.event;
+
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.service.GraphSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local {@link DependencyGraphIndex} in sync with changes made by any engine instance,
+ * and drops cached graph snapshots of the changed project.
+ * Each instance consumes with its own group so every replica sees every event, starting from
+ * the latest offset since cold graphs are loaded from Neo4j anyway.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphIndexEventListener {
+
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final GraphSnapshotService graphSnapshotService;
+
+    @KafkaListener(topics = "component.changes",
+                   groupId = "graph-index-${random.uuid}",
+                   properties = "auto.offset.reset=latest")
+    public void handleComponentChange(@Payload ComponentUpdateEvent event, Acknowledgment acknowledgment) {
+        graphSnapshotService.invalidate(event.getProjectId());
+        try {
+            dependencyGraphIndex.apply(event);
+        } catch (Exception e) {
+            log.warn("Failed to apply component change {} to graph index", event.getEventId(), e);
+            dependencyGraphIndex.invalidate(event.getProjectId());
+        }
+        acknowledgment.acknowledge();
+    }
+
+    @KafkaListener(topics = "dependency.events",
+                   groupId = "graph-index-${random.uuid}",
+                   properties = "auto.offset.reset=latest")
+    public void handleDependencyChange(@Payload DependencyChangeEvent event, Acknowledgment acknowledgment) {
+        graphSnapshotService.invalidate(event.getProjectId());
+        try {
+            dependencyGraphIndex.apply(event);
+        } catch (Exception e) {
+            log.warn("Failed to apply dependency change {} to graph index", event.getEventId(), e);
+            dependencyGraphIndex.invalidate(event.getProjectId());
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -0,0 +1,126 @@
+package com.gigapress.dynamicupdate.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Remembers which consumed events have already been processed, keyed on {@code eventId}.
+ * <p>
+ * Entries live in Redis for {@code dynamic-update.kafka.idempotency.ttl} so redeliveries are
+ * skipped across instances and restarts; a local set in front of Redis answers the common case of
+ * a duplicate arriving shortly after the original. Events are marked only once processed, and a
+ * Redis failure degrades to processing everything again (at-least-once), never to dropping events.
+ */
+@Slf4j
+@Component
+public class ProcessedEventStore {
+    
+    static final String KEY_PREFIX = "gigapress:processed-event:";
+    
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+    private final Cache<String, Boolean> recent;
+    
+    public ProcessedEventStore(RedisTemplate<String, Object> redisTemplate,
+                               @Value("${dynamic-update.kafka.idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${dynamic-update.kafka.idempotency.local-max-size:100000}") long localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    /**
+     * Returns the events not processed yet, in order. Events without an id are always kept;
+     * repeated ids within {@code events} are kept once.
+     */
+    public List<ComponentUpdateEvent> filterUnprocessed(List<ComponentUpdateEvent> events) {
+        Set<String> seen = new HashSet<>();
+        List<String> remoteIds = new ArrayList<>();
+        for (ComponentUpdateEvent event : events) {
+            String eventId = event.getEventId();
+            if (eventId != null && recent.getIfPresent(eventId) == null && seen.add(eventId)) {
+                remoteIds.add(eventId);
+            }
+        }
+        Set<String> processed = processedInRedis(remoteIds);
+        
+        seen.clear();
+        List<ComponentUpdateEvent> unprocessed = new ArrayList<>(events.size());
+        for (ComponentUpdateEvent event : events) {
+            String eventId = event.getEventId();
+            if (eventId == null) {
+                unprocessed.add(event);
+            } else if (recent.getIfPresent(eventId) == null && !processed.contains(eventId) && seen.add(eventId)) {
+                unprocessed.add(event);
+            }
+        }
+        if (unprocessed.size() < events.size()) {
+            log.debug("Skipping {} already processed events", events.size() - unprocessed.size());
+        }
+        return unprocessed;
+    }
+    
+    public boolean isProcessed(ComponentUpdateEvent event) {
+        return filterUnprocessed(List.of(event)).isEmpty();
+    }
+    
+    public void markProcessed(Collection<ComponentUpdateEvent> events) {
+        List<String> eventIds = events.stream()
+                .map(ComponentUpdateEvent::getEventId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        eventIds.forEach(eventId -> recent.put(eventId, Boolean.TRUE));
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                    eventIds.forEach(eventId -> redis.opsForValue().set(KEY_PREFIX + eventId, 1, ttl));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to record {} processed events, redeliveries may be reprocessed", eventIds.size(), e);
+        }
+    }
+    
+    private Set<String> processedInRedis(List<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(
+                    eventIds.stream().map(eventId -> KEY_PREFIX + eventId).toList());
+            if (values == null) {
+                return Set.of();
+            }
+            Set<String> processed = new HashSet<>();
+            for (int i = 0; i < eventIds.size(); i++) {
+                if (values.get(i) != null) {
+                    processed.add(eventIds.get(i));
+                    recent.put(eventIds.get(i), Boolean.TRUE);
+                }
+            }
+            return processed;
+        } catch (Exception e) {
+            log.warn("Idempotency lookup failed, processing {} events without it", eventIds.size(), e);
+            return Set.of();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gigapress.dynamicupdate.event;
+
+/**
+ * In-process request to propagate an update made through the REST API. It is published inside the
+ * update transaction and handled by {@code UpdatePropagationService} once that transaction commits,
+ * so the cascade goes through the same layering, pruning and chunking as {@code project.updates}.
+ */
+public record PropagationRequest(ComponentUpdateEvent update) {
+}
@@ -1,19 +1,29 @@
 package com.gigapress.dynamicupdate.event;
 
+import com.gigapress.dynamicupdate.domain.ComponentType;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.dto.BulkDependencyRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestRequest;
+import com.gigapress.dynamicupdate.dto.ComponentRequest;
+import com.gigapress.dynamicupdate.service.BulkIngestService;
 import com.gigapress.dynamicupdate.service.ComponentService;
 import com.gigapress.dynamicupdate.service.UpdatePropagationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -22,14 +32,96 @@ public class UpdateEventListener {
     
     private final ComponentService componentService;
     private final UpdatePropagationService propagationService;
+    private final BulkIngestService bulkIngestService;
+    private final ComponentEventPublisher componentEventPublisher;
+    private final ProcessedEventStore processedEventStore;
     
-    @KafkaListener(topics = "project.updates", groupId = "update-engine-group")
-    public void handleProjectUpdate(@Payload ComponentUpdateEvent event,
-                                   @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                   Acknowledgment acknowledgment) {
+    private static final String DEFAULT_GENERATED_VERSION = "1.0.0";
+    
+    /**
+     * Consumes {@code project.updates} in batches: already processed events are skipped, events are
+     * deduplicated per component, updates needing propagation are merged into one traversal per
+     * project, and the batch is acked once.
+     * <p>
+     * If the batch fails, its events are retried one by one so a poison message cannot stall the
+     * partition; events still failing are handed to the retry topics and the batch is acked.
+     */
+    @KafkaListener(topics = ComponentEventPublisher.PROJECT_UPDATES_TOPIC, groupId = "update-engine-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleProjectUpdates(@Payload List<ComponentUpdateEvent> events,
+                                     Acknowledgment acknowledgment) {
+        log.info("Received batch of {} project update events", events.size());
+        // Records that failed deserialization arrive as nulls; the error handler already logged them
+        List<ComponentUpdateEvent> readable = events.stream().filter(Objects::nonNull).toList();
+        if (readable.size() < events.size()) {
+            log.warn("Skipping {} unreadable project update records", events.size() - readable.size());
+        }
+        List<ComponentUpdateEvent> unprocessed = processedEventStore.filterUnprocessed(readable);
+        
         try {
-            log.info("Received project update event: {} from topic: {}", event.getEventId(), topic);
-            
+            processProjectUpdates(deduplicate(unprocessed));
+            processedEventStore.markProcessed(unprocessed);
+        } catch (Exception e) {
+            log.warn("Batch of {} project update events failed, isolating failures", unprocessed.size(), e);
+            List<CompletableFuture<?>> forwarded = new ArrayList<>();
+            for (ComponentUpdateEvent event : unprocessed) {
+                try {
+                    processProjectUpdates(List.of(event));
+                    processedEventStore.markProcessed(List.of(event));
+                } catch (Exception eventFailure) {
+                    log.warn("Project update {} for component {} failed, scheduling retry",
+                            event.getEventId(), event.getComponentId(), eventFailure);
+                    forwarded.add(componentEventPublisher.publishFailedProjectUpdate(event));
+                }
+            }
+            // Only ack once every failed event is safely on the retry topic
+            CompletableFuture.allOf(forwarded.toArray(new CompletableFuture[0])).join();
+        }
+        
+        acknowledgment.acknowledge();
+    }
+    
+    /**
+     * Retries project updates that failed on the main listener. Attempts are spread over
+     * {@code -retry-N} topics with exponential backoff, so waiting never blocks a partition;
+     * events exhausting every attempt end on the {@code -dlt} topic.
+     */
+    @RetryableTopic(
+            attempts = "${dynamic-update.kafka.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${dynamic-update.kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${dynamic-update.kafka.retry.multiplier:2.0}",
+                    maxDelayExpression = "${dynamic-update.kafka.retry.max-delay-ms:60000}"),
+            retryTopicSuffix = "-retry",
+            dltTopicSuffix = "-dlt",
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            numPartitions = "3",
+            replicationFactor = "1",
+            kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(topics = ComponentEventPublisher.FAILED_PROJECT_UPDATES_TOPIC, groupId = "update-engine-group",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void handleFailedProjectUpdate(@Payload ComponentUpdateEvent event) {
+        if (processedEventStore.isProcessed(event)) {
+            return;
+        }
+        log.info("Retrying project update {} for component {}", event.getEventId(), event.getComponentId());
+        processProjectUpdates(List.of(event));
+        processedEventStore.markProcessed(List.of(event));
+    }
+    
+    @DltHandler
+    public void handleDeadLetter(@Payload ComponentUpdateEvent event,
+                                 @Header(name = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String error) {
+        log.error("Project update {} for component {} exhausted its retries and was dead-lettered: {}",
+                event.getEventId(), event.getComponentId(), error);
+    }
+    
+    private void processProjectUpdates(Collection<ComponentUpdateEvent> events) {
+        Map<String, List<ComponentUpdateEvent>> propagationsByProject = new LinkedHashMap<>();
+        for (ComponentUpdateEvent event : events) {
+            if (event.getUpdateType() == null) {
+                continue;
+            }
             // Process the update based on update type
             switch (event.getUpdateType()) {
                 case CREATE:
@@ -37,7 +129,11 @@ public class UpdateEventListener {
                     break;
                 case UPDATE:
                 case VERSION_CHANGE:
-                    handleComponentUpdate(event);
+                    if (event.getChanges() != null && !event.getChanges().isEmpty()) {
+                        propagationsByProject
+                                .computeIfAbsent(event.getProjectId(), k -> new ArrayList<>())
+                                .add(event);
+                    }
                     break;
                 case DELETE:
                     handleComponentDeletion(event);
@@ -45,15 +141,32 @@ public class UpdateEventListener {
                 case DEPENDENCY_CHANGE:
                     handleDependencyChange(event);
                     break;
+                case BULK_IMPORT:
+                    log.debug("Bulk import for project {} already applied", event.getProjectId());
+                    break;
                 default:
                     log.warn("Unknown update type: {}", event.getUpdateType());
             }
-            
-            acknowledgment.acknowledge();
-        } catch (Exception e) {
-            log.error("Error processing project update event: {}", event.getEventId(), e);
-            // Implement retry logic or dead letter queue handling
         }
+        
+        propagationsByProject.forEach(this::handleComponentUpdates);
+    }
+    
+    private Collection<ComponentUpdateEvent> deduplicate(List<ComponentUpdateEvent> events) {
+        Map<String, ComponentUpdateEvent> latestByComponent = new LinkedHashMap<>();
+        List<ComponentUpdateEvent> unkeyed = new ArrayList<>();
+        for (ComponentUpdateEvent event : events) {
+            if (event.getUpdateType() == null) {
+                continue;
+            }
+            if (event.getComponentId() == null) {
+                unkeyed.add(event);
+            } else {
+                latestByComponent.merge(event.getComponentId(), event, ComponentEventPublisher::coalesce);
+            }
+        }
+        unkeyed.addAll(latestByComponent.values());
+        return unkeyed;
     }
     
     @KafkaListener(topics = "generation.requests", groupId = "update-engine-group")
@@ -62,11 +175,15 @@ public class UpdateEventListener {
         try {
             log.info("Received generation request: {}", event.getRequestId());
             
-            // Process generation request
-            if (event.getComponents() != null) {
+            // Process generation request as one bulk ingest
+            if (event.getComponents() != null && !event.getComponents().isEmpty()) {
+                BulkIngestRequest request = BulkIngestRequest.builder()
+                        .projectId(event.getProjectId())
+                        .build();
                 for (ComponentDefinition componentDef : event.getComponents()) {
-                    processComponentDefinition(event.getProjectId(), componentDef);
+                    processComponentDefinition(request, componentDef);
                 }
+                bulkIngestService.ingest(request);
             }
             
             acknowledgment.acknowledge();
@@ -97,12 +214,14 @@ public class UpdateEventListener {
         // Additional logic for component creation if needed
     }
     
-    private void handleComponentUpdate(ComponentUpdateEvent event) {
-        log.debug("Handling component update: {}", event.getComponentId());
+    private void handleComponentUpdates(String projectId, List<ComponentUpdateEvent> events) {
+        log.debug("Handling {} component updates for project: {}", events.size(), projectId);
         
-        // Check if this update affects other components
-        if (event.getChanges() != null && !event.getChanges().isEmpty()) {
-            propagationService.analyzeAndPropagateChanges(event);
+        if (projectId == null) {
+            // Without a project the triggers cannot share a traversal
+            events.forEach(propagationService::analyzeAndPropagateChanges);
+        } else {
+            propagationService.analyzeAndPropagateChanges(projectId, events);
         }
     }
     
@@ -123,10 +242,45 @@ public class UpdateEventListener {
         // Process dependency changes
     }
     
-    private void processComponentDefinition(String projectId, ComponentDefinition definition) {
+    private void processComponentDefinition(BulkIngestRequest request, ComponentDefinition definition) {
+        String projectId = request.getProjectId();
         log.debug("Processing component definition: {} for project: {}", 
                 definition.getName(), projectId);
-        // Convert definition to Component entity and save
+        
+        // Definitions reference each other by name, ids are derived within the project
+        Object version = definition.getConfiguration() != null ? definition.getConfiguration().get("version") : null;
+        request.getComponents().add(new ComponentRequest(
+                componentIdOf(projectId, definition.getName()),
+                definition.getName(),
+                componentTypeOf(definition.getType()),
+                version != null ? version.toString() : DEFAULT_GENERATED_VERSION,
+                projectId,
+                null));
+        
+        if (definition.getDependencies() != null) {
+            for (String dependencyName : definition.getDependencies()) {
+                request.getDependencies().add(BulkDependencyRequest.builder()
+                        .sourceComponentId(componentIdOf(projectId, definition.getName()))
+                        .targetComponentId(componentIdOf(projectId, dependencyName))
+                        .type(DependencyType.COMPILE)
+                        .build());
+            }
+        }
+    }
+    
+    private String componentIdOf(String projectId, String name) {
+        return projectId + ":" + name;
+    }
+    
+    private ComponentType componentTypeOf(String type) {
+        if (type != null) {
+            try {
+                return ComponentType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown component type '{}', defaulting to {}", type, ComponentType.SERVICE);
+            }
+        }
+        return ComponentType.SERVICE;
     }
     
     private void handleValidationFailure(ValidationResultEvent event) {
@@ -11,12 +11,13 @@ import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UpdatePropagationEvent {
     private String eventId;
     private String triggerComponentId;
+    private List<String> triggerComponentIds;
     private String projectId;
     private List<String> affectedComponentIds;
     private PropagationType propagationType;
@@ -28,6 +29,12 @@ public class UpdatePropagationEvent {
     private int propagationDepth;
     private String initiatedBy;
     
+    // Large cascades are split into chunks sharing one propagationId, sent layer by layer
+    private String propagationId;
+    private int layer;
+    private int chunkIndex;
+    private int totalChunks;
+    
     public enum PropagationType {
         CASCADE,
         SELECTIVE,
@@ -0,0 +1,172 @@
+package com.gigapress.dynamicupdate.event.serde;
+
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.DependencyChangeEvent;
+import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import com.gigapress.event.serde.EventCodec;
+import com.gigapress.event.serde.EventReader;
+import com.gigapress.event.serde.EventWireFormat;
+import com.gigapress.event.serde.EventWriter;
+
+import java.util.List;
+
+/**
+ * Codecs for the events the dynamic-update-engine publishes and consumes.
+ */
+public final class EngineEventCodecs {
+
+    public static final List<EventCodec<?>> ALL = List.of(
+            new ComponentUpdateCodec(), new DependencyChangeCodec(), new UpdatePropagationCodec());
+
+    private EngineEventCodecs() {
+    }
+
+    static final class ComponentUpdateCodec implements EventCodec<ComponentUpdateEvent> {
+
+        @Override
+        public int typeId() {
+            return EventWireFormat.COMPONENT_UPDATE;
+        }
+
+        @Override
+        public Class<ComponentUpdateEvent> eventType() {
+            return ComponentUpdateEvent.class;
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(ComponentUpdateEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeString(event.getComponentId());
+            writer.writeString(event.getProjectId());
+            writer.writeEnum(event.getUpdateType());
+            writer.writeString(event.getPreviousVersion());
+            writer.writeString(event.getNewVersion());
+            writer.writeMap(event.getChanges());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeString(event.getUserId());
+            writer.writeString(event.getReason());
+        }
+
+        @Override
+        public ComponentUpdateEvent read(EventReader reader, int version) {
+            return ComponentUpdateEvent.builder()
+                    .eventId(reader.readString())
+                    .componentId(reader.readString())
+                    .projectId(reader.readString())
+                    .updateType(reader.readEnum(ComponentUpdateEvent.UpdateType.class))
+                    .previousVersion(reader.readString())
+                    .newVersion(reader.readString())
+                    .changes(reader.readMap())
+                    .timestamp(reader.readDateTime())
+                    .userId(reader.readString())
+                    .reason(reader.readString())
+                    .build();
+        }
+    }
+
+    static final class DependencyChangeCodec implements EventCodec<DependencyChangeEvent> {
+
+        @Override
+        public int typeId() {
+            return EventWireFormat.DEPENDENCY_CHANGE;
+        }
+
+        @Override
+        public Class<DependencyChangeEvent> eventType() {
+            return DependencyChangeEvent.class;
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(DependencyChangeEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeString(event.getSourceComponentId());
+            writer.writeString(event.getTargetComponentId());
+            writer.writeString(event.getProjectId());
+            writer.writeEnum(event.getChangeType());
+            writer.writeEnum(event.getDependencyType());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeString(event.getMetadata());
+        }
+
+        @Override
+        public DependencyChangeEvent read(EventReader reader, int version) {
+            return DependencyChangeEvent.builder()
+                    .eventId(reader.readString())
+                    .sourceComponentId(reader.readString())
+                    .targetComponentId(reader.readString())
+                    .projectId(reader.readString())
+                    .changeType(reader.readEnum(DependencyChangeEvent.ChangeType.class))
+                    .dependencyType(reader.readEnum(DependencyType.class))
+                    .timestamp(reader.readDateTime())
+                    .metadata(reader.readString())
+                    .build();
+        }
+    }
+
+    static final class UpdatePropagationCodec implements EventCodec<UpdatePropagationEvent> {
+
+        @Override
+        public int typeId() {
+            return EventWireFormat.UPDATE_PROPAGATION;
+        }
+
+        @Override
+        public Class<UpdatePropagationEvent> eventType() {
+            return UpdatePropagationEvent.class;
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(UpdatePropagationEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeString(event.getTriggerComponentId());
+            writer.writeStringList(event.getTriggerComponentIds());
+            writer.writeString(event.getProjectId());
+            writer.writeStringList(event.getAffectedComponentIds());
+            writer.writeEnum(event.getPropagationType());
+            writer.writeMap(event.getUpdateDetails());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeVarInt(event.getPropagationDepth());
+            writer.writeString(event.getInitiatedBy());
+            writer.writeString(event.getPropagationId());
+            writer.writeVarInt(event.getLayer());
+            writer.writeVarInt(event.getChunkIndex());
+            writer.writeVarInt(event.getTotalChunks());
+        }
+
+        @Override
+        public UpdatePropagationEvent read(EventReader reader, int version) {
+            return UpdatePropagationEvent.builder()
+                    .eventId(reader.readString())
+                    .triggerComponentId(reader.readString())
+                    .triggerComponentIds(reader.readStringList())
+                    .projectId(reader.readString())
+                    .affectedComponentIds(reader.readStringList())
+                    .propagationType(reader.readEnum(UpdatePropagationEvent.PropagationType.class))
+                    .updateDetails(reader.readMap())
+                    .timestamp(reader.readDateTime())
+                    .propagationDepth(reader.readVarInt())
+                    .initiatedBy(reader.readString())
+                    .propagationId(reader.readString())
+                    .layer(reader.readVarInt())
+                    .chunkIndex(reader.readVarInt())
+                    .totalChunks(reader.readVarInt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.gigapress.dynamicupdate.event.serde;
+
+import com.gigapress.event.serde.BinaryEventDeserializer;
+
+/**
+ * {@link BinaryEventDeserializer} for the {@link EngineEventCodecs}.
+ */
+public class EngineEventDeserializer extends BinaryEventDeserializer {
+
+    public EngineEventDeserializer() {
+        super(EngineEventCodecs.ALL);
+    }
+}
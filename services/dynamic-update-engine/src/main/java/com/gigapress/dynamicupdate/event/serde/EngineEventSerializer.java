@@ -0,0 +1,13 @@
+package com.gigapress.dynamicupdate.event.serde;
+
+import com.gigapress.event.serde.BinaryEventSerializer;
+
+/**
+ * {@link BinaryEventSerializer} for the {@link EngineEventCodecs}.
+ */
+public class EngineEventSerializer extends BinaryEventSerializer {
+
+    public EngineEventSerializer() {
+        super(EngineEventCodecs.ALL);
+    }
+}
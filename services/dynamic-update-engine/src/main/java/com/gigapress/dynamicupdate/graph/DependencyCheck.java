@@ -0,0 +1,10 @@
+package com.gigapress.dynamicupdate.graph;
+
+/**
+ * Outcome of checking a new dependency edge against a project's topological order.
+ */
+public enum DependencyCheck {
+    ADDED,       // Edge keeps the graph acyclic and is now part of the order
+    CYCLE,       // Edge would close a cycle
+    UNAVAILABLE  // Index cannot decide, fall back to Neo4j
+}
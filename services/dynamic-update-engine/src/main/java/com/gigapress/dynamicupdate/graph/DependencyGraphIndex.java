@@ -0,0 +1,217 @@
+package com.gigapress.dynamicupdate.graph;
+
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.DependencyChangeEvent;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-project in-memory index of the dependency graph.
+ * <p>
+ * Graphs are loaded from Neo4j on first use, then kept in sync by applying component and
+ * dependency change events. A graph older than {@code dynamic-update.graph-index.max-age}
+ * is considered stale and reloaded on next access.
+ * <p>
+ * Alongside each snapshot a {@link DynamicTopologicalOrder} is maintained so new edges can be
+ * checked for cycles incrementally.
+ */
+@Slf4j
+@Component
+public class DependencyGraphIndex {
+
+    private final ComponentGraphRepository componentGraphRepository;
+    private final boolean enabled;
+    private final Duration maxAge;
+
+    private final Map<String, ProjectDependencyGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<String, String> projectByComponent = new ConcurrentHashMap<>();
+    private final Map<String, DynamicTopologicalOrder> orders = new ConcurrentHashMap<>();
+
+    public DependencyGraphIndex(ComponentGraphRepository componentGraphRepository,
+                                @Value("${dynamic-update.graph-index.enabled:true}") boolean enabled,
+                                @Value("${dynamic-update.graph-index.max-age:PT10M}") Duration maxAge) {
+        this.componentGraphRepository = componentGraphRepository;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns the graph of the project owning {@code componentId}, loading it if cold or stale.
+     * Empty when the index is disabled, the component is unknown or loading fails.
+     */
+    public Optional<ProjectDependencyGraph> graphForComponent(String componentId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String projectId = projectByComponent.get(componentId);
+        if (projectId == null) {
+            try {
+                projectId = componentGraphRepository.findProjectId(componentId).orElse(null);
+            } catch (Exception e) {
+                log.warn("Failed to resolve project for component {}", componentId, e);
+                return Optional.empty();
+            }
+            if (projectId == null) {
+                return Optional.empty();
+            }
+        }
+        return graphForProject(projectId).filter(graph -> graph.contains(componentId));
+    }
+
+    public Optional<ProjectDependencyGraph> graphForProject(String projectId) {
+        if (!enabled || projectId == null) {
+            return Optional.empty();
+        }
+        ProjectDependencyGraph graph = graphs.get(projectId);
+        if (graph != null && !isStale(graph)) {
+            return Optional.of(graph);
+        }
+        try {
+            return Optional.of(load(projectId));
+        } catch (Exception e) {
+            log.warn("Failed to load dependency graph for project {}", projectId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Adds an edge to the project's topological order if it keeps the graph acyclic.
+     */
+    public DependencyCheck tryAddDependency(String projectId, String sourceId, String targetId) {
+        if (graphForProject(projectId).isEmpty()) {
+            return DependencyCheck.UNAVAILABLE;
+        }
+        DynamicTopologicalOrder order = orders.get(projectId);
+        if (order == null || !order.contains(sourceId) || !order.contains(targetId)) {
+            // Pre-existing cycle or a cross-project edge, the order cannot decide
+            return DependencyCheck.UNAVAILABLE;
+        }
+        return order.addDependency(sourceId, targetId) ? DependencyCheck.ADDED : DependencyCheck.CYCLE;
+    }
+
+    public void invalidate(String projectId) {
+        if (projectId == null) {
+            return;
+        }
+        orders.remove(projectId);
+        ProjectDependencyGraph removed = graphs.remove(projectId);
+        if (removed != null) {
+            removed.componentIds().forEach(id -> projectByComponent.remove(id, projectId));
+        }
+    }
+
+    public void apply(ComponentUpdateEvent event) {
+        if (event.getUpdateType() == ComponentUpdateEvent.UpdateType.BULK_IMPORT) {
+            // Too many structural changes to replay one by one, reload on next access
+            invalidate(event.getProjectId());
+            return;
+        }
+        if (event.getComponentId() == null || event.getUpdateType() == null) {
+            return;
+        }
+        String projectId = event.getProjectId() != null
+                ? event.getProjectId()
+                : projectByComponent.get(event.getComponentId());
+        if (projectId == null) {
+            return;
+        }
+
+        switch (event.getUpdateType()) {
+            case CREATE -> {
+                projectByComponent.put(event.getComponentId(), projectId);
+                graphs.computeIfPresent(projectId, (id, graph) -> graph.withComponent(event.getComponentId()));
+                withOrder(projectId, order -> order.addComponent(event.getComponentId()));
+            }
+            case DELETE -> {
+                projectByComponent.remove(event.getComponentId());
+                graphs.computeIfPresent(projectId, (id, graph) -> graph.withoutComponent(event.getComponentId()));
+                withOrder(projectId, order -> order.removeComponent(event.getComponentId()));
+            }
+            default -> {
+                // Non-structural change, the graph shape is unaffected
+            }
+        }
+    }
+
+    public void apply(DependencyChangeEvent event) {
+        String sourceId = event.getSourceComponentId();
+        String targetId = event.getTargetComponentId();
+        if (sourceId == null || targetId == null || event.getChangeType() == null) {
+            return;
+        }
+        String projectId = event.getProjectId() != null ? event.getProjectId() : projectByComponent.get(sourceId);
+        if (projectId == null || !graphs.containsKey(projectId)) {
+            return;
+        }
+
+        switch (event.getChangeType()) {
+            case ADDED -> {
+                graphs.computeIfPresent(projectId, (id, graph) -> {
+                    if (graph.contains(sourceId) && graph.contains(targetId)) {
+                        return graph.withEdge(sourceId, targetId);
+                    }
+                    // Cross-project edges are not indexed; anything else means we missed an event
+                    return belongsToOtherProject(sourceId, projectId) || belongsToOtherProject(targetId, projectId)
+                            ? graph : null;
+                });
+                DynamicTopologicalOrder order = orders.get(projectId);
+                if (order != null && order.contains(sourceId) && order.contains(targetId)
+                        && !order.addDependency(sourceId, targetId)) {
+                    // Another writer committed a conflicting edge, the order no longer matches Neo4j
+                    invalidate(projectId);
+                }
+            }
+            case REMOVED -> {
+                graphs.computeIfPresent(projectId, (id, graph) -> graph.withoutEdge(sourceId, targetId));
+                withOrder(projectId, order -> order.removeDependency(sourceId, targetId));
+            }
+            default -> {
+                // Edge attributes changed, the graph shape is unaffected
+            }
+        }
+    }
+
+    private ProjectDependencyGraph load(String projectId) {
+        long start = System.nanoTime();
+        Map<String, List<String>> adjacency = componentGraphRepository.findProjectAdjacency(projectId);
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build(projectId, adjacency);
+        graphs.put(projectId, graph);
+        DynamicTopologicalOrder.build(adjacency).ifPresentOrElse(
+                order -> orders.put(projectId, order),
+                () -> {
+                    orders.remove(projectId);
+                    log.warn("Project {} already contains a dependency cycle", projectId);
+                });
+        graph.componentIds().forEach(id -> projectByComponent.put(id, projectId));
+
+        log.debug("Loaded dependency graph for project {}: {} components, {} edges in {} ms",
+                projectId, graph.size(), graph.edgeCount(), (System.nanoTime() - start) / 1_000_000);
+        return graph;
+    }
+
+    private void withOrder(String projectId, Consumer<DynamicTopologicalOrder> action) {
+        DynamicTopologicalOrder order = orders.get(projectId);
+        if (order != null) {
+            action.accept(order);
+        }
+    }
+
+    private boolean belongsToOtherProject(String componentId, String projectId) {
+        String owner = projectByComponent.get(componentId);
+        return owner != null && !owner.equals(projectId);
+    }
+
+    private boolean isStale(ProjectDependencyGraph graph) {
+        return graph.getLoadedAt().plus(maxAge).isBefore(Instant.now());
+    }
+}
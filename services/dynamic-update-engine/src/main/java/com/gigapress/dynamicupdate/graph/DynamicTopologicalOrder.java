@@ -0,0 +1,274 @@
+package com.gigapress.dynamicupdate.graph;
+
+import java.util.*;
+
+/**
+ * Topological order of a project's DEPENDS_ON graph maintained incrementally with the
+ * Pearce-Kelly algorithm: every component sorts before the components it depends on.
+ * <p>
+ * Adding an edge that already respects the order costs O(1). Otherwise only the components whose
+ * position lies between the two endpoints are searched and reordered, so the cost is proportional
+ * to the affected region rather than the whole graph, and a cycle is detected exactly.
+ * All methods are synchronized; one instance is shared by all writers of a project.
+ */
+public final class DynamicTopologicalOrder {
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final List<String> idByIndex = new ArrayList<>();
+    private final List<IntList> dependencies = new ArrayList<>();
+    private final List<IntList> dependents = new ArrayList<>();
+    private int[] ord = new int[16];
+    private int nextOrd;
+
+    private DynamicTopologicalOrder() {
+    }
+
+    /**
+     * Builds the order from an adjacency map of componentId to the ids it depends on.
+     * Returns empty when the existing graph already contains a cycle.
+     */
+    public static Optional<DynamicTopologicalOrder> build(Map<String, ? extends Collection<String>> adjacency) {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder();
+        adjacency.keySet().forEach(order::nodeIndex);
+        adjacency.forEach((source, targets) -> {
+            int s = order.nodeIndex(source);
+            for (String target : targets) {
+                int t = order.nodeIndex(target);
+                if (s != t && !order.dependencies.get(s).contains(t)) {
+                    order.dependencies.get(s).add(t);
+                    order.dependents.get(t).add(s);
+                }
+            }
+        });
+        return order.assignInitialOrder() ? Optional.of(order) : Optional.empty();
+    }
+
+    public synchronized boolean contains(String componentId) {
+        return indexById.containsKey(componentId);
+    }
+
+    public synchronized void addComponent(String componentId) {
+        nodeIndex(componentId);
+    }
+
+    /**
+     * Adds {@code sourceId -> targetId} unless it would close a cycle.
+     *
+     * @return false if {@code targetId} already (transitively) depends on {@code sourceId}
+     */
+    public synchronized boolean addDependency(String sourceId, String targetId) {
+        if (sourceId.equals(targetId)) {
+            return false;
+        }
+        int source = nodeIndex(sourceId);
+        int target = nodeIndex(targetId);
+        if (dependencies.get(source).contains(target)) {
+            return true;
+        }
+
+        if (ord[source] > ord[target]) {
+            int lowerBound = ord[target];
+            int upperBound = ord[source];
+
+            // Components reachable from the target that currently sort before the source
+            List<Integer> forward = new ArrayList<>();
+            if (!collect(target, upperBound, true, source, new HashSet<>(), forward)) {
+                return false;
+            }
+            // Components reaching the source that currently sort after the target
+            List<Integer> backward = new ArrayList<>();
+            collect(source, lowerBound, false, -1, new HashSet<>(), backward);
+
+            reorder(backward, forward);
+        }
+
+        dependencies.get(source).add(target);
+        dependents.get(target).add(source);
+        return true;
+    }
+
+    /**
+     * Whether adding {@code sourceId -> targetId} would close a cycle, without changing anything.
+     */
+    public synchronized boolean wouldCreateCycle(String sourceId, String targetId) {
+        if (sourceId.equals(targetId)) {
+            return true;
+        }
+        Integer source = indexById.get(sourceId);
+        Integer target = indexById.get(targetId);
+        if (source == null || target == null || ord[source] < ord[target]) {
+            return false;
+        }
+        return !collect(target, ord[source], true, source, new HashSet<>(), new ArrayList<>());
+    }
+
+    public synchronized void removeDependency(String sourceId, String targetId) {
+        Integer source = indexById.get(sourceId);
+        Integer target = indexById.get(targetId);
+        if (source != null && target != null) {
+            // Removing an edge never invalidates a topological order
+            dependencies.get(source).remove(target);
+            dependents.get(target).remove(source);
+        }
+    }
+
+    public synchronized void removeComponent(String componentId) {
+        Integer node = indexById.get(componentId);
+        if (node == null) {
+            return;
+        }
+        for (int i = 0; i < dependencies.get(node).size(); i++) {
+            dependents.get(dependencies.get(node).get(i)).remove(node);
+        }
+        for (int i = 0; i < dependents.get(node).size(); i++) {
+            dependencies.get(dependents.get(node).get(i)).remove(node);
+        }
+        dependencies.get(node).clear();
+        dependents.get(node).clear();
+        // The slot stays allocated as an isolated node; it is harmless and keeps indices stable
+    }
+
+    /**
+     * Depth-first search bounded to the affected region. Forward searches follow dependencies and
+     * only visit nodes ordered below {@code bound}; backward searches follow dependents and only
+     * visit nodes ordered above it.
+     *
+     * @return false if {@code forbidden} was reached, i.e. the new edge would close a cycle
+     */
+    private boolean collect(int start, int bound, boolean forward, int forbidden,
+                            Set<Integer> visited, List<Integer> region) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        visited.add(start);
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            region.add(node);
+            IntList next = forward ? dependencies.get(node) : dependents.get(node);
+            for (int i = 0; i < next.size(); i++) {
+                int w = next.get(i);
+                if (w == forbidden) {
+                    return false;
+                }
+                boolean inRegion = forward ? ord[w] < bound : ord[w] > bound;
+                if (inRegion && visited.add(w)) {
+                    stack.push(w);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reassigns the positions held by both regions so that everything reaching the source comes
+     * first, followed by everything reachable from the target, each keeping its relative order.
+     */
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        Comparator<Integer> byOrd = Comparator.comparingInt(node -> ord[node]);
+        backward.sort(byOrd);
+        forward.sort(byOrd);
+
+        List<Integer> nodes = new ArrayList<>(backward.size() + forward.size());
+        nodes.addAll(backward);
+        nodes.addAll(forward);
+
+        int[] slots = new int[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            slots[i] = ord[nodes.get(i)];
+        }
+        Arrays.sort(slots);
+        for (int i = 0; i < nodes.size(); i++) {
+            ord[nodes.get(i)] = slots[i];
+        }
+    }
+
+    private boolean assignInitialOrder() {
+        int n = idByIndex.size();
+        int[] inDegree = new int[n];
+        for (int node = 0; node < n; node++) {
+            IntList targets = dependencies.get(node);
+            for (int i = 0; i < targets.size(); i++) {
+                inDegree[targets.get(i)]++;
+            }
+        }
+
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int node = 0; node < n; node++) {
+            if (inDegree[node] == 0) {
+                ready.add(node);
+            }
+        }
+        int position = 0;
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            ord[node] = position++;
+            IntList targets = dependencies.get(node);
+            for (int i = 0; i < targets.size(); i++) {
+                if (--inDegree[targets.get(i)] == 0) {
+                    ready.add(targets.get(i));
+                }
+            }
+        }
+        nextOrd = position;
+        return position == n;
+    }
+
+    private int nodeIndex(String componentId) {
+        Integer existing = indexById.get(componentId);
+        if (existing != null) {
+            return existing;
+        }
+        int index = idByIndex.size();
+        indexById.put(componentId, index);
+        idByIndex.add(componentId);
+        dependencies.add(new IntList());
+        dependents.add(new IntList());
+        if (index == ord.length) {
+            ord = Arrays.copyOf(ord, ord.length * 2);
+        }
+        // A new, isolated component can sort anywhere; the end is always valid
+        ord[index] = nextOrd++;
+        return index;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean contains(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
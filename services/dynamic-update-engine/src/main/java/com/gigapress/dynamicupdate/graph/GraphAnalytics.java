@@ -0,0 +1,280 @@
+package com.gigapress.dynamicupdate.graph;
+
+import java.util.Arrays;
+
+/**
+ * Whole-graph metrics of one project, computed in a single pass over a {@link ProjectDependencyGraph}.
+ * <p>
+ * Strongly connected components are found with an iterative Tarjan search over DEPENDS_ON edges.
+ * Everything else is computed on the resulting condensation, which is acyclic, so components on a
+ * cycle share the metrics of their group:
+ * <ul>
+ *   <li>{@code layer}: longest dependency chain below the component (0 = depends on nothing)</li>
+ *   <li>{@code longestChain}: longest dependency chain passing through the component</li>
+ *   <li>{@code dependentCount}: number of components transitively depending on it</li>
+ * </ul>
+ * Transitive counts are exact. They are computed with reachability bitsets, a block of
+ * {@value #BLOCK_BITS} groups at a time, to keep memory linear in the graph size.
+ */
+public final class GraphAnalytics {
+
+    private static final int BLOCK_WORDS = 64;
+    static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+
+    private final String projectId;
+    private final String[] componentIds;
+    private final int[] dependentCounts;
+    private final int[] layers;
+    private final int[] groups;
+    private final int[] groupSizes;
+    private final int[] longestChains;
+    private final int maxChain;
+
+    private GraphAnalytics(String projectId, String[] componentIds, int[] dependentCounts, int[] layers,
+                           int[] groups, int[] groupSizes, int[] longestChains) {
+        this.projectId = projectId;
+        this.componentIds = componentIds;
+        this.dependentCounts = dependentCounts;
+        this.layers = layers;
+        this.groups = groups;
+        this.groupSizes = groupSizes;
+        this.longestChains = longestChains;
+        this.maxChain = Arrays.stream(longestChains).max().orElse(0);
+    }
+
+    public static GraphAnalytics compute(ProjectDependencyGraph graph) {
+        int n = graph.size();
+        int[] offsets = graph.forwardOffsets();
+        int[] targets = graph.forwardTargets();
+
+        // Groups are numbered so that every dependency of a group has a lower number
+        int[] group = new int[n];
+        int groupCount = stronglyConnected(n, offsets, targets, group);
+        int[] size = new int[groupCount];
+        for (int node = 0; node < n; node++) {
+            size[group[node]]++;
+        }
+
+        // Condensation edges in CSR form, both directions
+        int[] downOffsets = new int[groupCount + 1];
+        int[] upOffsets = new int[groupCount + 1];
+        for (int node = 0; node < n; node++) {
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                if (group[node] != group[targets[e]]) {
+                    downOffsets[group[node] + 1]++;
+                    upOffsets[group[targets[e]] + 1]++;
+                }
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            downOffsets[g + 1] += downOffsets[g];
+            upOffsets[g + 1] += upOffsets[g];
+        }
+        int[] down = new int[downOffsets[groupCount]];
+        int[] up = new int[upOffsets[groupCount]];
+        int[] downCursor = Arrays.copyOf(downOffsets, groupCount);
+        int[] upCursor = Arrays.copyOf(upOffsets, groupCount);
+        for (int node = 0; node < n; node++) {
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int from = group[node];
+                int to = group[targets[e]];
+                if (from != to) {
+                    down[downCursor[from]++] = to;
+                    up[upCursor[to]++] = from;
+                }
+            }
+        }
+
+        int[] layer = new int[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            for (int e = downOffsets[g]; e < downOffsets[g + 1]; e++) {
+                layer[g] = Math.max(layer[g], layer[down[e]] + 1);
+            }
+        }
+        int[] height = new int[groupCount];
+        for (int g = groupCount - 1; g >= 0; g--) {
+            for (int e = upOffsets[g]; e < upOffsets[g + 1]; e++) {
+                height[g] = Math.max(height[g], height[up[e]] + 1);
+            }
+        }
+        long[] reach = dependentCounts(groupCount, upOffsets, up, size);
+
+        int[] dependentCounts = new int[n];
+        int[] layers = new int[n];
+        int[] longestChains = new int[n];
+        int[] groupSizes = new int[n];
+        String[] ids = new String[n];
+        for (int node = 0; node < n; node++) {
+            int g = group[node];
+            ids[node] = graph.componentId(node);
+            dependentCounts[node] = (int) reach[g] + size[g] - 1;
+            layers[node] = layer[g];
+            longestChains[node] = layer[g] + height[g];
+            groupSizes[node] = size[g];
+        }
+        return new GraphAnalytics(graph.getProjectId(), ids, dependentCounts, layers, group, groupSizes,
+                longestChains);
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public int size() {
+        return componentIds.length;
+    }
+
+    public String componentId(int index) {
+        return componentIds[index];
+    }
+
+    public int dependentCount(int index) {
+        return dependentCounts[index];
+    }
+
+    public int layer(int index) {
+        return layers[index];
+    }
+
+    /**
+     * Strongly connected group of the component; components sharing a group form a dependency cycle.
+     */
+    public int group(int index) {
+        return groups[index];
+    }
+
+    public int groupSize(int index) {
+        return groupSizes[index];
+    }
+
+    public int longestChain(int index) {
+        return longestChains[index];
+    }
+
+    /**
+     * Whether the component lies on one of the project's longest dependency chains.
+     */
+    public boolean onCriticalPath(int index) {
+        return maxChain > 0 && longestChains[index] == maxChain;
+    }
+
+    public int maxChain() {
+        return maxChain;
+    }
+
+    public int cyclicComponentCount() {
+        int count = 0;
+        for (int groupSize : groupSizes) {
+            if (groupSize > 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Iterative Tarjan. Returns the number of groups and fills {@code group}; a group is always
+     * completed after every group it reaches, so dependencies get lower numbers than their dependents.
+     */
+    private static int stronglyConnected(int n, int[] offsets, int[] targets, int[] group) {
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] edge = new int[n];
+        int sp = 0;
+        int counter = 0;
+        int groupCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int csp = 0;
+            index[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            callStack[csp++] = root;
+            edge[root] = offsets[root];
+
+            while (csp > 0) {
+                int node = callStack[csp - 1];
+                if (edge[node] < offsets[node + 1]) {
+                    int next = targets[edge[node]++];
+                    if (index[next] < 0) {
+                        index[next] = low[next] = counter++;
+                        stack[sp++] = next;
+                        onStack[next] = true;
+                        callStack[csp++] = next;
+                        edge[next] = offsets[next];
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+
+                csp--;
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--sp];
+                        onStack[member] = false;
+                        group[member] = groupCount;
+                    } while (member != node);
+                    groupCount++;
+                }
+                if (csp > 0) {
+                    int parent = callStack[csp - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+        return groupCount;
+    }
+
+    /**
+     * Number of components in groups transitively depending on each group. Dependents always have
+     * higher numbers, so for a block of columns only groups below the block end carry bits and a
+     * single descending sweep settles the block.
+     */
+    private static long[] dependentCounts(int groupCount, int[] upOffsets, int[] up, int[] size) {
+        long[] counts = new long[groupCount];
+        for (int blockStart = 0; blockStart < groupCount; blockStart += BLOCK_BITS) {
+            int blockEnd = Math.min(groupCount, blockStart + BLOCK_BITS);
+            int words = (blockEnd - blockStart + Long.SIZE - 1) / Long.SIZE;
+            long[][] bits = new long[blockEnd][];
+
+            for (int g = blockEnd - 1; g >= 0; g--) {
+                long[] row = new long[words];
+                for (int e = upOffsets[g]; e < upOffsets[g + 1]; e++) {
+                    int dependent = up[e];
+                    if (dependent >= blockEnd) {
+                        continue;
+                    }
+                    long[] other = bits[dependent];
+                    for (int w = 0; w < words; w++) {
+                        row[w] |= other[w];
+                    }
+                    if (dependent >= blockStart) {
+                        int bit = dependent - blockStart;
+                        row[bit >>> 6] |= 1L << bit;
+                    }
+                }
+                bits[g] = row;
+
+                long count = 0;
+                for (int w = 0; w < words; w++) {
+                    long word = row[w];
+                    while (word != 0) {
+                        count += size[blockStart + (w << 6) + Long.numberOfTrailingZeros(word)];
+                        word &= word - 1;
+                    }
+                }
+                counts[g] += count;
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gigapress.dynamicupdate.graph;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Compact, versioned view of a project's components and intra-project DEPENDS_ON edges.
+ * <p>
+ * Node attributes are parallel arrays indexed by node position. Dependencies use CSR form:
+ * {@code dependencyTargets[dependencyOffsets[i] .. dependencyOffsets[i + 1])} are the nodes i depends on.
+ * The version is a hash of the content, so equal versions mean equal snapshots on every instance.
+ */
+@Value
+@Builder(toBuilder = true)
+public class GraphSnapshot {
+    String projectId;
+    String version;
+    String[] componentIds;
+    String[] names;
+    String[] types;
+    String[] versions;
+    String[] statuses;
+    int[] dependencyOffsets;
+    int[] dependencyTargets;
+
+    public int size() {
+        return componentIds.length;
+    }
+
+    public int edgeCount() {
+        return dependencyTargets.length;
+    }
+}
@@ -0,0 +1,232 @@
+package com.gigapress.dynamicupdate.graph;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Binary encoding of {@link GraphSnapshot}, served as {@value #MEDIA_TYPE}.
+ * <p>
+ * Layout (big-endian, counts and indices as unsigned varints):
+ * <pre>
+ * int    magic "GPGS"
+ * short  format version
+ * utf    project id, utf snapshot version
+ * string table: count, then each string as varint length + UTF-8 bytes
+ * nodes: count, then per node the table indices of id, name, type, version, status
+ *        (0 = absent, otherwise index + 1)
+ * edges: per node the dependency count followed by the target node indices
+ * </pre>
+ * Every distinct string is written once, so repeated types, versions and statuses cost one or two bytes.
+ */
+public final class GraphSnapshotCodec {
+
+    public static final String MEDIA_TYPE = "application/x-gigapress-graph";
+    public static final int MAGIC = 0x47504753; // "GPGS"
+    public static final short FORMAT_VERSION = 1;
+
+    private GraphSnapshotCodec() {
+    }
+
+    /**
+     * Builds a snapshot from parallel node attributes and dependency lists, assigning its content version.
+     */
+    public static GraphSnapshot snapshot(String projectId, List<String> componentIds, List<String> names,
+                                         List<String> types, List<String> versions, List<String> statuses,
+                                         List<? extends Collection<String>> dependencies) {
+        int n = componentIds.size();
+        Map<String, Integer> indexById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexById.put(componentIds.get(i), i);
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[16];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            for (String dependency : new LinkedHashSet<>(dependencies.get(i))) {
+                Integer target = indexById.get(dependency);
+                if (target == null || target == i) {
+                    continue;
+                }
+                if (size == targets.length) {
+                    targets = Arrays.copyOf(targets, size * 2);
+                }
+                targets[size++] = target;
+            }
+            offsets[i + 1] = size;
+        }
+
+        GraphSnapshot unversioned = GraphSnapshot.builder()
+                .projectId(projectId)
+                .version("")
+                .componentIds(componentIds.toArray(new String[0]))
+                .names(names.toArray(new String[0]))
+                .types(types.toArray(new String[0]))
+                .versions(versions.toArray(new String[0]))
+                .statuses(statuses.toArray(new String[0]))
+                .dependencyOffsets(offsets)
+                .dependencyTargets(Arrays.copyOf(targets, size))
+                .build();
+        return unversioned.toBuilder().version(contentVersion(unversioned)).build();
+    }
+
+    public static byte[] encode(GraphSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshot.size() * 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeUTF(snapshot.getProjectId());
+            out.writeUTF(snapshot.getVersion());
+            writeBody(out, snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static GraphSnapshot decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a graph snapshot");
+            }
+            short format = in.readShort();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported graph snapshot format: " + format);
+            }
+            String projectId = in.readUTF();
+            String version = in.readUTF();
+
+            String[] table = new String[readVarInt(in)];
+            for (int i = 0; i < table.length; i++) {
+                byte[] utf8 = new byte[readVarInt(in)];
+                in.readFully(utf8);
+                table[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            int n = readVarInt(in);
+            String[] ids = new String[n];
+            String[] names = new String[n];
+            String[] types = new String[n];
+            String[] versions = new String[n];
+            String[] statuses = new String[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = lookup(table, readVarInt(in));
+                names[i] = lookup(table, readVarInt(in));
+                types[i] = lookup(table, readVarInt(in));
+                versions[i] = lookup(table, readVarInt(in));
+                statuses[i] = lookup(table, readVarInt(in));
+            }
+
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[16];
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                int degree = readVarInt(in);
+                for (int d = 0; d < degree; d++) {
+                    if (size == targets.length) {
+                        targets = Arrays.copyOf(targets, size * 2);
+                    }
+                    targets[size++] = readVarInt(in);
+                }
+                offsets[i + 1] = size;
+            }
+
+            return GraphSnapshot.builder()
+                    .projectId(projectId)
+                    .version(version)
+                    .componentIds(ids)
+                    .names(names)
+                    .types(types)
+                    .versions(versions)
+                    .statuses(statuses)
+                    .dependencyOffsets(offsets)
+                    .dependencyTargets(Arrays.copyOf(targets, size))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated graph snapshot", e);
+        }
+    }
+
+    private static void writeBody(DataOutputStream out, GraphSnapshot snapshot) throws IOException {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        int n = snapshot.size();
+        int[] refs = new int[n * 5];
+        for (int i = 0; i < n; i++) {
+            refs[i * 5] = intern(table, snapshot.getComponentIds()[i]);
+            refs[i * 5 + 1] = intern(table, snapshot.getNames()[i]);
+            refs[i * 5 + 2] = intern(table, snapshot.getTypes()[i]);
+            refs[i * 5 + 3] = intern(table, snapshot.getVersions()[i]);
+            refs[i * 5 + 4] = intern(table, snapshot.getStatuses()[i]);
+        }
+
+        writeVarInt(out, table.size());
+        for (String value : table.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, utf8.length);
+            out.write(utf8);
+        }
+
+        writeVarInt(out, n);
+        for (int ref : refs) {
+            writeVarInt(out, ref);
+        }
+
+        int[] offsets = snapshot.getDependencyOffsets();
+        int[] targets = snapshot.getDependencyTargets();
+        for (int i = 0; i < n; i++) {
+            writeVarInt(out, offsets[i + 1] - offsets[i]);
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                writeVarInt(out, targets[e]);
+            }
+        }
+    }
+
+    private static String contentVersion(GraphSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.size() * 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeBody(out, snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int intern(Map<String, Integer> table, String value) {
+        if (value == null) {
+            return 0;
+        }
+        return table.computeIfAbsent(value, v -> table.size()) + 1;
+    }
+
+    private static String lookup(String[] table, int ref) {
+        return ref == 0 ? null : table[ref - 1];
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,64 @@
+package com.gigapress.dynamicupdate.graph;
+
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How much of a change's impact crosses one DEPENDS_ON edge: the product of a strength factor,
+ * a type factor and a per-hop decay, each in [0, 1]. Edges without strength count as STRONG,
+ * edges without type get factor 1.
+ */
+public final class ImpactWeights {
+
+    private final Map<DependencyStrength, Double> strengthWeights;
+    private final Map<DependencyType, Double> typeWeights;
+    private final double hopDecay;
+
+    private ImpactWeights(Map<DependencyStrength, Double> strengthWeights, Map<DependencyType, Double> typeWeights,
+                          double hopDecay) {
+        this.strengthWeights = strengthWeights;
+        this.typeWeights = typeWeights;
+        this.hopDecay = clamp(hopDecay);
+    }
+
+    /**
+     * Parses {@code NAME:weight} lists such as {@code "STRONG:1.0,WEAK:0.5"}. Names left out keep
+     * weight 1.
+     *
+     * @throws IllegalArgumentException on unknown names or malformed entries
+     */
+    public static ImpactWeights parse(String strengthWeights, String typeWeights, double hopDecay) {
+        return new ImpactWeights(parse(DependencyStrength.class, strengthWeights),
+                parse(DependencyType.class, typeWeights), hopDecay);
+    }
+
+    public double edgeFactor(DependencyStrength strength, DependencyType type) {
+        double factor = strengthWeights.getOrDefault(strength != null ? strength : DependencyStrength.STRONG, 1.0);
+        if (type != null) {
+            factor *= typeWeights.getOrDefault(type, 1.0);
+        }
+        return factor * hopDecay;
+    }
+
+    private static <E extends Enum<E>> Map<E, Double> parse(Class<E> type, String spec) {
+        Map<E, Double> weights = new EnumMap<>(type);
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected NAME:weight but got '" + entry.trim() + "'");
+            }
+            weights.put(Enum.valueOf(type, parts[0].trim()), clamp(Double.parseDouble(parts[1].trim())));
+        }
+        return weights;
+    }
+
+    private static double clamp(double weight) {
+        return Math.max(0.0, Math.min(1.0, weight));
+    }
+}
@@ -0,0 +1,415 @@
+package com.gigapress.dynamicupdate.graph;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Immutable, int-indexed snapshot of a single project's DEPENDS_ON graph.
+ * <p>
+ * Edges are stored twice in CSR (compressed sparse row) form: forward arrays answer
+ * "what does X depend on", reverse arrays answer "what depends on X". Mutations return
+ * a new snapshot so readers never need to lock.
+ */
+public final class ProjectDependencyGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String projectId;
+    private final String[] componentIds;
+    private final Map<String, Integer> indexById;
+
+    // dependencies: forwardTargets[forwardOffsets[i] .. forwardOffsets[i + 1]) are the nodes i depends on
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+
+    // dependents: reverseTargets[reverseOffsets[i] .. reverseOffsets[i + 1]) are the nodes depending on i
+    private final int[] reverseOffsets;
+    private final int[] reverseTargets;
+
+    private final Instant loadedAt;
+
+    private ProjectDependencyGraph(String projectId, String[] componentIds, Map<String, Integer> indexById,
+                                   int[] edgeSources, int[] edgeTargets, int edgeCount, Instant loadedAt) {
+        this.projectId = projectId;
+        this.componentIds = componentIds;
+        this.indexById = indexById;
+        this.loadedAt = loadedAt;
+
+        int n = componentIds.length;
+        this.forwardOffsets = new int[n + 1];
+        this.reverseOffsets = new int[n + 1];
+        this.forwardTargets = new int[edgeCount];
+        this.reverseTargets = new int[edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            forwardOffsets[edgeSources[e] + 1]++;
+            reverseOffsets[edgeTargets[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            forwardOffsets[i + 1] += forwardOffsets[i];
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        int[] forwardCursor = Arrays.copyOf(forwardOffsets, n);
+        int[] reverseCursor = Arrays.copyOf(reverseOffsets, n);
+        for (int e = 0; e < edgeCount; e++) {
+            forwardTargets[forwardCursor[edgeSources[e]]++] = edgeTargets[e];
+            reverseTargets[reverseCursor[edgeTargets[e]]++] = edgeSources[e];
+        }
+    }
+
+    /**
+     * Builds a snapshot from an adjacency map of componentId to the ids it depends on.
+     * Edges pointing at components outside the key set are ignored, as are duplicates and self-loops.
+     */
+    public static ProjectDependencyGraph build(String projectId, Map<String, ? extends Collection<String>> adjacency) {
+        return build(projectId, adjacency, Instant.now());
+    }
+
+    static ProjectDependencyGraph build(String projectId, Map<String, ? extends Collection<String>> adjacency,
+                                        Instant loadedAt) {
+        String[] ids = adjacency.keySet().toArray(new String[0]);
+        Map<String, Integer> indexById = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            indexById.put(ids[i], i);
+        }
+
+        EdgeBuffer edges = new EdgeBuffer();
+        for (int i = 0; i < ids.length; i++) {
+            Collection<String> targets = adjacency.get(ids[i]);
+            if (targets == null) {
+                continue;
+            }
+            for (String target : new LinkedHashSet<>(targets)) {
+                Integer j = indexById.get(target);
+                if (j != null && j != i) {
+                    edges.add(i, j);
+                }
+            }
+        }
+
+        return new ProjectDependencyGraph(projectId, ids, indexById,
+                edges.sources, edges.targets, edges.size, loadedAt);
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return componentIds.length;
+    }
+
+    public int edgeCount() {
+        return forwardTargets.length;
+    }
+
+    String componentId(int index) {
+        return componentIds[index];
+    }
+
+    // Raw CSR arrays for in-package algorithms; callers must not modify them
+    int[] forwardOffsets() {
+        return forwardOffsets;
+    }
+
+    int[] forwardTargets() {
+        return forwardTargets;
+    }
+
+    public boolean contains(String componentId) {
+        return indexById.containsKey(componentId);
+    }
+
+    public boolean containsEdge(String sourceId, String targetId) {
+        Integer source = indexById.get(sourceId);
+        Integer target = indexById.get(targetId);
+        if (source == null || target == null) {
+            return false;
+        }
+        for (int e = forwardOffsets[source]; e < forwardOffsets[source + 1]; e++) {
+            if (forwardTargets[e] == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> componentIds() {
+        return Collections.unmodifiableSet(indexById.keySet());
+    }
+
+    public List<String> directDependencies(String componentId) {
+        Integer index = indexById.get(componentId);
+        return index == null ? List.of() : toIds(forwardTargets, forwardOffsets[index], forwardOffsets[index + 1]);
+    }
+
+    public List<String> directDependents(String componentId) {
+        Integer index = indexById.get(componentId);
+        return index == null ? List.of() : toIds(reverseTargets, reverseOffsets[index], reverseOffsets[index + 1]);
+    }
+
+    /**
+     * Returns every component that transitively depends on {@code componentId}, mapped to its
+     * shortest distance (1 = direct dependent), in breadth-first order.
+     */
+    public Map<String, Integer> transitiveDependents(String componentId) {
+        Integer start = indexById.get(componentId);
+        if (start == null) {
+            return Collections.emptyMap();
+        }
+        return distancesFrom(start, reverseOffsets, reverseTargets);
+    }
+
+    /**
+     * Union of {@link #transitiveDependents(String)} over several components, each dependent mapped to
+     * its shortest distance from any of them. A source that depends on another source is included.
+     */
+    public Map<String, Integer> transitiveDependents(Collection<String> componentIds) {
+        int[] distance = new int[this.componentIds.length];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[this.componentIds.length];
+        int tail = 0;
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String componentId : componentIds) {
+            Integer source = indexById.get(componentId);
+            if (source == null) {
+                continue;
+            }
+            for (int e = reverseOffsets[source]; e < reverseOffsets[source + 1]; e++) {
+                int next = reverseTargets[e];
+                if (distance[next] < 0) {
+                    distance[next] = 1;
+                    queue[tail++] = next;
+                    result.put(this.componentIds[next], 1);
+                }
+            }
+        }
+        expand(queue, 0, tail, distance, reverseOffsets, reverseTargets, result);
+        return result;
+    }
+
+    /**
+     * Groups the transitive dependents of several components into topological layers: a component is
+     * placed after every affected component it depends on, so layer {@code n} can be updated once
+     * layers {@code 0..n-1} are done. Components on a dependency cycle are placed in a final layer.
+     */
+    public List<List<String>> dependentLayers(Collection<String> componentIds) {
+        Map<String, Integer> affected = transitiveDependents(componentIds);
+        int n = this.componentIds.length;
+        boolean[] inSet = new boolean[n];
+        for (String id : affected.keySet()) {
+            inSet[indexById.get(id)] = true;
+        }
+
+        // In-degree counts only dependencies that are themselves affected
+        int[] pending = new int[n];
+        int[] current = new int[affected.size()];
+        int size = 0;
+        for (String id : affected.keySet()) {
+            int node = indexById.get(id);
+            for (int e = forwardOffsets[node]; e < forwardOffsets[node + 1]; e++) {
+                if (inSet[forwardTargets[e]]) {
+                    pending[node]++;
+                }
+            }
+            if (pending[node] == 0) {
+                current[size++] = node;
+            }
+        }
+
+        List<List<String>> layers = new ArrayList<>();
+        int placed = 0;
+        int[] next = new int[affected.size()];
+        while (size > 0) {
+            List<String> layer = new ArrayList<>(size);
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int node = current[i];
+                layer.add(this.componentIds[node]);
+                inSet[node] = false;
+                for (int e = reverseOffsets[node]; e < reverseOffsets[node + 1]; e++) {
+                    int dependent = reverseTargets[e];
+                    if (inSet[dependent] && --pending[dependent] == 0) {
+                        next[nextSize++] = dependent;
+                    }
+                }
+            }
+            layers.add(layer);
+            placed += size;
+            int[] swap = current;
+            current = next;
+            next = swap;
+            size = nextSize;
+        }
+
+        if (placed < affected.size()) {
+            List<String> cyclic = new ArrayList<>(affected.size() - placed);
+            for (String id : affected.keySet()) {
+                if (inSet[indexById.get(id)]) {
+                    cyclic.add(id);
+                }
+            }
+            layers.add(cyclic);
+        }
+        return layers;
+    }
+
+    /**
+     * Returns every component {@code componentId} transitively depends on, mapped to its shortest distance.
+     */
+    public Map<String, Integer> transitiveDependencies(String componentId) {
+        Integer start = indexById.get(componentId);
+        if (start == null) {
+            return Collections.emptyMap();
+        }
+        return distancesFrom(start, forwardOffsets, forwardTargets);
+    }
+
+    /**
+     * Length of the longest shortest-path from {@code componentId} to any of its transitive dependents.
+     */
+    public int propagationDepth(String componentId) {
+        int depth = 0;
+        for (int distance : transitiveDependents(componentId).values()) {
+            depth = Math.max(depth, distance);
+        }
+        return depth;
+    }
+
+    /**
+     * Whether {@code sourceId} transitively depends on {@code targetId}.
+     */
+    public boolean dependsOn(String sourceId, String targetId) {
+        Integer source = indexById.get(sourceId);
+        Integer target = indexById.get(targetId);
+        if (source == null || target == null || source.equals(target)) {
+            return false;
+        }
+
+        boolean[] seen = new boolean[componentIds.length];
+        int[] stack = new int[componentIds.length];
+        int top = 0;
+        stack[top++] = source;
+        seen[source] = true;
+        while (top > 0) {
+            int node = stack[--top];
+            for (int e = forwardOffsets[node]; e < forwardOffsets[node + 1]; e++) {
+                int next = forwardTargets[e];
+                if (next == target) {
+                    return true;
+                }
+                if (!seen[next]) {
+                    seen[next] = true;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    public ProjectDependencyGraph withComponent(String componentId) {
+        if (contains(componentId)) {
+            return this;
+        }
+        Map<String, List<String>> adjacency = toAdjacency();
+        adjacency.put(componentId, new ArrayList<>());
+        return build(projectId, adjacency, loadedAt);
+    }
+
+    public ProjectDependencyGraph withoutComponent(String componentId) {
+        if (!contains(componentId)) {
+            return this;
+        }
+        Map<String, List<String>> adjacency = toAdjacency();
+        adjacency.remove(componentId);
+        return build(projectId, adjacency, loadedAt);
+    }
+
+    public ProjectDependencyGraph withEdge(String sourceId, String targetId) {
+        if (containsEdge(sourceId, targetId)) {
+            return this;
+        }
+        Map<String, List<String>> adjacency = toAdjacency();
+        adjacency.computeIfAbsent(sourceId, k -> new ArrayList<>()).add(targetId);
+        adjacency.computeIfAbsent(targetId, k -> new ArrayList<>());
+        return build(projectId, adjacency, loadedAt);
+    }
+
+    public ProjectDependencyGraph withoutEdge(String sourceId, String targetId) {
+        if (!containsEdge(sourceId, targetId)) {
+            return this;
+        }
+        Map<String, List<String>> adjacency = toAdjacency();
+        adjacency.get(sourceId).remove(targetId);
+        return build(projectId, adjacency, loadedAt);
+    }
+
+    private Map<String, List<String>> toAdjacency() {
+        Map<String, List<String>> adjacency = new LinkedHashMap<>(componentIds.length * 2);
+        for (int i = 0; i < componentIds.length; i++) {
+            adjacency.put(componentIds[i], toIds(forwardTargets, forwardOffsets[i], forwardOffsets[i + 1]));
+        }
+        return adjacency;
+    }
+
+    private Map<String, Integer> distancesFrom(int start, int[] offsets, int[] targets) {
+        int[] distance = new int[componentIds.length];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[componentIds.length];
+        int head = 0;
+        int tail = 0;
+
+        distance[start] = 0;
+        queue[tail++] = start;
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        expand(queue, head, tail, distance, offsets, targets, result);
+        return result;
+    }
+
+    private void expand(int[] queue, int head, int tail, int[] distance, int[] offsets, int[] targets,
+                        Map<String, Integer> result) {
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = targets[e];
+                if (distance[next] < 0) {
+                    distance[next] = distance[node] + 1;
+                    queue[tail++] = next;
+                    result.put(componentIds[next], distance[next]);
+                }
+            }
+        }
+    }
+
+    private List<String> toIds(int[] indices, int from, int to) {
+        List<String> ids = new ArrayList<>(to - from);
+        for (int e = from; e < to; e++) {
+            ids.add(componentIds[indices[e]]);
+        }
+        return ids;
+    }
+
+    private static final class EdgeBuffer {
+        private int[] sources = EMPTY;
+        private int[] targets = EMPTY;
+        private int size;
+
+        void add(int source, int target) {
+            if (size == sources.length) {
+                int capacity = Math.max(16, size * 2);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+    }
+}
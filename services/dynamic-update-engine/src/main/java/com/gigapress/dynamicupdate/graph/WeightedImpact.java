@@ -0,0 +1,85 @@
+package com.gigapress.dynamicupdate.graph;
+
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+
+import java.util.*;
+
+/**
+ * Decaying impact propagation over the reverse DEPENDS_ON graph.
+ * <p>
+ * Triggers start at score 1. A dependent reached over an edge gets its dependency's score times
+ * {@link ImpactWeights#edgeFactor}, and keeps the best score over all paths. Since factors never
+ * exceed 1, scores only shrink along a path, so a branch is pruned as soon as it drops below the
+ * threshold. Edges are fetched one frontier at a time, so pruned parts of the graph are never read.
+ * Nodes are re-expanded only when their score improves, which makes the result exact.
+ */
+public final class WeightedImpact {
+
+    /**
+     * Incoming DEPENDS_ON edges: {@code dependent} depends on {@code dependency}.
+     */
+    public record Edge(String dependent, String dependency, DependencyStrength strength, DependencyType type) {
+    }
+
+    @FunctionalInterface
+    public interface EdgeSource {
+        /**
+         * Edges whose dependency is one of {@code componentIds}.
+         */
+        List<Edge> incoming(Collection<String> componentIds);
+    }
+
+    /**
+     * An affected component with its best score and the hop count of the path that produced it.
+     */
+    public record Scored(String componentId, double score, int distance) {
+    }
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparingInt(Scored::distance)
+            .thenComparing(Scored::componentId);
+
+    private WeightedImpact() {
+    }
+
+    /**
+     * Ranks every component whose impact score reaches {@code threshold}, highest first, excluding
+     * the triggers themselves. At most {@code maxComponents} are returned.
+     */
+    public static List<Scored> rank(Collection<String> triggers, EdgeSource edges, ImpactWeights weights,
+                                    double threshold, int maxComponents) {
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Integer> distances = new HashMap<>();
+        Set<String> frontier = new LinkedHashSet<>();
+        for (String trigger : triggers) {
+            scores.put(trigger, 1.0);
+            distances.put(trigger, 0);
+            frontier.add(trigger);
+        }
+
+        while (!frontier.isEmpty()) {
+            Set<String> next = new LinkedHashSet<>();
+            for (Edge edge : edges.incoming(frontier)) {
+                double score = scores.get(edge.dependency()) * weights.edgeFactor(edge.strength(), edge.type());
+                if (score < threshold || score <= scores.getOrDefault(edge.dependent(), 0.0)) {
+                    continue;
+                }
+                scores.put(edge.dependent(), score);
+                distances.put(edge.dependent(), distances.get(edge.dependency()) + 1);
+                next.add(edge.dependent());
+            }
+            frontier = next;
+        }
+
+        Set<String> excluded = new HashSet<>(triggers);
+        List<Scored> ranked = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            if (!excluded.contains(id)) {
+                ranked.add(new Scored(id, score, distances.get(id)));
+            }
+        });
+        ranked.sort(RANKING);
+        return ranked.size() > maxComponents ? new ArrayList<>(ranked.subList(0, maxComponents)) : ranked;
+    }
+}
@@ -1,5 +1,8 @@
 package com.gigapress.dynamicupdate.health;
 
+import com.gigapress.dynamicupdate.consumer.ConsumerLag;
+import com.gigapress.dynamicupdate.consumer.ConsumerLagMonitor;
+import com.gigapress.dynamicupdate.consumer.ListenerConcurrencyController;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.DescribeClusterResult;
@@ -18,6 +21,15 @@ public class KafkaHealthIndicator implements HealthIndicator {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final ListenerConcurrencyController listenerConcurrencyController;
+    
+    public KafkaHealthIndicator(ConsumerLagMonitor consumerLagMonitor,
+                                ListenerConcurrencyController listenerConcurrencyController) {
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.listenerConcurrencyController = listenerConcurrencyController;
+    }
+    
     @Override
     public Health health() {
         Map<String, Object> configs = new HashMap<>();
@@ -31,6 +43,8 @@ public class KafkaHealthIndicator implements HealthIndicator {
             return Health.up()
                     .withDetail("clusterId", clusterId)
                     .withDetail("nodeCount", nodeCount)
+                    .withDetail("consumerLag", consumerLag())
+                    .withDetail("listenerConcurrency", listenerConcurrencyController.getConcurrencyByListener())
                     .build();
         } catch (Exception e) {
             return Health.down()
@@ -38,4 +52,16 @@ public class KafkaHealthIndicator implements HealthIndicator {
                     .build();
         }
     }
+    
+    // Last measurement of the concurrency controller; health checks do not query offsets themselves
+    private Map<String, Object> consumerLag() {
+        Map<String, Object> lagByGroup = new HashMap<>();
+        for (ConsumerLag lag : consumerLagMonitor.getLatest().values()) {
+            lagByGroup.put(lag.getGroupId(), Map.of(
+                    "totalLag", lag.getTotalLag(),
+                    "lagByTopic", lag.getLagByTopic(),
+                    "measuredAt", lag.getMeasuredAt().toString()));
+        }
+        return lagByGroup;
+    }
 }
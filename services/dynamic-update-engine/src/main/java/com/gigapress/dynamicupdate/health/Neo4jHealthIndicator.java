@@ -1,14 +1,27 @@
 package com.gigapress.dynamicupdate.health;
 
+import com.gigapress.dynamicupdate.config.Neo4jSchemaInitializer;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.summary.Plan;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class Neo4jHealthIndicator implements HealthIndicator {
     
+    // Hot lookups whose plans must start from an index rather than a label scan
+    private static final Map<String, String> LOOKUP_PLANS = Map.of(
+            "componentId", "EXPLAIN MATCH (c:Component {componentId: $value}) RETURN c",
+            "projectId", "EXPLAIN MATCH (c:Component {projectId: $value}) RETURN c");
+    
     private final Driver neo4jDriver;
     
     public Neo4jHealthIndicator(Driver neo4jDriver) {
@@ -19,9 +32,22 @@ public class Neo4jHealthIndicator implements HealthIndicator {
     public Health health() {
         try (Session session = neo4jDriver.session()) {
             session.run("RETURN 1").consume();
+            
+            int schemaVersion = Neo4jSchemaInitializer.currentVersion(session);
+            Map<String, Object> indexes = indexUsage(session);
+            Map<String, String> lookups = new LinkedHashMap<>();
+            LOOKUP_PLANS.forEach((property, query) -> lookups.put(property, leafOperator(session, query)));
+            boolean degraded = schemaVersion < Neo4jSchemaInitializer.latestVersion()
+                    || lookups.values().stream().anyMatch(operator -> operator.contains("LabelScan"));
+            
             return Health.up()
                     .withDetail("database", "Neo4j")
                     .withDetail("status", "Connected")
+                    .withDetail("schemaVersion", schemaVersion)
+                    .withDetail("schema", degraded ? "DEGRADED" : "OK")
+                    .withDetail("lookupPlans", lookups)
+                    .withDetail("indexes", indexes)
+                    .withDetail("queryCacheSize", queryCacheSize(session))
                     .build();
         } catch (Exception e) {
             return Health.down()
@@ -30,4 +56,45 @@ public class Neo4jHealthIndicator implements HealthIndicator {
                     .build();
         }
     }
+    
+    private Map<String, Object> indexUsage(Session session) {
+        Map<String, Object> indexes = new LinkedHashMap<>();
+        List<Record> records = session.run(
+                "SHOW INDEXES YIELD name, labelsOrTypes, state, populationPercent, readCount, lastRead " +
+                "WHERE 'Component' IN labelsOrTypes " +
+                "RETURN name, state, populationPercent, readCount, toString(lastRead) AS lastRead " +
+                "ORDER BY name").list();
+        for (Record record : records) {
+            Map<String, Object> index = new LinkedHashMap<>();
+            index.put("state", record.get("state").asString());
+            index.put("populationPercent", record.get("populationPercent").asDouble(0));
+            index.put("readCount", record.get("readCount").asLong(0));
+            index.put("lastRead", record.get("lastRead").asString(null));
+            indexes.put(record.get("name").asString(), index);
+        }
+        return indexes;
+    }
+    
+    private String leafOperator(Session session, String query) {
+        Plan plan = session.run(query, Values.parameters("value", "health-check")).consume().plan();
+        while (plan != null && !plan.children().isEmpty()) {
+            plan = plan.children().get(0);
+        }
+        return plan != null ? plan.operatorType() : "unknown";
+    }
+    
+    private String queryCacheSize(Session session) {
+        try {
+            // Every engine query is parameterised, so a hit rate problem shows up as a too small cache
+            return session.run("SHOW SETTINGS YIELD name, value " +
+                            "WHERE name IN ['server.db.query_cache_size', 'db.query_cache_size'] RETURN value")
+                    .list().stream()
+                    .findFirst()
+                    .map(record -> record.get("value").asString())
+                    .orElse("unknown");
+        } catch (Exception e) {
+            // SHOW SETTINGS needs admin privileges
+            return "unavailable";
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.gigapress.dynamicupdate.metadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Maps a component's metadata JSON onto typed node properties named {@code meta.<key>}, so metadata
+ * filters run as indexed property predicates in Cypher.
+ * <p>
+ * Nested objects are flattened into dotted keys ({@code {"build":{"tool":"maven"}}} becomes
+ * {@code meta.build.tool}). Strings, numbers, booleans and homogeneous scalar arrays are kept with
+ * their JSON type; nulls, mixed arrays and anything beyond {@link #MAX_KEYS} keys are left out.
+ */
+public final class MetadataProperties {
+
+    public static final String PREFIX = "meta.";
+    public static final int MAX_KEYS = 64;
+    static final int MAX_DEPTH = 4;
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z][A-Za-z0-9_-]*(\\.[A-Za-z][A-Za-z0-9_-]*)*");
+
+    private MetadataProperties() {
+    }
+
+    /**
+     * Whether {@code key} may be used as a metadata key, and so be embedded in a Cypher property name.
+     */
+    public static boolean isValidKey(String key) {
+        return key != null && key.length() <= 128 && KEY.matcher(key).matches();
+    }
+
+    /**
+     * Backtick-quoted node property name for a metadata key.
+     *
+     * @throws IllegalArgumentException when the key is not valid
+     */
+    public static String propertyName(String key) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid metadata key: " + key);
+        }
+        return "`" + PREFIX + key + "`";
+    }
+
+    /**
+     * Cypher predicate testing the metadata property {@code key} of {@code node} against
+     * {@code $parameter}. Array metadata is stored as a list property, so the property is compared
+     * element by element ({@code [] + x} turns a scalar into a one-element list and leaves a list
+     * as is): it matches when any element equals a scalar {@code value}, or is one of a list
+     * {@code value}.
+     *
+     * @throws IllegalArgumentException when the key is not valid
+     */
+    public static String predicate(String node, String key, Object value, String parameter) {
+        return "any(element IN [] + " + node + "." + propertyName(key) + " WHERE element "
+                + (value instanceof Collection<?> ? "IN $" : "= $") + parameter + ")";
+    }
+
+    /**
+     * Flattens metadata JSON into {@code meta.<key>} properties. Blank or malformed JSON and
+     * non-object documents yield an empty map.
+     */
+    public static Map<String, Object> flatten(String json, ObjectMapper objectMapper) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (json == null || json.isBlank()) {
+            return properties;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(json);
+        } catch (IOException e) {
+            return properties;
+        }
+        if (root != null && root.isObject()) {
+            flatten("", root, 1, properties);
+        }
+        return properties;
+    }
+
+    private static void flatten(String path, JsonNode node, int depth, Map<String, Object> properties) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext() && properties.size() < MAX_KEYS) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String key = path + field.getKey();
+            if (!isValidKey(key)) {
+                continue;
+            }
+            JsonNode value = field.getValue();
+            if (value.isObject()) {
+                if (depth < MAX_DEPTH) {
+                    flatten(key + ".", value, depth + 1, properties);
+                }
+            } else if (value.isArray()) {
+                List<Object> list = scalarList(value);
+                if (list != null) {
+                    properties.put(PREFIX + key, list);
+                }
+            } else {
+                Object scalar = scalar(value);
+                if (scalar != null) {
+                    properties.put(PREFIX + key, scalar);
+                }
+            }
+        }
+    }
+
+    /**
+     * Elements of a scalar array when they all share one type, null otherwise. Neo4j only stores
+     * homogeneous lists.
+     */
+    private static List<Object> scalarList(JsonNode array) {
+        List<Object> list = new ArrayList<>(array.size());
+        Class<?> elementType = null;
+        for (JsonNode element : array) {
+            Object scalar = scalar(element);
+            if (scalar == null || (elementType != null && elementType != scalar.getClass())) {
+                return null;
+            }
+            elementType = scalar.getClass();
+            list.add(scalar);
+        }
+        return list.isEmpty() ? null : list;
+    }
+
+    private static Object scalar(JsonNode value) {
+        if (value.isTextual()) {
+            return value.textValue();
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        if (value.isIntegralNumber() && value.canConvertToLong()) {
+            return value.longValue();
+        }
+        if (value.isNumber()) {
+            return value.doubleValue();
+        }
+        return null;
+    }
+}
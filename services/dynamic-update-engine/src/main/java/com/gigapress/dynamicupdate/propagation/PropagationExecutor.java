@@ -0,0 +1,166 @@
+package com.gigapress.dynamicupdate.propagation;
+
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
+import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a propagation cascade out as chunked {@link UpdatePropagationEvent}s.
+ * <p>
+ * The affected set arrives grouped into topological layers. Cascades that fit in one chunk are
+ * published inline. Larger ones are handed to a coordinator pool and published layer by layer:
+ * the chunks of one layer are sent in parallel on a bounded worker pool, and the next layer starts
+ * only when the broker has acknowledged every chunk of the previous one. Progress counts only
+ * acknowledged chunks, and a failed send fails the cascade. When every coordinator is busy and
+ * the queue is full the caller runs the cascade itself, which slows the consuming listener down
+ * instead of buffering without bound.
+ */
+@Slf4j
+@Component
+public class PropagationExecutor {
+
+    private final ComponentEventPublisher componentEventPublisher;
+    private final int chunkSize;
+    private final ThreadPoolExecutor coordinators;
+    private final ExecutorService workers;
+    private final Cache<String, PropagationProgress> progressById;
+
+    public PropagationExecutor(ComponentEventPublisher componentEventPublisher,
+                               @Value("${dynamic-update.propagation.chunk-size:500}") int chunkSize,
+                               @Value("${dynamic-update.propagation.parallelism:4}") int parallelism,
+                               @Value("${dynamic-update.propagation.max-concurrent-cascades:2}") int maxConcurrentCascades,
+                               @Value("${dynamic-update.propagation.queue-capacity:16}") int queueCapacity,
+                               @Value("${dynamic-update.propagation.progress-retention:PT1H}") Duration progressRetention) {
+        this.componentEventPublisher = componentEventPublisher;
+        this.chunkSize = chunkSize;
+        this.coordinators = new ThreadPoolExecutor(maxConcurrentCascades, maxConcurrentCascades,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory("propagation-coordinator"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.workers = Executors.newFixedThreadPool(parallelism, threadFactory("propagation-worker"));
+        this.progressById = Caffeine.newBuilder()
+                .expireAfterWrite(progressRetention)
+                .build();
+    }
+
+    /**
+     * Publishes the cascade described by {@code template} over the given layers.
+     *
+     * @param template carries everything but the per-chunk fields and the affected ids, including the
+     *                 propagation depth, the largest shortest distance from a trigger
+     * @param layers   affected component ids, each layer depending only on earlier ones
+     */
+    public PropagationProgress propagate(UpdatePropagationEvent template, List<List<String>> layers) {
+        String propagationId = UUID.randomUUID().toString();
+        int totalComponents = 0;
+        int layerChunks = 0;
+        for (List<String> layer : layers) {
+            totalComponents += layer.size();
+            layerChunks += (layer.size() + chunkSize - 1) / chunkSize;
+        }
+        int totalChunks = totalComponents <= chunkSize ? 1 : layerChunks;
+        List<String> triggers = template.getTriggerComponentIds() != null
+                ? template.getTriggerComponentIds()
+                : List.of(template.getTriggerComponentId());
+        PropagationProgress progress = new PropagationProgress(propagationId, template.getProjectId(),
+                triggers, totalComponents, layers.size(), totalChunks);
+        progressById.put(propagationId, progress);
+
+        if (totalComponents <= chunkSize) {
+            List<String> affected = new ArrayList<>(totalComponents);
+            layers.forEach(affected::addAll);
+            int componentCount = totalComponents;
+            componentEventPublisher.publishPropagation(chunk(template, progress, 0, 0, affected))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            progress.failed(error);
+                            log.error("Propagation {} failed to publish", propagationId, error);
+                        } else {
+                            progress.chunkPublished(componentCount);
+                            layers.forEach(layer -> progress.layerCompleted());
+                            progress.completed();
+                        }
+                    });
+            return progress;
+        }
+
+        log.info("Propagation {} fans out to {} components in {} layers and {} chunks",
+                propagationId, totalComponents, layers.size(), totalChunks);
+        coordinators.execute(() -> run(template, progress, layers));
+        return progress;
+    }
+
+    public Optional<PropagationProgress> getProgress(String propagationId) {
+        return Optional.ofNullable(progressById.getIfPresent(propagationId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdown();
+        workers.shutdown();
+    }
+
+    private void run(UpdatePropagationEvent template, PropagationProgress progress, List<List<String>> layers) {
+        int chunkIndex = 0;
+        try {
+            for (int layer = 0; layer < layers.size(); layer++) {
+                List<String> ids = layers.get(layer);
+                List<CompletableFuture<Void>> sends = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<String> affected = List.copyOf(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+                    UpdatePropagationEvent event = chunk(template, progress, layer, chunkIndex++, affected);
+                    sends.add(CompletableFuture
+                            .supplyAsync(() -> componentEventPublisher.publishPropagation(event), workers)
+                            .thenCompose(send -> send)
+                            .thenRun(() -> progress.chunkPublished(affected.size())));
+                }
+                // The next layer starts only once the broker has acknowledged every chunk of this one
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+                progress.layerCompleted();
+            }
+            progress.completed();
+            log.info("Propagation {} completed: {} components in {} chunks",
+                    progress.getPropagationId(), progress.getPublishedComponents(), progress.getPublishedChunks());
+        } catch (Exception e) {
+            progress.failed(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            log.error("Propagation {} failed after {} of {} chunks", progress.getPropagationId(),
+                    progress.getPublishedChunks(), progress.getTotalChunks(), e);
+        } finally {
+            // Refresh the write time so finished cascades stay visible for the full retention
+            progressById.put(progress.getPropagationId(), progress);
+        }
+    }
+
+    private UpdatePropagationEvent chunk(UpdatePropagationEvent template, PropagationProgress progress,
+                                         int layer, int chunkIndex, List<String> affected) {
+        return template.toBuilder()
+                .eventId(UUID.randomUUID().toString())
+                .propagationId(progress.getPropagationId())
+                .affectedComponentIds(affected)
+                .layer(layer)
+                .chunkIndex(chunkIndex)
+                .totalChunks(progress.getTotalChunks())
+                .build();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.gigapress.dynamicupdate.propagation;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one propagation cascade, updated by the worker threads as chunks are published.
+ */
+public class PropagationProgress {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String propagationId;
+    private final String projectId;
+    private final List<String> triggerComponentIds;
+    private final int totalComponents;
+    private final int totalLayers;
+    private final int totalChunks;
+    private final LocalDateTime startedAt;
+
+    private final AtomicInteger publishedComponents = new AtomicInteger();
+    private final AtomicInteger publishedChunks = new AtomicInteger();
+    private final AtomicInteger completedLayers = new AtomicInteger();
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    PropagationProgress(String propagationId, String projectId, List<String> triggerComponentIds,
+                        int totalComponents, int totalLayers, int totalChunks) {
+        this.propagationId = propagationId;
+        this.projectId = projectId;
+        this.triggerComponentIds = triggerComponentIds;
+        this.totalComponents = totalComponents;
+        this.totalLayers = totalLayers;
+        this.totalChunks = totalChunks;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    void chunkPublished(int components) {
+        publishedComponents.addAndGet(components);
+        publishedChunks.incrementAndGet();
+    }
+
+    void layerCompleted() {
+        completedLayers.incrementAndGet();
+    }
+
+    void completed() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void failed(Throwable cause) {
+        error = cause.getMessage();
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public String getPropagationId() {
+        return propagationId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public List<String> getTriggerComponentIds() {
+        return triggerComponentIds;
+    }
+
+    public int getTotalComponents() {
+        return totalComponents;
+    }
+
+    public int getTotalLayers() {
+        return totalLayers;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public int getPublishedComponents() {
+        return publishedComponents.get();
+    }
+
+    public int getPublishedChunks() {
+        return publishedChunks.get();
+    }
+
+    public int getCompletedLayers() {
+        return completedLayers.get();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,384 @@
+package com.gigapress.dynamicupdate.repository;
+
+import com.gigapress.dynamicupdate.domain.ComponentStatus;
+import com.gigapress.dynamicupdate.domain.ComponentType;
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.dto.ComponentAnalytics;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
+import com.gigapress.dynamicupdate.graph.WeightedImpact;
+import com.gigapress.dynamicupdate.metadata.MetadataProperties;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Scalar-only graph reads that bypass entity mapping, used to build in-memory graph structures
+ * and relationship-free listings.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComponentGraphRepository {
+
+    private static final String SUMMARY_RETURN =
+            "RETURN c.componentId AS componentId, c.name AS name, c.type AS type, " +
+            "c.version AS version, c.projectId AS projectId, c.status AS status, " +
+            "c.metadata AS metadata, c.createdAt AS createdAt, c.updatedAt AS updatedAt ";
+
+    private static final String ANALYTICS_RETURN =
+            "RETURN c.componentId AS componentId, c.name AS name, c.projectId AS projectId, " +
+            "c.dependentCount AS dependentCount, c.topologicalLayer AS topologicalLayer, " +
+            "c.cycleGroup AS cycleGroup, c.cycleSize AS cycleSize, c.longestChain AS longestChain, " +
+            "c.criticalPath AS criticalPath, c.analyzedAt AS analyzedAt ";
+
+    private final Neo4jClient neo4jClient;
+
+    public Optional<String> findProjectId(String componentId) {
+        return neo4jClient.query("MATCH (c:Component {componentId: $componentId}) RETURN c.projectId AS projectId")
+                .bind(componentId).to("componentId")
+                .fetchAs(String.class)
+                .one();
+    }
+
+    /**
+     * Loads the intra-project DEPENDS_ON adjacency of a project as componentId -> dependency ids.
+     */
+    public Map<String, List<String>> findProjectAdjacency(String projectId) {
+        Collection<Map<String, Object>> rows = neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        "OPTIONAL MATCH (c)-[:DEPENDS_ON]->(dep:Component {projectId: $projectId}) " +
+                        "RETURN c.componentId AS componentId, collect(dep.componentId) AS dependencies")
+                .bind(projectId).to("projectId")
+                .fetch()
+                .all();
+
+        Map<String, List<String>> adjacency = new LinkedHashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            List<String> dependencies = new ArrayList<>();
+            Object value = row.get("dependencies");
+            if (value instanceof Collection<?> collection) {
+                collection.forEach(id -> dependencies.add(String.valueOf(id)));
+            }
+            adjacency.put((String) row.get("componentId"), dependencies);
+        }
+        return adjacency;
+    }
+
+    public Optional<ComponentSummary> findSummary(String componentId) {
+        return neo4jClient.query(
+                        "MATCH (c:Component {componentId: $componentId}) " +
+                        SUMMARY_RETURN)
+                .bind(componentId).to("componentId")
+                .fetchAs(ComponentSummary.class)
+                .mappedBy((typeSystem, record) -> toSummary(record))
+                .one();
+    }
+
+    public List<ComponentSummary> findProjectSummaries(String projectId) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        SUMMARY_RETURN +
+                        "ORDER BY c.componentId")
+                .bind(projectId).to("projectId")
+                .fetchAs(ComponentSummary.class)
+                .mappedBy((typeSystem, record) -> toSummary(record))
+                .all());
+    }
+
+    /**
+     * Returns up to {@code limit} components of a project ordered by componentId, starting after
+     * {@code afterComponentId} (keyset pagination, null for the first page). Relationships are not read.
+     */
+    public List<ComponentSummary> findProjectComponentSummaries(String projectId, String afterComponentId, int limit) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        "WHERE $after IS NULL OR c.componentId > $after " +
+                        SUMMARY_RETURN +
+                        "ORDER BY c.componentId " +
+                        "LIMIT $limit")
+                .bind(projectId).to("projectId")
+                .bind(afterComponentId).to("after")
+                .bind(limit).to("limit")
+                .fetchAs(ComponentSummary.class)
+                .mappedBy((typeSystem, record) -> toSummary(record))
+                .all());
+    }
+
+    /**
+     * Keyset page of project components whose {@code meta.*} properties match every filter, see
+     * {@link MetadataProperties#predicate}. Keys are validated before they are embedded as property names.
+     */
+    public List<ComponentSummary> findProjectSummariesByMetadata(String projectId, Map<String, Object> filters,
+                                                                 String afterComponentId, int limit) {
+        StringBuilder where = new StringBuilder("WHERE ($after IS NULL OR c.componentId > $after)");
+        Map<String, Object> parameters = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            String parameter = "m" + i++;
+            where.append(" AND ").append(MetadataProperties.predicate("c", filter.getKey(), filter.getValue(), parameter));
+            parameters.put(parameter, filter.getValue());
+        }
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        where + " " +
+                        SUMMARY_RETURN +
+                        "ORDER BY c.componentId " +
+                        "LIMIT $limit")
+                .bindAll(parameters)
+                .bind(projectId).to("projectId")
+                .bind(afterComponentId).to("after")
+                .bind(limit).to("limit")
+                .fetchAs(ComponentSummary.class)
+                .mappedBy((typeSystem, record) -> toSummary(record))
+                .all());
+    }
+
+    /**
+     * Loads the scalar properties of every project component with its intra-project dependency ids,
+     * ordered by componentId.
+     */
+    public Collection<Map<String, Object>> findProjectSnapshotRows(String projectId) {
+        return neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        "OPTIONAL MATCH (c)-[:DEPENDS_ON]->(dep:Component {projectId: $projectId}) " +
+                        "RETURN c.componentId AS componentId, c.name AS name, c.type AS type, " +
+                        "c.version AS version, c.status AS status, collect(dep.componentId) AS dependencies " +
+                        "ORDER BY componentId")
+                .bind(projectId).to("projectId")
+                .fetch()
+                .all();
+    }
+
+    /**
+     * Returns every transitive dependent of {@code componentIds} inside one project, mapped to its
+     * shortest DEPENDS_ON distance from the nearest of them, nearest first, in a single round-trip.
+     * Runs one breadth-first APOC expansion from all triggers at once that visits each component
+     * only once, so the cost stays linear in the edges reached instead of growing with the number
+     * of paths. Only the project's own components are expanded.
+     */
+    public Map<String, Integer> findTransitiveDependents(String projectId, Collection<String> componentIds) {
+        Collection<Map<String, Object>> rows = neo4jClient.query(
+                        "MATCH (member:Component {projectId: $projectId}) " +
+                        "WITH collect(member) AS scope " +
+                        "MATCH (trigger:Component {projectId: $projectId}) " +
+                        "WHERE trigger.componentId IN $componentIds " +
+                        "WITH scope, collect(trigger) AS triggers " +
+                        "CALL apoc.path.expandConfig(triggers, {relationshipFilter: '<DEPENDS_ON', " +
+                        "uniqueness: 'NODE_GLOBAL', bfs: true, minLevel: 1, whitelistNodes: scope}) " +
+                        "YIELD path " +
+                        "RETURN last(nodes(path)).componentId AS componentId, length(path) AS distance " +
+                        "ORDER BY distance, componentId")
+                .bind(projectId).to("projectId")
+                .bind(new ArrayList<>(componentIds)).to("componentIds")
+                .fetch()
+                .all();
+
+        Map<String, Integer> distances = new LinkedHashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            distances.putIfAbsent((String) row.get("componentId"), ((Number) row.get("distance")).intValue());
+        }
+        return distances;
+    }
+
+    /**
+     * DEPENDS_ON edges pointing at any of {@code componentIds}, with their strength and type.
+     */
+    public List<WeightedImpact.Edge> findIncomingEdges(Collection<String> componentIds) {
+        return new ArrayList<>(neo4jClient.query(
+                        "UNWIND $componentIds AS componentId " +
+                        "MATCH (t:Component {componentId: componentId})<-[d:DEPENDS_ON]-(s:Component) " +
+                        "RETURN s.componentId AS dependent, t.componentId AS dependency, " +
+                        "d.strength AS strength, d.type AS type")
+                .bind(new ArrayList<>(componentIds)).to("componentIds")
+                .fetchAs(WeightedImpact.Edge.class)
+                .mappedBy((typeSystem, record) -> new WeightedImpact.Edge(
+                        string(record.get("dependent")),
+                        string(record.get("dependency")),
+                        enumValue(DependencyStrength.class, record.get("strength")),
+                        enumValue(DependencyType.class, record.get("type"))))
+                .all());
+    }
+
+    /**
+     * Whether {@code sourceId} transitively depends on {@code targetId}, across project boundaries.
+     */
+    public boolean dependsOn(String sourceId, String targetId) {
+        return neo4jClient.query(
+                        "MATCH (s:Component {componentId: $sourceId}), (t:Component {componentId: $targetId}) " +
+                        "RETURN EXISTS { MATCH (s)-[:DEPENDS_ON*1..]->(t) } AS reachable")
+                .bind(sourceId).to("sourceId")
+                .bind(targetId).to("targetId")
+                .fetchAs(Boolean.class)
+                .one()
+                .orElse(false);
+    }
+
+    /**
+     * Creates or updates components in one statement. Each row carries componentId, name, type,
+     * version, projectId, status and metadata. Status and creation time are only set on new nodes,
+     * and nodes owned by another project are left untouched and not counted.
+     */
+    public int upsertComponents(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return neo4jClient.query(
+                        "UNWIND $rows AS row " +
+                        "MERGE (c:Component {componentId: row.componentId}) " +
+                        "ON CREATE SET c.projectId = row.projectId, c.status = row.status, " +
+                        "c.createdAt = localdatetime() " +
+                        "WITH c, row WHERE c.projectId = row.projectId " +
+                        "SET c.name = row.name, c.type = row.type, c.version = row.version, " +
+                        "c.metadata = row.metadata, c.updatedAt = localdatetime() " +
+                        "RETURN count(c) AS written")
+                .bind(rows).to("rows")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    /**
+     * Those of {@code componentIds} that already exist under a project other than {@code projectId}.
+     */
+    public List<String> findComponentsOwnedElsewhere(String projectId, Collection<String> componentIds) {
+        return new ArrayList<>(neo4jClient.query(
+                        "UNWIND $componentIds AS componentId " +
+                        "MATCH (c:Component {componentId: componentId}) " +
+                        "WHERE c.projectId <> $projectId " +
+                        "RETURN c.componentId AS componentId " +
+                        "ORDER BY componentId")
+                .bind(projectId).to("projectId")
+                .bind(new ArrayList<>(componentIds)).to("componentIds")
+                .fetchAs(String.class)
+                .all());
+    }
+
+    /**
+     * Creates DEPENDS_ON edges in one statement. Each row carries source, target, type, strength and
+     * metadata; existing edges are left untouched.
+     */
+    public int mergeDependencies(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return neo4jClient.query(
+                        "UNWIND $rows AS row " +
+                        "MATCH (s:Component {componentId: row.source}) " +
+                        "MATCH (t:Component {componentId: row.target}) " +
+                        "MERGE (s)-[d:DEPENDS_ON]->(t) " +
+                        "ON CREATE SET d.type = row.type, d.strength = row.strength, " +
+                        "d.metadata = row.metadata, d.createdAt = localdatetime() " +
+                        "RETURN count(d) AS written")
+                .bind(rows).to("rows")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    public List<String> findProjectIds() {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component) WHERE c.projectId IS NOT NULL " +
+                        "RETURN DISTINCT c.projectId AS projectId")
+                .fetchAs(String.class)
+                .all());
+    }
+
+    /**
+     * Stores analytics results as node properties. Each row carries componentId, dependentCount,
+     * topologicalLayer, cycleGroup, cycleSize, longestChain and criticalPath.
+     */
+    public int writeAnalytics(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return neo4jClient.query(
+                        "UNWIND $rows AS row " +
+                        "MATCH (c:Component {componentId: row.componentId}) " +
+                        "SET c.dependentCount = row.dependentCount, c.topologicalLayer = row.topologicalLayer, " +
+                        "c.cycleGroup = row.cycleGroup, c.cycleSize = row.cycleSize, " +
+                        "c.longestChain = row.longestChain, c.criticalPath = row.criticalPath, " +
+                        "c.analyzedAt = localdatetime() " +
+                        "RETURN count(c) AS written")
+                .bind(rows).to("rows")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    public Optional<ComponentAnalytics> findAnalytics(String componentId) {
+        return neo4jClient.query(
+                        "MATCH (c:Component {componentId: $componentId}) " +
+                        "WHERE c.analyzedAt IS NOT NULL " +
+                        ANALYTICS_RETURN)
+                .bind(componentId).to("componentId")
+                .fetchAs(ComponentAnalytics.class)
+                .mappedBy((typeSystem, record) -> toAnalytics(record))
+                .one();
+    }
+
+    /**
+     * Components of a project with the most transitive dependents, largest first.
+     */
+    public List<ComponentAnalytics> findTopByDependentCount(String projectId, int limit) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        "WHERE c.dependentCount IS NOT NULL " +
+                        ANALYTICS_RETURN +
+                        "ORDER BY c.dependentCount DESC, c.componentId " +
+                        "LIMIT $limit")
+                .bind(projectId).to("projectId")
+                .bind(limit).to("limit")
+                .fetchAs(ComponentAnalytics.class)
+                .mappedBy((typeSystem, record) -> toAnalytics(record))
+                .all());
+    }
+
+    static ComponentSummary toSummary(Record record) {
+        return ComponentSummary.builder()
+                .componentId(string(record.get("componentId")))
+                .name(string(record.get("name")))
+                .type(enumValue(ComponentType.class, record.get("type")))
+                .version(string(record.get("version")))
+                .projectId(string(record.get("projectId")))
+                .status(enumValue(ComponentStatus.class, record.get("status")))
+                .metadata(string(record.get("metadata")))
+                .createdAt(dateTime(record.get("createdAt")))
+                .updatedAt(dateTime(record.get("updatedAt")))
+                .build();
+    }
+
+    static ComponentAnalytics toAnalytics(Record record) {
+        return ComponentAnalytics.builder()
+                .componentId(string(record.get("componentId")))
+                .name(string(record.get("name")))
+                .projectId(string(record.get("projectId")))
+                .transitiveDependentCount(record.get("dependentCount").asInt(0))
+                .topologicalLayer(record.get("topologicalLayer").asInt(0))
+                .cycleGroup(record.get("cycleGroup").asInt(0))
+                .cycleSize(record.get("cycleSize").asInt(1))
+                .longestChain(record.get("longestChain").asInt(0))
+                .criticalPath(record.get("criticalPath").asBoolean(false))
+                .analyzedAt(dateTime(record.get("analyzedAt")))
+                .build();
+    }
+
+    private static String string(Value value) {
+        return value.isNull() ? null : value.asString();
+    }
+
+    private static LocalDateTime dateTime(Value value) {
+        return value.isNull() ? null : value.asLocalDateTime();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Value value) {
+        return value.isNull() ? null : Enum.valueOf(type, value.asString());
+    }
+}
@@ -0,0 +1,208 @@
+package com.gigapress.dynamicupdate.repository;
+
+import com.gigapress.dynamicupdate.dto.ComponentRevision;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Append-only component history kept as {@code (:Component)-[:HAS_REVISION]->(:ComponentRevision)}
+ * nodes. The revision counter lives on the component, so concurrent writers serialize on its lock.
+ * Every {@code checkpointInterval}-th revision stores the full tracked state; the others store only
+ * changed properties, and a state is rebuilt from the nearest checkpoint onwards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComponentHistoryRepository {
+
+    public static final List<String> TRACKED_PROPERTIES = List.of("name", "type", "version", "status", "metadata");
+
+    private static final String REVISION_RETURN =
+            "RETURN r.componentId AS componentId, r.revision AS revision, r.kind AS kind, r.at AS at, " +
+            "r.checkpoint AS checkpoint, r {.name, .type, .version, .status, .metadata} AS properties, " +
+            "r.changed AS changed ";
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Appends a revision holding {@code changes}, or the full state when it falls on a checkpoint.
+     * Returns the new revision number.
+     */
+    public int appendRevision(String componentId, String kind, Map<String, Object> changes, int checkpointInterval) {
+        return neo4jClient.query(
+                        "MATCH (c:Component {componentId: $componentId}) " +
+                        "SET c.revision = coalesce(c.revision, 0) + 1 " +
+                        "WITH c, (c.revision - 1) % $interval = 0 AS checkpoint " +
+                        "CREATE (c)-[:HAS_REVISION]->(r:ComponentRevision {componentId: c.componentId, " +
+                        "projectId: c.projectId, revision: c.revision, kind: $kind, at: c.updatedAt, " +
+                        "checkpoint: checkpoint, changed: keys($changes)}) " +
+                        "SET r += CASE WHEN checkpoint THEN c {.name, .type, .version, .status, .metadata} " +
+                        "ELSE $changes END " +
+                        "RETURN r.revision AS revision")
+                .bind(componentId).to("componentId")
+                .bind(kind).to("kind")
+                .bind(changes).to("changes")
+                .bind(checkpointInterval).to("interval")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    /**
+     * Appends a full-state revision to each component, used by bulk writes.
+     */
+    public int appendCheckpoints(Collection<String> componentIds, String kind) {
+        if (componentIds.isEmpty()) {
+            return 0;
+        }
+        return neo4jClient.query(
+                        "UNWIND $componentIds AS componentId " +
+                        "MATCH (c:Component {componentId: componentId}) " +
+                        "SET c.revision = coalesce(c.revision, 0) + 1 " +
+                        "CREATE (c)-[:HAS_REVISION]->(r:ComponentRevision {componentId: c.componentId, " +
+                        "projectId: c.projectId, revision: c.revision, kind: $kind, at: c.updatedAt, " +
+                        "checkpoint: true, changed: $tracked}) " +
+                        "SET r += c {.name, .type, .version, .status, .metadata} " +
+                        "RETURN count(r) AS written")
+                .bind(new ArrayList<>(componentIds)).to("componentIds")
+                .bind(kind).to("kind")
+                .bind(TRACKED_PROPERTIES).to("tracked")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    public List<ComponentRevision> findRevisions(String componentId) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (r:ComponentRevision {componentId: $componentId}) " +
+                        REVISION_RETURN +
+                        "ORDER BY r.revision")
+                .bind(componentId).to("componentId")
+                .fetchAs(ComponentRevision.class)
+                .mappedBy((typeSystem, record) -> toRevision(record))
+                .all());
+    }
+
+    /**
+     * Latest revision number written at or before {@code at}.
+     */
+    public Optional<Integer> findRevisionAt(String componentId, LocalDateTime at) {
+        return neo4jClient.query(
+                        "MATCH (r:ComponentRevision {componentId: $componentId}) " +
+                        "WHERE r.at <= $at " +
+                        "RETURN r.revision AS revision ORDER BY r.revision DESC LIMIT 1")
+                .bind(componentId).to("componentId")
+                .bind(at).to("at")
+                .fetchAs(Long.class)
+                .one()
+                .map(Long::intValue);
+    }
+
+    /**
+     * Revisions needed to rebuild the state at {@code revision}: the nearest checkpoint at or before
+     * it and everything after, in order.
+     */
+    public List<ComponentRevision> findReplay(String componentId, int revision) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (cp:ComponentRevision {componentId: $componentId}) " +
+                        "WHERE cp.checkpoint AND cp.revision <= $revision " +
+                        "WITH max(cp.revision) AS base " +
+                        "MATCH (r:ComponentRevision {componentId: $componentId}) " +
+                        "WHERE r.revision >= base AND r.revision <= $revision " +
+                        REVISION_RETURN +
+                        "ORDER BY r.revision")
+                .bind(componentId).to("componentId")
+                .bind(revision).to("revision")
+                .fetchAs(ComponentRevision.class)
+                .mappedBy((typeSystem, record) -> toRevision(record))
+                .all());
+    }
+
+    /**
+     * Replay revisions of every component of a project as of {@code at}, ordered by component and revision.
+     */
+    public List<ComponentRevision> findProjectReplay(String projectId, LocalDateTime at) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (cp:ComponentRevision {projectId: $projectId}) " +
+                        "WHERE cp.checkpoint AND cp.at <= $at " +
+                        "WITH cp.componentId AS componentId, max(cp.revision) AS base " +
+                        "MATCH (r:ComponentRevision {componentId: componentId}) " +
+                        "WHERE r.revision >= base AND r.at <= $at " +
+                        REVISION_RETURN +
+                        "ORDER BY r.componentId, r.revision")
+                .bind(projectId).to("projectId")
+                .bind(at).to("at")
+                .fetchAs(ComponentRevision.class)
+                .mappedBy((typeSystem, record) -> toRevision(record))
+                .all());
+    }
+
+    /**
+     * Current state of project components created before {@code at} that have no history yet,
+     * i.e. were written before history was recorded.
+     */
+    public List<ComponentRevision> findUntrackedComponents(String projectId, LocalDateTime at) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component {projectId: $projectId}) " +
+                        "WHERE c.revision IS NULL AND c.createdAt <= $at " +
+                        "RETURN c.componentId AS componentId, 0 AS revision, 'UNTRACKED' AS kind, " +
+                        "c.createdAt AS at, true AS checkpoint, " +
+                        "c {.name, .type, .version, .status, .metadata} AS properties, null AS changed")
+                .bind(projectId).to("projectId")
+                .bind(at).to("at")
+                .fetchAs(ComponentRevision.class)
+                .mappedBy((typeSystem, record) -> toRevision(record))
+                .all());
+    }
+
+    /**
+     * Intra-project DEPENDS_ON edges that existed at {@code at}, as source -> targets. Edges without
+     * a creation time are assumed to have always existed.
+     */
+    public Map<String, List<String>> findProjectEdgesAt(String projectId, LocalDateTime at) {
+        Collection<Map<String, Object>> rows = neo4jClient.query(
+                        "MATCH (s:Component {projectId: $projectId})-[d:DEPENDS_ON]->(t:Component {projectId: $projectId}) " +
+                        "WHERE d.createdAt IS NULL OR d.createdAt <= $at " +
+                        "RETURN s.componentId AS source, collect(t.componentId) AS targets")
+                .bind(projectId).to("projectId")
+                .bind(at).to("at")
+                .fetch()
+                .all();
+
+        Map<String, List<String>> edges = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            List<String> targets = new ArrayList<>();
+            if (row.get("targets") instanceof Collection<?> collection) {
+                collection.forEach(id -> targets.add(String.valueOf(id)));
+            }
+            edges.put((String) row.get("source"), targets);
+        }
+        return edges;
+    }
+
+    static ComponentRevision toRevision(Record record) {
+        Map<String, Object> stored = record.get("properties").asMap();
+        List<Object> changed = record.get("changed").isNull() ? null : record.get("changed").asList();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String property : TRACKED_PROPERTIES) {
+            // A delta stores nulls as absent properties, the changed list tells them apart
+            if (stored.get(property) != null || (changed != null && changed.contains(property))) {
+                properties.put(property, stored.get(property));
+            }
+        }
+        return ComponentRevision.builder()
+                .componentId(record.get("componentId").asString())
+                .revision(record.get("revision").asInt())
+                .kind(record.get("kind").asString(null))
+                .at(record.get("at").isNull() ? null : record.get("at").asLocalDateTime())
+                .checkpoint(record.get("checkpoint").asBoolean(false))
+                .properties(properties)
+                .build();
+    }
+}
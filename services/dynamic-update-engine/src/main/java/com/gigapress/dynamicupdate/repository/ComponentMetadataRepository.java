@@ -0,0 +1,91 @@
+package com.gigapress.dynamicupdate.repository;
+
+import com.gigapress.dynamicupdate.metadata.MetadataProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Writes the {@code meta.*} properties derived from component metadata JSON and manages their
+ * indexes. {@code metadataIndexedAt} marks components whose properties are in sync.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComponentMetadataRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Names of the {@code meta.*} properties currently set on each component.
+     */
+    public Map<String, Set<String>> findMetadataPropertyNames(Collection<String> componentIds) {
+        Collection<Map<String, Object>> rows = neo4jClient.query(
+                        "UNWIND $componentIds AS componentId " +
+                        "MATCH (c:Component {componentId: componentId}) " +
+                        "RETURN c.componentId AS componentId, " +
+                        "[k IN keys(c) WHERE k STARTS WITH $prefix] AS names")
+                .bind(new ArrayList<>(componentIds)).to("componentIds")
+                .bind(MetadataProperties.PREFIX).to("prefix")
+                .fetch()
+                .all();
+
+        Map<String, Set<String>> names = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            Set<String> existing = new HashSet<>();
+            if (row.get("names") instanceof Collection<?> collection) {
+                collection.forEach(name -> existing.add(String.valueOf(name)));
+            }
+            names.put((String) row.get("componentId"), existing);
+        }
+        return names;
+    }
+
+    /**
+     * Applies metadata properties in one statement. Each row carries componentId and a properties
+     * map in which null values remove stale properties.
+     */
+    public int writeMetadataProperties(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return neo4jClient.query(
+                        "UNWIND $rows AS row " +
+                        "MATCH (c:Component {componentId: row.componentId}) " +
+                        "SET c += row.properties, c.metadataIndexedAt = localdatetime() " +
+                        "RETURN count(c) AS written")
+                .bind(rows).to("rows")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L)
+                .intValue();
+    }
+
+    /**
+     * Components written before metadata was projected, ordered by componentId after {@code afterComponentId}.
+     * Rows carry componentId and metadata.
+     */
+    public List<Map<String, Object>> findUnindexed(String afterComponentId, int limit) {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH (c:Component) " +
+                        "WHERE c.componentId > $after AND c.metadataIndexedAt IS NULL " +
+                        "RETURN c.componentId AS componentId, c.metadata AS metadata " +
+                        "ORDER BY c.componentId " +
+                        "LIMIT $limit")
+                .bind(afterComponentId).to("after")
+                .bind(limit).to("limit")
+                .fetch()
+                .all());
+    }
+
+    /**
+     * Creates a {@code (projectId, meta.<key>)} index, matching the shape of metadata queries.
+     */
+    public void createIndex(String key) {
+        String name = "component_meta_" + key.replaceAll("[^A-Za-z0-9]", "_").toLowerCase(Locale.ROOT);
+        neo4jClient.query("CREATE INDEX " + name + " IF NOT EXISTS " +
+                        "FOR (c:Component) ON (c.projectId, c." + MetadataProperties.propertyName(key) + ")")
+                .run();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -18,9 +19,12 @@ public interface ComponentRepository extends Neo4jRepository<Component, Long> {
     
     List<Component> findByProjectId(String projectId);
     
+    List<Component> findByComponentIdIn(Collection<String> componentIds);
+    
     List<Component> findByType(ComponentType type);
     
-    @Query("MATCH (c:Component {componentId: $componentId})-[d:DEPENDS_ON]->(dep:Component) " +
+    @Query("MATCH (c:Component {componentId: $componentId}) " +
+           "OPTIONAL MATCH (c)-[d:DEPENDS_ON]->(dep:Component) " +
            "RETURN c, collect(d), collect(dep)")
     Optional<Component> findByComponentIdWithDependencies(@Param("componentId") String componentId);
     
@@ -0,0 +1,261 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.cache.CacheInvalidationService;
+import com.gigapress.dynamicupdate.domain.ComponentStatus;
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.dto.BulkDependencyRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestResponse;
+import com.gigapress.dynamicupdate.dto.ComponentRequest;
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.exception.CircularDependencyException;
+import com.gigapress.dynamicupdate.exception.ComponentNotFoundException;
+import com.gigapress.dynamicupdate.exception.DependencyConflictException;
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.graph.ProjectDependencyGraph;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Loads many components and dependencies of one project at once.
+ * <p>
+ * Writes are issued as chunked UNWIND statements inside a single transaction, cycles are checked
+ * once over the existing graph plus the whole batch, and a single summarized
+ * {@link ComponentUpdateEvent.UpdateType#BULK_IMPORT} event is published.
+ */
+@Slf4j
+@Service
+public class BulkIngestService {
+    
+    private final ComponentGraphRepository componentGraphRepository;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ComponentEventPublisher componentEventPublisher;
+    private final ComponentHistoryService componentHistoryService;
+    private final ComponentMetadataService componentMetadataService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final int chunkSize;
+    
+    public BulkIngestService(ComponentGraphRepository componentGraphRepository,
+                             DependencyGraphIndex dependencyGraphIndex,
+                             CacheInvalidationService cacheInvalidationService,
+                             ComponentEventPublisher componentEventPublisher,
+                             ComponentHistoryService componentHistoryService,
+                             ComponentMetadataService componentMetadataService,
+                             ApplicationEventPublisher applicationEventPublisher,
+                             @Value("${dynamic-update.bulk-ingest.chunk-size:1000}") int chunkSize) {
+        this.componentGraphRepository = componentGraphRepository;
+        this.dependencyGraphIndex = dependencyGraphIndex;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.componentEventPublisher = componentEventPublisher;
+        this.componentHistoryService = componentHistoryService;
+        this.componentMetadataService = componentMetadataService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Transactional
+    public BulkIngestResponse ingest(BulkIngestRequest request) {
+        long start = System.currentTimeMillis();
+        String projectId = request.getProjectId();
+        
+        Map<String, List<String>> adjacency = loadAdjacency(projectId);
+        List<String> newComponentIds = new ArrayList<>();
+        for (ComponentRequest component : request.getComponents()) {
+            if (component.getProjectId() != null && !component.getProjectId().equals(projectId)) {
+                throw new IllegalArgumentException("Component " + component.getComponentId()
+                        + " belongs to project " + component.getProjectId() + ", not " + projectId);
+            }
+            if (adjacency.putIfAbsent(component.getComponentId(), new ArrayList<>()) == null) {
+                newComponentIds.add(component.getComponentId());
+            }
+        }
+        verifyOwnership(projectId, newComponentIds);
+        for (BulkDependencyRequest dependency : request.getDependencies()) {
+            String sourceId = dependency.getSourceComponentId();
+            String targetId = dependency.getTargetComponentId();
+            if (!adjacency.containsKey(sourceId)) {
+                throw new ComponentNotFoundException("Source component not found: " + sourceId);
+            }
+            if (!adjacency.containsKey(targetId)) {
+                throw new ComponentNotFoundException("Target component not found: " + targetId);
+            }
+            if (sourceId.equals(targetId)) {
+                throw new CircularDependencyException(sourceId, targetId);
+            }
+            adjacency.get(sourceId).add(targetId);
+        }
+        verifyAcyclic(adjacency);
+        
+        int componentsWritten = 0;
+        for (List<Map<String, Object>> chunk : chunks(componentRows(projectId, request.getComponents()))) {
+            componentsWritten += componentGraphRepository.upsertComponents(chunk);
+            componentHistoryService.recordBulkImport(chunk.stream()
+                    .map(row -> (String) row.get("componentId"))
+                    .toList());
+            Map<String, String> metadataById = new HashMap<>(chunk.size() * 2);
+            chunk.forEach(row -> metadataById.put((String) row.get("componentId"), (String) row.get("metadata")));
+            componentMetadataService.index(metadataById);
+        }
+        int dependenciesWritten = 0;
+        for (List<Map<String, Object>> chunk : chunks(dependencyRows(request.getDependencies()))) {
+            dependenciesWritten += componentGraphRepository.mergeDependencies(chunk);
+        }
+        
+        Set<String> touched = new HashSet<>();
+        request.getComponents().forEach(component -> touched.add(component.getComponentId()));
+        request.getDependencies().forEach(dependency -> {
+            touched.add(dependency.getSourceComponentId());
+            touched.add(dependency.getTargetComponentId());
+        });
+        cacheInvalidationService.componentsChanged(touched);
+        publishSummary(projectId, componentsWritten, dependenciesWritten);
+        
+        long duration = System.currentTimeMillis() - start;
+        log.info("Bulk ingested {} components and {} dependencies into project {} in {} ms",
+                componentsWritten, dependenciesWritten, projectId, duration);
+        
+        return BulkIngestResponse.builder()
+                .projectId(projectId)
+                .componentsWritten(componentsWritten)
+                .dependenciesWritten(dependenciesWritten)
+                .durationMs(duration)
+                .build();
+    }
+    
+    private Map<String, List<String>> loadAdjacency(String projectId) {
+        Map<String, List<String>> adjacency = new HashMap<>();
+        Optional<ProjectDependencyGraph> graph = dependencyGraphIndex.graphForProject(projectId);
+        if (graph.isPresent()) {
+            graph.get().componentIds().forEach(id ->
+                    adjacency.put(id, new ArrayList<>(graph.get().directDependencies(id))));
+        } else {
+            componentGraphRepository.findProjectAdjacency(projectId).forEach((id, dependencies) ->
+                    adjacency.put(id, new ArrayList<>(dependencies)));
+        }
+        return adjacency;
+    }
+    
+    /**
+     * Rejects the batch if any component it would create already exists in another project, so a
+     * bulk import can never take over nodes it does not own.
+     */
+    private void verifyOwnership(String projectId, List<String> componentIds) {
+        if (componentIds.isEmpty()) {
+            return;
+        }
+        List<String> foreign = componentGraphRepository.findComponentsOwnedElsewhere(projectId, componentIds);
+        if (!foreign.isEmpty()) {
+            throw new DependencyConflictException("Components already belong to another project: " + foreign,
+                    new LinkedHashSet<>(foreign));
+        }
+    }
+    
+    /**
+     * Kahn's algorithm over the combined graph; anything left unsorted sits on or behind a cycle.
+     */
+    static void verifyAcyclic(Map<String, List<String>> adjacency) {
+        Map<String, Integer> inDegree = new HashMap<>(adjacency.size() * 2);
+        adjacency.keySet().forEach(id -> inDegree.put(id, 0));
+        adjacency.values().forEach(targets -> targets.forEach(target -> inDegree.merge(target, 1, Integer::sum)));
+        
+        Deque<String> ready = new ArrayDeque<>();
+        inDegree.forEach((id, degree) -> {
+            if (degree == 0) {
+                ready.add(id);
+            }
+        });
+        
+        int sorted = 0;
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            sorted++;
+            for (String target : adjacency.getOrDefault(id, List.of())) {
+                if (inDegree.merge(target, -1, Integer::sum) == 0) {
+                    ready.add(target);
+                }
+            }
+        }
+        
+        if (sorted < inDegree.size()) {
+            // Report an edge between two components that could not be ordered
+            for (Map.Entry<String, List<String>> entry : adjacency.entrySet()) {
+                if (inDegree.get(entry.getKey()) > 0) {
+                    for (String target : entry.getValue()) {
+                        if (inDegree.get(target) > 0) {
+                            throw new CircularDependencyException(entry.getKey(), target);
+                        }
+                    }
+                }
+            }
+            throw new CircularDependencyException("unknown", "unknown");
+        }
+    }
+    
+    private List<Map<String, Object>> componentRows(String projectId, List<ComponentRequest> components) {
+        List<Map<String, Object>> rows = new ArrayList<>(components.size());
+        for (ComponentRequest component : components) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("componentId", component.getComponentId());
+            row.put("name", component.getName());
+            row.put("type", component.getType().name());
+            row.put("version", component.getVersion());
+            row.put("projectId", projectId);
+            row.put("status", ComponentStatus.ACTIVE.name());
+            row.put("metadata", component.getMetadata());
+            rows.add(row);
+        }
+        return rows;
+    }
+    
+    private List<Map<String, Object>> dependencyRows(List<BulkDependencyRequest> dependencies) {
+        List<Map<String, Object>> rows = new ArrayList<>(dependencies.size());
+        for (BulkDependencyRequest dependency : dependencies) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("source", dependency.getSourceComponentId());
+            row.put("target", dependency.getTargetComponentId());
+            row.put("type", dependency.getType().name());
+            row.put("strength", (dependency.getStrength() != null
+                    ? dependency.getStrength() : DependencyStrength.STRONG).name());
+            row.put("metadata", dependency.getMetadata());
+            rows.add(row);
+        }
+        return rows;
+    }
+    
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Publishes counts only; consumers reload the project graph on a bulk import, and a full id
+     * list would push large batches past the broker's message size limit.
+     */
+    private void publishSummary(String projectId, int componentsWritten, int dependenciesWritten) {
+        ComponentUpdateEvent event = ComponentUpdateEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .projectId(projectId)
+                .updateType(ComponentUpdateEvent.UpdateType.BULK_IMPORT)
+                .changes(Map.of(
+                        "componentsWritten", componentsWritten,
+                        "dependenciesWritten", dependenciesWritten))
+                .timestamp(LocalDateTime.now())
+                .build();
+        
+        componentEventPublisher.publishComponentUpdate(event);
+        dependencyGraphIndex.apply(event);
+        applicationEventPublisher.publishEvent(event);
+    }
+}
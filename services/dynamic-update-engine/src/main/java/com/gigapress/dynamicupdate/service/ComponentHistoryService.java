@@ -0,0 +1,181 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.domain.Component;
+import com.gigapress.dynamicupdate.dto.ComponentDiff;
+import com.gigapress.dynamicupdate.dto.ComponentRevision;
+import com.gigapress.dynamicupdate.exception.ComponentNotFoundException;
+import com.gigapress.dynamicupdate.graph.GraphSnapshot;
+import com.gigapress.dynamicupdate.graph.GraphSnapshotCodec;
+import com.gigapress.dynamicupdate.repository.ComponentHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Records an append-only revision per component write and answers point-in-time questions by
+ * replaying revisions from the nearest full checkpoint. Edges are placed in time by their
+ * {@code createdAt}; they are never removed through the API, so that is all their history.
+ */
+@Slf4j
+@Service
+public class ComponentHistoryService {
+    
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String BULK_IMPORT = "BULK_IMPORT";
+    
+    private final ComponentHistoryRepository componentHistoryRepository;
+    private final int checkpointInterval;
+    
+    public ComponentHistoryService(ComponentHistoryRepository componentHistoryRepository,
+                                   @Value("${dynamic-update.history.checkpoint-interval:20}") int checkpointInterval) {
+        this.componentHistoryRepository = componentHistoryRepository;
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+    }
+    
+    public void recordCreation(Component component) {
+        componentHistoryRepository.appendRevision(component.getComponentId(), CREATE,
+                trackedState(component), checkpointInterval);
+    }
+    
+    /**
+     * Appends a revision holding only {@code changes}, the tracked properties whose value changed.
+     */
+    public void recordUpdate(String componentId, Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        int revision = componentHistoryRepository.appendRevision(componentId, UPDATE, changes, checkpointInterval);
+        log.debug("Recorded revision {} of component {}: {}", revision, componentId, changes.keySet());
+    }
+    
+    public void recordBulkImport(Collection<String> componentIds) {
+        componentHistoryRepository.appendCheckpoints(componentIds, BULK_IMPORT);
+    }
+    
+    public List<ComponentRevision> getHistory(String componentId) {
+        return componentHistoryRepository.findRevisions(componentId);
+    }
+    
+    /**
+     * Full tracked state of a component as of {@code revision}.
+     */
+    public Optional<ComponentRevision> getStateAt(String componentId, int revision) {
+        if (revision < 1) {
+            return Optional.empty();
+        }
+        return replay(componentHistoryRepository.findReplay(componentId, revision));
+    }
+    
+    /**
+     * Full tracked state of a component as of {@code at}, empty if it had no revision by then.
+     */
+    public Optional<ComponentRevision> getStateAt(String componentId, LocalDateTime at) {
+        return componentHistoryRepository.findRevisionAt(componentId, at)
+                .flatMap(revision -> getStateAt(componentId, revision));
+    }
+    
+    public ComponentDiff diff(String componentId, int fromRevision, int toRevision) {
+        ComponentRevision from = getStateAt(componentId, fromRevision)
+                .orElseThrow(() -> new ComponentNotFoundException(
+                        "Revision " + fromRevision + " of component " + componentId + " not found"));
+        ComponentRevision to = getStateAt(componentId, toRevision)
+                .orElseThrow(() -> new ComponentNotFoundException(
+                        "Revision " + toRevision + " of component " + componentId + " not found"));
+        return diff(from, to);
+    }
+    
+    /**
+     * The project's components and intra-project edges as they were at {@code at}. Components
+     * written before history was recorded appear with their current state from their creation on.
+     */
+    public GraphSnapshot getProjectGraphAt(String projectId, LocalDateTime at) {
+        List<ComponentRevision> revisions = componentHistoryRepository.findProjectReplay(projectId, at);
+        List<ComponentRevision> states = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= revisions.size(); i++) {
+            if (i == revisions.size()
+                    || !revisions.get(i).getComponentId().equals(revisions.get(from).getComponentId())) {
+                replay(revisions.subList(from, i)).ifPresent(states::add);
+                from = i;
+            }
+        }
+        states.addAll(componentHistoryRepository.findUntrackedComponents(projectId, at));
+        states.sort(Comparator.comparing(ComponentRevision::getComponentId));
+        
+        // Edges to components that did not exist yet are dropped by the codec
+        Map<String, List<String>> edges = componentHistoryRepository.findProjectEdgesAt(projectId, at);
+        
+        List<String> ids = new ArrayList<>(states.size());
+        List<String> names = new ArrayList<>(states.size());
+        List<String> types = new ArrayList<>(states.size());
+        List<String> versions = new ArrayList<>(states.size());
+        List<String> statuses = new ArrayList<>(states.size());
+        List<List<String>> dependencies = new ArrayList<>(states.size());
+        for (ComponentRevision state : states) {
+            Map<String, Object> properties = state.getProperties();
+            ids.add(state.getComponentId());
+            names.add(string(properties.get("name")));
+            types.add(string(properties.get("type")));
+            versions.add(string(properties.get("version")));
+            statuses.add(string(properties.get("status")));
+            dependencies.add(edges.getOrDefault(state.getComponentId(), List.of()));
+        }
+        return GraphSnapshotCodec.snapshot(projectId, ids, names, types, versions, statuses, dependencies);
+    }
+    
+    /**
+     * Folds revisions, starting at a checkpoint and ordered by revision, into one full state.
+     */
+    static Optional<ComponentRevision> replay(List<ComponentRevision> revisions) {
+        if (revisions.isEmpty() || !revisions.get(0).isCheckpoint()) {
+            return Optional.empty();
+        }
+        Map<String, Object> state = new LinkedHashMap<>();
+        for (ComponentRevision revision : revisions) {
+            if (revision.isCheckpoint()) {
+                state.clear();
+            }
+            state.putAll(revision.getProperties());
+        }
+        ComponentRevision last = revisions.get(revisions.size() - 1);
+        return Optional.of(last.toBuilder()
+                .checkpoint(true)
+                .properties(state)
+                .build());
+    }
+    
+    static ComponentDiff diff(ComponentRevision from, ComponentRevision to) {
+        Map<String, ComponentDiff.FieldChange> changes = new LinkedHashMap<>();
+        for (String property : ComponentHistoryRepository.TRACKED_PROPERTIES) {
+            Object before = from.getProperties().get(property);
+            Object after = to.getProperties().get(property);
+            if (!Objects.equals(before, after)) {
+                changes.put(property, new ComponentDiff.FieldChange(before, after));
+            }
+        }
+        return ComponentDiff.builder()
+                .componentId(to.getComponentId())
+                .fromRevision(from.getRevision())
+                .toRevision(to.getRevision())
+                .changes(changes)
+                .build();
+    }
+    
+    private static Map<String, Object> trackedState(Component component) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("name", component.getName());
+        state.put("type", component.getType() != null ? component.getType().name() : null);
+        state.put("version", component.getVersion());
+        state.put("status", component.getStatus() != null ? component.getStatus().name() : null);
+        state.put("metadata", component.getMetadata());
+        return state;
+    }
+    
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
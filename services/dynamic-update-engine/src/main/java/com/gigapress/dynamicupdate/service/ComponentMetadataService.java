@@ -0,0 +1,108 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gigapress.dynamicupdate.metadata.MetadataProperties;
+import com.gigapress.dynamicupdate.repository.ComponentMetadataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Keeps the {@code meta.*} node properties in step with each component's metadata JSON, which
+ * remains the source of truth. At startup it creates indexes for the configured common keys and
+ * projects metadata of components written before this existed.
+ */
+@Slf4j
+@Service
+public class ComponentMetadataService {
+    
+    private final ComponentMetadataRepository componentMetadataRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean bootstrapEnabled;
+    private final List<String> indexedKeys;
+    private final int batchSize;
+    
+    public ComponentMetadataService(ComponentMetadataRepository componentMetadataRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${dynamic-update.metadata.bootstrap.enabled:true}") boolean bootstrapEnabled,
+                                    @Value("${dynamic-update.metadata.indexed-keys:framework,tier,language,team}") List<String> indexedKeys,
+                                    @Value("${dynamic-update.metadata.batch-size:1000}") int batchSize) {
+        this.componentMetadataRepository = componentMetadataRepository;
+        this.objectMapper = objectMapper;
+        this.bootstrapEnabled = bootstrapEnabled;
+        this.indexedKeys = indexedKeys;
+        this.batchSize = batchSize;
+    }
+    
+    public void index(String componentId, String metadata) {
+        index(Collections.singletonMap(componentId, metadata));
+    }
+    
+    /**
+     * Projects the metadata of several components, removing properties of keys that are gone.
+     */
+    public void index(Map<String, String> metadataByComponentId) {
+        if (metadataByComponentId.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> existing =
+                componentMetadataRepository.findMetadataPropertyNames(metadataByComponentId.keySet());
+        List<Map<String, Object>> rows = new ArrayList<>(metadataByComponentId.size());
+        metadataByComponentId.forEach((componentId, metadata) -> {
+            Map<String, Object> properties = MetadataProperties.flatten(metadata, objectMapper);
+            for (String stale : existing.getOrDefault(componentId, Set.of())) {
+                properties.putIfAbsent(stale, null);
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("componentId", componentId);
+            row.put("properties", properties);
+            rows.add(row);
+        });
+        componentMetadataRepository.writeMetadataProperties(rows);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!bootstrapEnabled) {
+            return;
+        }
+        try {
+            for (String key : indexedKeys) {
+                if (MetadataProperties.isValidKey(key.trim())) {
+                    componentMetadataRepository.createIndex(key.trim());
+                } else {
+                    log.warn("Skipping index for invalid metadata key '{}'", key);
+                }
+            }
+            int indexed = backfill();
+            if (indexed > 0) {
+                log.info("Projected metadata of {} existing components", indexed);
+            }
+        } catch (Exception e) {
+            // Metadata queries still answer for components written since, only older ones are missing
+            log.error("Failed to bootstrap component metadata properties", e);
+        }
+    }
+    
+    int backfill() {
+        int indexed = 0;
+        String after = "";
+        List<Map<String, Object>> batch;
+        do {
+            batch = componentMetadataRepository.findUnindexed(after, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<String, String> metadataById = new LinkedHashMap<>(batch.size() * 2);
+            batch.forEach(row -> metadataById.put((String) row.get("componentId"), (String) row.get("metadata")));
+            index(metadataById);
+            indexed += batch.size();
+            after = (String) batch.get(batch.size() - 1).get("componentId");
+        } while (batch.size() == batchSize);
+        return indexed;
+    }
+}
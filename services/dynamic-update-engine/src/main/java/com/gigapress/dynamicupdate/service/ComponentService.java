@@ -1,22 +1,33 @@
 package com.gigapress.dynamicupdate.service;
+import com.gigapress.dynamicupdate.cache.CacheInvalidationService;
 import com.gigapress.dynamicupdate.exception.ComponentNotFoundException;
 import com.gigapress.dynamicupdate.exception.CircularDependencyException;
 
 import com.gigapress.dynamicupdate.domain.*;
+import com.gigapress.dynamicupdate.dto.ComponentPage;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
 import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
 import com.gigapress.dynamicupdate.event.DependencyChangeEvent;
-import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import com.gigapress.dynamicupdate.event.PropagationRequest;
+import com.gigapress.dynamicupdate.graph.DependencyCheck;
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.graph.ProjectDependencyGraph;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
 import com.gigapress.dynamicupdate.repository.ComponentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,11 +36,16 @@ import java.util.stream.Collectors;
 public class ComponentService {
     
     private final ComponentRepository componentRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ComponentGraphRepository componentGraphRepository;
+    private final ComponentEventPublisher componentEventPublisher;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ComponentHistoryService componentHistoryService;
+    private final ComponentMetadataService componentMetadataService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     
-    private static final String COMPONENT_UPDATE_TOPIC = "component.changes";
-    private static final String DEPENDENCY_CHANGE_TOPIC = "dependency.events";
-    private static final String UPDATE_PROPAGATION_TOPIC = "update.propagation";
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_PAGE_SIZE = 500;
     
     @Transactional
     public Component createComponent(Component component) {
@@ -38,6 +54,9 @@ public class ComponentService {
         component.setStatus(ComponentStatus.ACTIVE);
         
         Component saved = componentRepository.save(component);
+        componentHistoryService.recordCreation(saved);
+        componentMetadataService.index(saved.getComponentId(), saved.getMetadata());
+        cacheInvalidationService.componentChanged(saved.getProjectId(), saved.getComponentId());
         
         // Publish component creation event
         publishComponentUpdate(saved, ComponentUpdateEvent.UpdateType.CREATE, null);
@@ -46,70 +65,214 @@ public class ComponentService {
         return saved;
     }
     
+    /**
+     * Scalar view of a component, read without its relationships. This is the default read path.
+     */
     @Cacheable(value = "components", key = "#componentId")
+    public Optional<ComponentSummary> findSummary(String componentId) {
+        return componentGraphRepository.findSummary(componentId);
+    }
+    
+    public List<ComponentSummary> findProjectSummaries(String projectId) {
+        return componentGraphRepository.findProjectSummaries(projectId);
+    }
+    
+    /**
+     * Fully hydrated component with its outgoing dependencies. Prefer {@link #findSummary(String)}.
+     */
     public Optional<Component> findByComponentId(String componentId) {
         return componentRepository.findByComponentIdWithDependencies(componentId);
     }
     
+    /**
+     * Fully hydrated project components. Prefer {@link #findProjectSummaries(String)}.
+     */
     public List<Component> findByProjectId(String projectId) {
-        return componentRepository.findByProjectId(projectId);
+        return componentRepository.findProjectComponentsWithDependencies(projectId);
+    }
+    
+    /**
+     * Returns one page of a project's components ordered by componentId. The cursor is the opaque
+     * {@code nextCursor} of the previous page, or null for the first one.
+     */
+    public ComponentPage findProjectComponentPage(String projectId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ComponentSummary> items = componentGraphRepository.findProjectComponentSummaries(
+                projectId, decodeCursor(cursor), pageSize + 1);
+        
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = encodeCursor(items.get(pageSize - 1).getComponentId());
+        }
+        return ComponentPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Returns one page of a project's components whose metadata matches every entry of
+     * {@code where}, filtered in Cypher over the indexed {@code meta.*} properties.
+     */
+    public ComponentPage findProjectComponentsByMetadata(String projectId, Map<String, Object> where,
+                                                         String cursor, int limit) {
+        if (where == null || where.isEmpty()) {
+            throw new IllegalArgumentException("At least one metadata filter is required");
+        }
+        where.forEach((key, value) -> {
+            if (value == null || value instanceof Map) {
+                throw new IllegalArgumentException("Metadata filter '" + key + "' must be a scalar or a list");
+            }
+        });
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ComponentSummary> items = componentGraphRepository.findProjectSummariesByMetadata(
+                projectId, where, decodeCursor(cursor), pageSize + 1);
+        
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = encodeCursor(items.get(pageSize - 1).getComponentId());
+        }
+        return ComponentPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Hands every component of a project to {@code consumer}, reading one page at a time so memory
+     * stays bounded by the page size whatever the project size.
+     */
+    public void streamProjectComponents(String projectId, Consumer<List<ComponentSummary>> consumer) {
+        String after = null;
+        List<ComponentSummary> page;
+        do {
+            page = componentGraphRepository.findProjectComponentSummaries(projectId, after, STREAM_PAGE_SIZE);
+            if (!page.isEmpty()) {
+                consumer.accept(page);
+                after = page.get(page.size() - 1).getComponentId();
+            }
+        } while (page.size() == STREAM_PAGE_SIZE);
+    }
+    
+    private static String encodeCursor(String componentId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(componentId.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
     
     @Transactional
-    @CacheEvict(value = "components", allEntries = true)
     public Component updateComponent(String componentId, Map<String, Object> updates) {
         Component component = componentRepository.findByComponentId(componentId)
                 .orElseThrow(() -> new ComponentNotFoundException(componentId));
         
         String previousVersion = component.getVersion();
+        Map<String, Object> changes = new LinkedHashMap<>();
         
-        // Apply updates
+        // Apply updates, remembering which tracked properties actually changed
         if (updates.containsKey("version")) {
-            component.setVersion((String) updates.get("version"));
+            String version = (String) updates.get("version");
+            if (!Objects.equals(version, component.getVersion())) {
+                changes.put("version", version);
+            }
+            component.setVersion(version);
         }
         if (updates.containsKey("status")) {
-            component.setStatus(ComponentStatus.valueOf((String) updates.get("status")));
+            ComponentStatus status = ComponentStatus.valueOf((String) updates.get("status"));
+            if (status != component.getStatus()) {
+                changes.put("status", status.name());
+            }
+            component.setStatus(status);
         }
         if (updates.containsKey("metadata")) {
-            component.setMetadata((String) updates.get("metadata"));
+            String metadata = (String) updates.get("metadata");
+            if (!Objects.equals(metadata, component.getMetadata())) {
+                changes.put("metadata", metadata);
+            }
+            component.setMetadata(metadata);
         }
         
         component.setUpdatedAt(LocalDateTime.now());
         Component saved = componentRepository.save(component);
+        componentHistoryService.recordUpdate(componentId, changes);
+        if (changes.containsKey("metadata")) {
+            componentMetadataService.index(componentId, saved.getMetadata());
+        }
+        cacheInvalidationService.componentChanged(saved.getProjectId(), componentId);
         
         // Publish update event
         publishComponentUpdate(saved, ComponentUpdateEvent.UpdateType.UPDATE, previousVersion);
         
         // Check if update requires propagation
         if (shouldPropagateUpdate(updates)) {
-            propagateUpdate(saved, updates);
+            propagateUpdate(saved, previousVersion, updates);
         }
         
         return saved;
     }
     
     @Transactional
-    @CacheEvict(value = "components", allEntries = true)
     public void addDependency(String sourceId, String targetId, DependencyType type) {
         Component source = componentRepository.findByComponentId(sourceId)
                 .orElseThrow(() -> new ComponentNotFoundException("Source component not found: " + sourceId));
         Component target = componentRepository.findByComponentId(targetId)
                 .orElseThrow(() -> new ComponentNotFoundException("Target component not found: " + targetId));
         
-        // Check for circular dependency
-        if (target.hasCircularDependency(source)) {
+        if (createsCycle(source.getProjectId(), sourceId, targetId)) {
             throw new CircularDependencyException(sourceId, targetId);
         }
         
         source.addDependency(target, type);
         componentRepository.save(source);
+        cacheInvalidationService.dependencyChanged(sourceId, targetId);
         
         // Publish dependency change event
-        publishDependencyChange(sourceId, targetId, type, DependencyChangeEvent.ChangeType.ADDED);
+        publishDependencyChange(source.getProjectId(), sourceId, targetId, type, DependencyChangeEvent.ChangeType.ADDED);
         
         log.info("Added dependency: {} -> {}", sourceId, targetId);
     }
     
+    /**
+     * Checks the new edge against the project's incrementally maintained topological order, falling
+     * back to a Neo4j reachability query when the index cannot decide (cross-project edge, cold index).
+     */
+    private boolean createsCycle(String projectId, String sourceId, String targetId) {
+        if (sourceId.equals(targetId)) {
+            return true;
+        }
+        DependencyCheck check = dependencyGraphIndex.tryAddDependency(projectId, sourceId, targetId);
+        if (check == DependencyCheck.ADDED) {
+            invalidateIndexOnRollback(projectId);
+            return false;
+        }
+        return check == DependencyCheck.CYCLE || componentGraphRepository.dependsOn(targetId, sourceId);
+    }
+    
+    private void invalidateIndexOnRollback(String projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // The order already holds the edge; drop it if the write never reaches Neo4j
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    dependencyGraphIndex.invalidate(projectId);
+                }
+            }
+        });
+    }
+    
     @Cacheable(value = "dependencies", key = "#componentId")
     public Set<Component> getDirectDependencies(String componentId) {
         return componentRepository.findByComponentIdWithDependencies(componentId)
@@ -125,48 +288,93 @@ public class ComponentService {
     }
     
     public Set<Component> getAllAffectedComponents(String componentId) {
-        Set<Component> affected = new HashSet<>();
-        Set<String> visited = new HashSet<>();
-        
-        collectAffectedComponents(componentId, affected, visited);
-        
-        return affected;
+        Set<String> affectedIds = getAffectedComponentDistances(componentId).keySet();
+        return affectedIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(componentRepository.findByComponentIdIn(affectedIds));
     }
     
-    private void collectAffectedComponents(String componentId, Set<Component> affected, Set<String> visited) {
-        if (visited.contains(componentId)) {
-            return;
+    /**
+     * Returns every transitive dependent of a component mapped to its shortest distance (1 = direct
+     * dependent), nearest first. Served from the in-memory index, or a single Neo4j query when the
+     * index is cold and cannot be loaded.
+     */
+    public Map<String, Integer> getAffectedComponentDistances(String componentId) {
+        return dependencyGraphIndex.graphForComponent(componentId)
+                .map(graph -> graph.transitiveDependents(componentId))
+                .orElseGet(() -> queryTransitiveDependents(null, List.of(componentId)));
+    }
+    
+    /**
+     * Merged affected set of several components of one project: every transitive dependent of any of
+     * them, mapped to its shortest distance from the nearest one.
+     */
+    public Map<String, Integer> getAffectedComponentDistances(String projectId, Collection<String> componentIds) {
+        Optional<ProjectDependencyGraph> graph = projectId != null
+                ? dependencyGraphIndex.graphForProject(projectId)
+                : Optional.empty();
+        if (graph.isPresent()) {
+            return graph.get().transitiveDependents(componentIds);
         }
-        
-        visited.add(componentId);
-        Set<Component> dependents = componentRepository.findDependents(componentId);
-        
-        for (Component dependent : dependents) {
-            affected.add(dependent);
-            collectAffectedComponents(dependent.getComponentId(), affected, visited);
+        return queryTransitiveDependents(projectId, componentIds);
+    }
+    
+    /**
+     * Single-query Neo4j expansion used when the in-memory index is unavailable. Without a project
+     * id the triggers' project is looked up first; traversal never leaves that project.
+     */
+    private Map<String, Integer> queryTransitiveDependents(String projectId, Collection<String> componentIds) {
+        if (componentIds.isEmpty()) {
+            return new LinkedHashMap<>();
         }
+        String scope = projectId != null
+                ? projectId
+                : componentGraphRepository.findProjectId(componentIds.iterator().next()).orElse(null);
+        return scope != null
+                ? componentGraphRepository.findTransitiveDependents(scope, componentIds)
+                : new LinkedHashMap<>();
     }
     
-    private void propagateUpdate(Component component, Map<String, Object> updates) {
-        Set<Component> affected = getAllAffectedComponents(component.getComponentId());
-        
-        if (!affected.isEmpty()) {
-            UpdatePropagationEvent event = UpdatePropagationEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .triggerComponentId(component.getComponentId())
-                    .projectId(component.getProjectId())
-                    .affectedComponentIds(affected.stream()
-                            .map(Component::getComponentId)
-                            .collect(Collectors.toList()))
-                    .propagationType(UpdatePropagationEvent.PropagationType.CASCADE)
-                    .updateDetails(updates)
-                    .timestamp(LocalDateTime.now())
-                    .propagationDepth(calculatePropagationDepth(component.getComponentId(), affected))
-                    .build();
-            
-            kafkaTemplate.send(UPDATE_PROPAGATION_TOPIC, event);
-            log.info("Propagating update from {} to {} components", component.getComponentId(), affected.size());
+    /**
+     * Affected set of several components grouped into topological layers, see
+     * {@link ProjectDependencyGraph#dependentLayers(Collection)}. Without an index the layers fall back
+     * to shortest distance, which still puts every direct dependent before indirect ones.
+     */
+    public List<List<String>> getAffectedComponentLayers(String projectId, Collection<String> componentIds) {
+        Optional<ProjectDependencyGraph> graph = projectId != null
+                ? dependencyGraphIndex.graphForProject(projectId)
+                : dependencyGraphIndex.graphForComponent(componentIds.iterator().next());
+        if (graph.isPresent()) {
+            return graph.get().dependentLayers(componentIds);
         }
+    
+        Map<String, Integer> distances = queryTransitiveDependents(projectId, componentIds);
+        List<List<String>> layers = new ArrayList<>();
+        distances.forEach((id, distance) -> {
+            while (layers.size() < distance) {
+                layers.add(new ArrayList<>());
+            }
+            layers.get(distance - 1).add(id);
+        });
+        return layers;
+    }
+    
+    private void propagateUpdate(Component component, String previousVersion, Map<String, Object> updates) {
+        ComponentUpdateEvent update = ComponentUpdateEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .componentId(component.getComponentId())
+                .projectId(component.getProjectId())
+                .updateType(Objects.equals(previousVersion, component.getVersion())
+                        ? ComponentUpdateEvent.UpdateType.UPDATE
+                        : ComponentUpdateEvent.UpdateType.VERSION_CHANGE)
+                .previousVersion(previousVersion)
+                .newVersion(component.getVersion())
+                .changes(new HashMap<>(updates))
+                .timestamp(LocalDateTime.now())
+                .build();
+        
+        // Handled after commit so dependents never see the update before it is visible
+        applicationEventPublisher.publishEvent(new PropagationRequest(update));
     }
     
     private boolean shouldPropagateUpdate(Map<String, Object> updates) {
@@ -176,19 +384,6 @@ public class ComponentService {
                updates.containsKey("breaking_change");
     }
     
-    private int calculatePropagationDepth(String componentId, Set<Component> affected) {
-        // Calculate maximum depth of propagation
-        int maxDepth = 0;
-        for (Component component : affected) {
-            Optional<Object> path = componentRepository.findDependencyPath(component.getComponentId(), componentId);
-            if (path.isPresent()) {
-                // Parse path length (simplified)
-                maxDepth = Math.max(maxDepth, 1); // Placeholder
-            }
-        }
-        return maxDepth;
-    }
-    
     private void publishComponentUpdate(Component component, ComponentUpdateEvent.UpdateType type, String previousVersion) {
         ComponentUpdateEvent event = ComponentUpdateEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -200,19 +395,24 @@ public class ComponentService {
                 .timestamp(LocalDateTime.now())
                 .build();
         
-        kafkaTemplate.send(COMPONENT_UPDATE_TOPIC, event);
+        componentEventPublisher.publishComponentUpdate(event);
+        dependencyGraphIndex.apply(event);
+        applicationEventPublisher.publishEvent(event);
     }
     
-    private void publishDependencyChange(String sourceId, String targetId, DependencyType type, DependencyChangeEvent.ChangeType changeType) {
+    private void publishDependencyChange(String projectId, String sourceId, String targetId, DependencyType type, DependencyChangeEvent.ChangeType changeType) {
         DependencyChangeEvent event = DependencyChangeEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .sourceComponentId(sourceId)
                 .targetComponentId(targetId)
+                .projectId(projectId)
                 .changeType(changeType)
                 .dependencyType(type)
                 .timestamp(LocalDateTime.now())
                 .build();
         
-        kafkaTemplate.send(DEPENDENCY_CHANGE_TOPIC, event);
+        componentEventPublisher.publishDependencyChange(event);
+        dependencyGraphIndex.apply(event);
+        applicationEventPublisher.publishEvent(event);
     }
 }
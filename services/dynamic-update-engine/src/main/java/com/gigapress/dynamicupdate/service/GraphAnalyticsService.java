@@ -0,0 +1,130 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.dto.ComponentAnalytics;
+import com.gigapress.dynamicupdate.graph.GraphAnalytics;
+import com.gigapress.dynamicupdate.graph.ProjectDependencyGraph;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically computes {@link GraphAnalytics} for every project and stores the results as
+ * Component node properties, so blast radius and layering questions are answered with a
+ * property read instead of a traversal. Projects are analysed in parallel on a bounded pool.
+ */
+@Slf4j
+@Service
+public class GraphAnalyticsService {
+    
+    public static final int MAX_HUBS = 1000;
+    
+    private final ComponentGraphRepository componentGraphRepository;
+    private final boolean enabled;
+    private final int writeBatchSize;
+    private final ExecutorService executor;
+    
+    public GraphAnalyticsService(ComponentGraphRepository componentGraphRepository,
+                                 @Value("${dynamic-update.analytics.enabled:true}") boolean enabled,
+                                 @Value("${dynamic-update.analytics.parallelism:4}") int parallelism,
+                                 @Value("${dynamic-update.analytics.write-batch-size:1000}") int writeBatchSize) {
+        this.componentGraphRepository = componentGraphRepository;
+        this.enabled = enabled;
+        this.writeBatchSize = writeBatchSize;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "graph-analytics-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Analyses every project and waits for all of them, so the fixed delay counts from the end of a
+     * run and runs never overlap. The wait holds a scheduler thread, which is why the scheduler pool
+     * is sized above one ({@code spring.task.scheduling.pool.size}).
+     */
+    @Scheduled(initialDelayString = "${dynamic-update.analytics.initial-delay:PT1M}",
+            fixedDelayString = "${dynamic-update.analytics.interval:PT15M}")
+    public void analyzeAllProjects() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<String> projectIds = componentGraphRepository.findProjectIds();
+        AtomicInteger failed = new AtomicInteger();
+        
+        CompletableFuture<?>[] runs = projectIds.stream()
+                .map(projectId -> CompletableFuture.runAsync(() -> {
+                    try {
+                        analyzeProject(projectId);
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.warn("Graph analytics failed for project {}", projectId, e);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(runs).join();
+        
+        log.info("Graph analytics finished for {} projects ({} failed) in {} ms",
+                projectIds.size(), failed.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Recomputes and persists the analytics of one project.
+     */
+    public GraphAnalytics analyzeProject(String projectId) {
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build(projectId,
+                componentGraphRepository.findProjectAdjacency(projectId));
+        GraphAnalytics analytics = GraphAnalytics.compute(graph);
+        
+        List<Map<String, Object>> rows = new ArrayList<>(Math.min(writeBatchSize, analytics.size()));
+        for (int i = 0; i < analytics.size(); i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("componentId", analytics.componentId(i));
+            row.put("dependentCount", analytics.dependentCount(i));
+            row.put("topologicalLayer", analytics.layer(i));
+            row.put("cycleGroup", analytics.group(i));
+            row.put("cycleSize", analytics.groupSize(i));
+            row.put("longestChain", analytics.longestChain(i));
+            row.put("criticalPath", analytics.onCriticalPath(i));
+            rows.add(row);
+            if (rows.size() == writeBatchSize) {
+                componentGraphRepository.writeAnalytics(rows);
+                rows = new ArrayList<>(writeBatchSize);
+            }
+        }
+        componentGraphRepository.writeAnalytics(rows);
+        
+        log.debug("Analyzed project {}: {} components, longest chain {}, {} on cycles",
+                projectId, analytics.size(), analytics.maxChain(), analytics.cyclicComponentCount());
+        return analytics;
+    }
+    
+    public Optional<ComponentAnalytics> findAnalytics(String componentId) {
+        return componentGraphRepository.findAnalytics(componentId);
+    }
+    
+    /**
+     * Components of a project with the largest blast radius, as of the last analytics run.
+     */
+    public List<ComponentAnalytics> findHubs(String projectId, int limit) {
+        if (limit < 1 || limit > MAX_HUBS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_HUBS);
+        }
+        return componentGraphRepository.findTopByDependentCount(projectId, limit);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
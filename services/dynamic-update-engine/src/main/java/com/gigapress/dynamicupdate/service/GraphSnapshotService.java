@@ -0,0 +1,115 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.DependencyChangeEvent;
+import com.gigapress.dynamicupdate.graph.GraphSnapshot;
+import com.gigapress.dynamicupdate.graph.GraphSnapshotCodec;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds and caches per-project {@link GraphSnapshot}s together with their binary encoding.
+ * Cached snapshots are dropped once a local component or dependency change commits, when another
+ * instance reports a change over Kafka, and expire after {@code dynamic-update.graph-snapshot.max-age}
+ * as a safety net.
+ * <p>
+ * Every invalidation bumps a per-project generation; a snapshot is only cached if no invalidation
+ * happened while it was being built, so a slow build can never reinstate pre-change state.
+ */
+@Slf4j
+@Service
+public class GraphSnapshotService {
+    
+    private final ComponentGraphRepository componentGraphRepository;
+    private final Duration maxAge;
+    
+    private final Map<String, CachedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    
+    public GraphSnapshotService(ComponentGraphRepository componentGraphRepository,
+                                @Value("${dynamic-update.graph-snapshot.max-age:PT1M}") Duration maxAge) {
+        this.componentGraphRepository = componentGraphRepository;
+        this.maxAge = maxAge;
+    }
+    
+    /**
+     * Returns the current snapshot of a project with its binary encoding, building it if needed.
+     */
+    public CachedSnapshot getSnapshot(String projectId) {
+        CachedSnapshot cached = snapshots.get(projectId);
+        if (cached != null && cached.builtAt().plus(maxAge).isAfter(Instant.now())) {
+            return cached;
+        }
+        AtomicLong generation = generation(projectId);
+        long buildGeneration = generation.get();
+        CachedSnapshot built = build(projectId);
+        // Compared under the map's lock for this key, so an invalidate either sees the new entry or wins
+        snapshots.compute(projectId, (id, current) -> generation.get() == buildGeneration ? built : current);
+        return built;
+    }
+    
+    public void invalidate(String projectId) {
+        if (projectId != null) {
+            generation(projectId).incrementAndGet();
+            snapshots.remove(projectId);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComponentUpdate(ComponentUpdateEvent event) {
+        invalidate(event.getProjectId());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDependencyChange(DependencyChangeEvent event) {
+        invalidate(event.getProjectId());
+    }
+    
+    private AtomicLong generation(String projectId) {
+        return generations.computeIfAbsent(projectId, id -> new AtomicLong());
+    }
+    
+    private CachedSnapshot build(String projectId) {
+        long start = System.nanoTime();
+        Collection<Map<String, Object>> rows = componentGraphRepository.findProjectSnapshotRows(projectId);
+        
+        List<String> ids = new ArrayList<>(rows.size());
+        List<String> names = new ArrayList<>(rows.size());
+        List<String> types = new ArrayList<>(rows.size());
+        List<String> versions = new ArrayList<>(rows.size());
+        List<String> statuses = new ArrayList<>(rows.size());
+        List<List<String>> dependencies = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            ids.add((String) row.get("componentId"));
+            names.add((String) row.get("name"));
+            types.add((String) row.get("type"));
+            versions.add((String) row.get("version"));
+            statuses.add((String) row.get("status"));
+            List<String> targets = new ArrayList<>();
+            if (row.get("dependencies") instanceof Collection<?> collection) {
+                collection.forEach(id -> targets.add(String.valueOf(id)));
+            }
+            dependencies.add(targets);
+        }
+        
+        GraphSnapshot snapshot = GraphSnapshotCodec.snapshot(projectId, ids, names, types, versions, statuses, dependencies);
+        byte[] encoded = GraphSnapshotCodec.encode(snapshot);
+        log.debug("Built graph snapshot {} for project {}: {} components, {} edges, {} bytes in {} ms",
+                snapshot.getVersion(), projectId, snapshot.size(), snapshot.edgeCount(), encoded.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return new CachedSnapshot(snapshot, encoded, Instant.now());
+    }
+    
+    public record CachedSnapshot(GraphSnapshot snapshot, byte[] encoded, Instant builtAt) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.dto.ComponentImpact;
+import com.gigapress.dynamicupdate.graph.ImpactWeights;
+import com.gigapress.dynamicupdate.graph.WeightedImpact;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Ranks the components affected by a change by a score that decays along DEPENDS_ON edges according
+ * to their strength and type, see {@link WeightedImpact}. Used to keep propagation cascades to the
+ * components that actually matter.
+ */
+@Slf4j
+@Service
+public class ImpactScoringService {
+    
+    private final ComponentGraphRepository componentGraphRepository;
+    private final ImpactWeights weights;
+    private final double threshold;
+    private final int maxComponents;
+    private final boolean prunePropagation;
+    
+    public ImpactScoringService(ComponentGraphRepository componentGraphRepository,
+                                @Value("${dynamic-update.impact.strength-weights:STRONG:1.0,WEAK:0.5,OPTIONAL:0.2}") String strengthWeights,
+                                @Value("${dynamic-update.impact.type-weights:}") String typeWeights,
+                                @Value("${dynamic-update.impact.hop-decay:0.9}") double hopDecay,
+                                @Value("${dynamic-update.impact.threshold:0.1}") double threshold,
+                                @Value("${dynamic-update.impact.max-components:10000}") int maxComponents,
+                                @Value("${dynamic-update.impact.prune-propagation:true}") boolean prunePropagation) {
+        this.componentGraphRepository = componentGraphRepository;
+        this.weights = ImpactWeights.parse(strengthWeights, typeWeights, hopDecay);
+        this.threshold = threshold;
+        this.maxComponents = maxComponents;
+        this.prunePropagation = prunePropagation;
+    }
+    
+    /**
+     * Affected components of the triggers scoring at least {@code minScore}, highest first.
+     */
+    public List<ComponentImpact> rankAffected(Collection<String> componentIds, double minScore, int limit) {
+        if (minScore <= 0 || minScore > 1) {
+            throw new IllegalArgumentException("Score threshold must be in (0, 1]");
+        }
+        List<WeightedImpact.Scored> ranked = WeightedImpact.rank(componentIds,
+                componentGraphRepository::findIncomingEdges, weights, minScore, Math.max(1, Math.min(limit, maxComponents)));
+        List<ComponentImpact> impacts = new ArrayList<>(ranked.size());
+        for (WeightedImpact.Scored scored : ranked) {
+            impacts.add(ComponentImpact.builder()
+                    .componentId(scored.componentId())
+                    .score(scored.score())
+                    .distance(scored.distance())
+                    .build());
+        }
+        return impacts;
+    }
+    
+    /**
+     * Drops components scoring below the threshold from topologically layered cascade targets,
+     * keeping the layer order. Returns the layers unchanged when pruning is disabled.
+     */
+    public List<List<String>> prune(Collection<String> triggers, List<List<String>> layers) {
+        if (!prunePropagation || layers.isEmpty()) {
+            return layers;
+        }
+        Set<String> relevant = new HashSet<>();
+        WeightedImpact.rank(triggers, componentGraphRepository::findIncomingEdges, weights, threshold, Integer.MAX_VALUE)
+                .forEach(scored -> relevant.add(scored.componentId()));
+        
+        List<List<String>> pruned = new ArrayList<>(layers.size());
+        int before = 0;
+        int after = 0;
+        for (List<String> layer : layers) {
+            List<String> kept = layer.stream().filter(relevant::contains).toList();
+            before += layer.size();
+            after += kept.size();
+            if (!kept.isEmpty()) {
+                pruned.add(kept);
+            }
+        }
+        if (after < before) {
+            log.debug("Pruned cascade of {} from {} to {} components", triggers, before, after);
+        }
+        return pruned;
+    }
+}
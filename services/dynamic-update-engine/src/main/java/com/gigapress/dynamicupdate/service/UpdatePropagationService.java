@@ -1,11 +1,15 @@
 package com.gigapress.dynamicupdate.service;
 
 import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.PropagationRequest;
 import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import com.gigapress.dynamicupdate.propagation.PropagationExecutor;
+import com.gigapress.dynamicupdate.propagation.PropagationProgress;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -16,42 +20,136 @@ import java.util.*;
 public class UpdatePropagationService {
     
     private final ComponentService componentService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PropagationExecutor propagationExecutor;
+    private final ImpactScoringService impactScoringService;
+    
+    /**
+     * Propagates an update made through the REST API once its transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropagationRequest(PropagationRequest request) {
+        analyzeAndPropagateChanges(request.update());
+    }
     
     public void analyzeAndPropagateChanges(ComponentUpdateEvent event) {
         log.info("Analyzing changes for component: {}", event.getComponentId());
         
-        // Get affected components
-        Set<com.gigapress.dynamicupdate.domain.Component> affected = 
-                componentService.getAllAffectedComponents(event.getComponentId());
+        // Get affected components grouped into topological layers
+        List<List<String>> layers = componentService.getAffectedComponentLayers(
+                event.getProjectId(), List.of(event.getComponentId()));
+        UpdatePropagationEvent.PropagationType propagationType = determinePropagationType(event);
+        layers = pruneUnlessForced(propagationType, List.of(event.getComponentId()), layers);
         
-        if (!affected.isEmpty()) {
-            // Create propagation event
-            UpdatePropagationEvent propagationEvent = UpdatePropagationEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
+        if (!layers.isEmpty()) {
+            UpdatePropagationEvent template = UpdatePropagationEvent.builder()
                     .triggerComponentId(event.getComponentId())
                     .projectId(event.getProjectId())
-                    .affectedComponentIds(affected.stream()
-                            .map(com.gigapress.dynamicupdate.domain.Component::getComponentId)
-                            .toList())
-                    .propagationType(determinePropagationType(event))
+                    .propagationType(propagationType)
+                    .propagationDepth(propagationDepth(
+                            componentService.getAffectedComponentDistances(event.getComponentId()), layers))
                     .updateDetails(event.getChanges())
                     .timestamp(LocalDateTime.now())
                     .initiatedBy(event.getUserId())
                     .build();
             
-            // Send propagation event
-            kafkaTemplate.send("update.propagation", propagationEvent);
+            // Large cascades are chunked and published off this thread
+            PropagationProgress progress = propagationExecutor.propagate(template, layers);
+            
+            log.info("Propagated changes to {} components", progress.getTotalComponents());
+        }
+    }
+    
+    /**
+     * Propagates several updates of one project at once: one traversal over the merged trigger set
+     * and a single cascade for the whole batch.
+     */
+    public void analyzeAndPropagateChanges(String projectId, List<ComponentUpdateEvent> events) {
+        if (events.size() == 1) {
+            analyzeAndPropagateChanges(events.get(0));
+            return;
+        }
+        
+        List<String> triggers = events.stream()
+                .map(ComponentUpdateEvent::getComponentId)
+                .toList();
+        log.info("Analyzing {} batched changes for project: {}", triggers.size(), projectId);
+        
+        Map<String, Object> updateDetails = new HashMap<>();
+        UpdatePropagationEvent.PropagationType propagationType = UpdatePropagationEvent.PropagationType.SELECTIVE;
+        for (ComponentUpdateEvent event : events) {
+            if (event.getChanges() != null) {
+                updateDetails.putAll(event.getChanges());
+            }
+            propagationType = strongest(propagationType, determinePropagationType(event));
+        }
+        
+        List<List<String>> layers = componentService.getAffectedComponentLayers(projectId, triggers);
+        layers = pruneUnlessForced(propagationType, triggers, layers);
+        
+        if (!layers.isEmpty()) {
+            UpdatePropagationEvent template = UpdatePropagationEvent.builder()
+                    .triggerComponentId(triggers.get(0))
+                    .triggerComponentIds(triggers)
+                    .projectId(projectId)
+                    .propagationType(propagationType)
+                    .propagationDepth(propagationDepth(
+                            componentService.getAffectedComponentDistances(projectId, triggers), layers))
+                    .updateDetails(updateDetails)
+                    .timestamp(LocalDateTime.now())
+                    .initiatedBy(events.get(events.size() - 1).getUserId())
+                    .build();
             
-            log.info("Propagated changes to {} components", affected.size());
+            PropagationProgress progress = propagationExecutor.propagate(template, layers);
+            
+            log.info("Propagated {} batched changes to {} components", triggers.size(), progress.getTotalComponents());
+        }
+    }
+    
+    /**
+     * Largest shortest distance from any trigger to a component that is still propagated to. Layers
+     * are topological, so a dependent reachable by a short and a long path sits deeper in the layers
+     * than its distance.
+     */
+    private int propagationDepth(Map<String, Integer> distances, List<List<String>> layers) {
+        int depth = 0;
+        for (List<String> layer : layers) {
+            for (String componentId : layer) {
+                depth = Math.max(depth, distances.getOrDefault(componentId, 0));
+            }
+        }
+        return depth;
+    }
+    
+    /**
+     * Keeps only components whose weighted impact score clears the threshold. Forced propagations
+     * (breaking changes) still reach every dependent.
+     */
+    private List<List<String>> pruneUnlessForced(UpdatePropagationEvent.PropagationType propagationType,
+                                                 Collection<String> triggers, List<List<String>> layers) {
+        if (propagationType == UpdatePropagationEvent.PropagationType.FORCED) {
+            return layers;
+        }
+        return impactScoringService.prune(triggers, layers);
+    }
+    
+    private UpdatePropagationEvent.PropagationType strongest(UpdatePropagationEvent.PropagationType current,
+                                                             UpdatePropagationEvent.PropagationType candidate) {
+        if (current == UpdatePropagationEvent.PropagationType.FORCED
+                || candidate == UpdatePropagationEvent.PropagationType.FORCED) {
+            return UpdatePropagationEvent.PropagationType.FORCED;
+        }
+        if (current == UpdatePropagationEvent.PropagationType.CASCADE
+                || candidate == UpdatePropagationEvent.PropagationType.CASCADE) {
+            return UpdatePropagationEvent.PropagationType.CASCADE;
         }
+        return current;
     }
     
     private UpdatePropagationEvent.PropagationType determinePropagationType(ComponentUpdateEvent event) {
         // Determine propagation type based on update type and changes
         if (event.getUpdateType() == ComponentUpdateEvent.UpdateType.VERSION_CHANGE) {
             return UpdatePropagationEvent.PropagationType.CASCADE;
-        } else if (event.getChanges().containsKey("breaking_change")) {
+        } else if (event.getChanges() != null && event.getChanges().containsKey("breaking_change")) {
             return UpdatePropagationEvent.PropagationType.FORCED;
         }
         return UpdatePropagationEvent.PropagationType.SELECTIVE;
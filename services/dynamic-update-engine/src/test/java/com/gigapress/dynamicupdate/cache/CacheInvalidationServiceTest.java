@@ -0,0 +1,89 @@
+package com.gigapress.dynamicupdate.cache;
+
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.graph.ProjectDependencyGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+    
+    @Mock
+    private CacheManager cacheManager;
+    
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    @Mock
+    private DependencyGraphIndex dependencyGraphIndex;
+    
+    @Mock
+    private Cache componentsCache;
+    
+    @Mock
+    private Cache dependenciesCache;
+    
+    @Mock
+    private Cache dependentsCache;
+    
+    private CacheInvalidationService cacheInvalidationService;
+    
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationService = new CacheInvalidationService(cacheManager, redisTemplate, dependencyGraphIndex);
+        when(cacheManager.getCache("components")).thenReturn(componentsCache);
+        when(cacheManager.getCache("dependencies")).thenReturn(dependenciesCache);
+        when(cacheManager.getCache("dependents")).thenReturn(dependentsCache);
+    }
+    
+    @Test
+    void shouldEvictOnlyTouchedComponentAndDirectNeighbours() {
+        // Given: api -> service -> db
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", Map.of(
+                "api", List.of("service"),
+                "service", List.of("db"),
+                "db", List.of()
+        ));
+        when(dependencyGraphIndex.graphForProject("proj-1")).thenReturn(Optional.of(graph));
+        
+        // When
+        cacheInvalidationService.componentChanged("proj-1", "service");
+        
+        // Then
+        verify(componentsCache).evict("service");
+        verify(dependenciesCache).evict("service");
+        verify(dependenciesCache).evict("api");
+        verify(dependentsCache).evict("service");
+        verify(dependentsCache).evict("db");
+        verify(componentsCache, never()).clear();
+        verifyNoMoreInteractions(componentsCache);
+        verify(redisTemplate).convertAndSend(eq(CacheInvalidationService.INVALIDATION_CHANNEL), any(Object.class));
+    }
+    
+    @Test
+    void shouldEvictBothEndpointsOfDependencyChange() {
+        // When
+        cacheInvalidationService.dependencyChanged("api", "service");
+        
+        // Then
+        verify(componentsCache).evict("api");
+        verify(componentsCache).evict("service");
+        verify(dependenciesCache).evict("api");
+        verify(dependentsCache).evict("service");
+        verifyNoMoreInteractions(dependenciesCache, dependentsCache);
+    }
+}
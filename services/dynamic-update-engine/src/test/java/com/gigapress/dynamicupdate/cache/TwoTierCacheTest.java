@@ -0,0 +1,69 @@
+package com.gigapress.dynamicupdate.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+    
+    private ConcurrentMapCache remoteCache;
+    private TwoTierCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache("components");
+        cache = new TwoTierCache("components", Caffeine.newBuilder().recordStats().build(), remoteCache);
+    }
+    
+    @Test
+    void shouldPopulateLocalTierOnRemoteHit() {
+        // Given
+        remoteCache.put("comp-1", "value");
+        
+        // When
+        cache.get("comp-1");
+        remoteCache.evict("comp-1");
+        
+        // Then: second read is served locally
+        assertThat(cache.get("comp-1", String.class)).isEqualTo("value");
+        assertThat(cache.getLocalCache().stats().hitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldEvictBothTiers() {
+        // Given
+        cache.put("comp-1", "value");
+        
+        // When
+        cache.evict("comp-1");
+        
+        // Then
+        assertThat(cache.get("comp-1")).isNull();
+        assertThat(remoteCache.get("comp-1")).isNull();
+    }
+    
+    @Test
+    void shouldEvictOnlyLocalTierOnRemoteInvalidation() {
+        // Given
+        cache.put("comp-1", "value");
+        
+        // When
+        cache.evictLocal("comp-1");
+        
+        // Then
+        assertThat(cache.getLocalCache().getIfPresent("comp-1")).isNull();
+        assertThat(remoteCache.get("comp-1")).isNotNull();
+    }
+    
+    @Test
+    void shouldWeighCollectionsByElementCount() {
+        assertThat(TwoTierCacheManager.weigh("key", List.of("a", "b", "c"))).isEqualTo(3);
+        assertThat(TwoTierCacheManager.weigh("key", List.of())).isEqualTo(1);
+        assertThat(TwoTierCacheManager.weigh("key", "value")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.gigapress.dynamicupdate.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class Neo4jSchemaInitializerTest {
+    
+    @Mock
+    private Driver driver;
+    
+    @Mock
+    private Session session;
+    
+    @Mock
+    private Result result;
+    
+    @Mock
+    private Record versionRecord;
+    
+    private void givenRecordedVersion(int version) {
+        when(driver.session()).thenReturn(session);
+        when(session.run(anyString(), any(Value.class))).thenReturn(result);
+        when(result.single()).thenReturn(versionRecord);
+        when(versionRecord.get("version")).thenReturn(Values.value(version));
+    }
+    
+    @Test
+    void shouldApplyOnlyMigrationsNewerThanRecordedVersion() {
+        // Given
+        givenRecordedVersion(1);
+        when(session.run(anyString())).thenReturn(result);
+        
+        // When
+        new Neo4jSchemaInitializer(driver, true).run(null);
+        
+        // Then
+        verify(session, never()).run(contains("component_id_unique"));
+        verify(session).run(contains("component_project_status"));
+        verify(session).run(contains("component_project_type"));
+        verify(session).run(startsWith("MERGE (v:SchemaVersion"), any(Value.class));
+    }
+    
+    @Test
+    void shouldSkipWhenSchemaIsCurrent() {
+        // Given
+        givenRecordedVersion(Neo4jSchemaInitializer.latestVersion());
+        
+        // When
+        new Neo4jSchemaInitializer(driver, true).run(null);
+        
+        // Then
+        verify(session, never()).run(startsWith("CREATE"));
+        verify(session, never()).run(startsWith("MERGE"), any(Value.class));
+    }
+    
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        // When
+        new Neo4jSchemaInitializer(driver, false).run(null);
+        
+        // Then
+        verifyNoInteractions(driver);
+    }
+}
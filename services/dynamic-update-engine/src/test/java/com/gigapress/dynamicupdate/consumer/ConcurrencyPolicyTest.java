@@ -0,0 +1,36 @@
+package com.gigapress.dynamicupdate.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyPolicyTest {
+    
+    private final ConcurrencyPolicy policy = new ConcurrencyPolicy(1, 8, 1000, 3);
+    
+    @Test
+    void shouldScaleUpImmediatelyWithinBounds() {
+        // When & Then
+        assertThat(policy.next(2, 4_500, 0)).isEqualTo(5);
+        assertThat(policy.next(2, 1_000_000, 0)).isEqualTo(8);
+        assertThat(policy.desired(0)).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldScaleDownOnlyAfterSustainedLowLag() {
+        // When & Then
+        assertThat(policy.next(6, 100, 0)).isEqualTo(6);
+        assertThat(policy.next(6, 100, 1)).isEqualTo(6);
+        assertThat(policy.next(6, 100, 2)).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldRejectInvalidBounds() {
+        // When & Then
+        assertThatThrownBy(() -> new ConcurrencyPolicy(4, 2, 1000, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConcurrencyPolicy(1, 8, 1000, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -5,9 +5,16 @@ import com.gigapress.dynamicupdate.config.TestConfig;
 import com.gigapress.dynamicupdate.domain.Component;
 import com.gigapress.dynamicupdate.domain.ComponentStatus;
 import com.gigapress.dynamicupdate.domain.ComponentType;
+import com.gigapress.dynamicupdate.dto.ComponentAnalytics;
+import com.gigapress.dynamicupdate.dto.ComponentPage;
 import com.gigapress.dynamicupdate.dto.ComponentRequest;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
 import com.gigapress.dynamicupdate.exception.GlobalExceptionHandler;
+import com.gigapress.dynamicupdate.service.BulkIngestService;
+import com.gigapress.dynamicupdate.service.ComponentHistoryService;
 import com.gigapress.dynamicupdate.service.ComponentService;
+import com.gigapress.dynamicupdate.service.GraphAnalyticsService;
+import com.gigapress.dynamicupdate.service.ImpactScoringService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
@@ -19,6 +26,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -44,6 +52,18 @@ class ComponentControllerTest {
     @MockBean
     private ComponentService componentService;
     
+    @MockBean
+    private BulkIngestService bulkIngestService;
+    
+    @MockBean
+    private GraphAnalyticsService graphAnalyticsService;
+    
+    @MockBean
+    private ComponentHistoryService componentHistoryService;
+    
+    @MockBean
+    private ImpactScoringService impactScoringService;
+    
     @Test
     void shouldCreateComponent() throws Exception {
         // Given
@@ -81,7 +101,7 @@ class ComponentControllerTest {
     @Test
     void shouldGetComponent() throws Exception {
         // Given
-        Component component = Component.builder()
+        ComponentSummary summary = ComponentSummary.builder()
                 .componentId("comp-123")
                 .name("Test Component")
                 .type(ComponentType.BACKEND)
@@ -90,22 +110,64 @@ class ComponentControllerTest {
                 .status(ComponentStatus.ACTIVE)
                 .build();
         
-        when(componentService.findByComponentId("comp-123")).thenReturn(Optional.of(component));
+        when(componentService.findSummary("comp-123")).thenReturn(Optional.of(summary));
         
         // When & Then
         mockMvc.perform(get("/api/components/comp-123"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.componentId").value("comp-123"))
-                .andExpect(jsonPath("$.name").value("Test Component"));
+                .andExpect(jsonPath("$.name").value("Test Component"))
+                .andExpect(jsonPath("$.dependencies").doesNotExist());
     }
     
     @Test
     void shouldReturn404WhenComponentNotFound() throws Exception {
         // Given
-        when(componentService.findByComponentId("comp-999")).thenReturn(Optional.empty());
+        when(componentService.findSummary("comp-999")).thenReturn(Optional.empty());
         
         // When & Then
         mockMvc.perform(get("/api/components/comp-999"))
                 .andExpect(status().isNotFound());
     }
+    
+    @Test
+    void shouldReturnComponentPageWithNextCursor() throws Exception {
+        // Given
+        ComponentPage page = ComponentPage.builder()
+                .items(List.of(ComponentSummary.builder()
+                        .componentId("comp-1")
+                        .name("Component 1")
+                        .projectId("proj-123")
+                        .build()))
+                .nextCursor("Y29tcC0x")
+                .build();
+        when(componentService.findProjectComponentPage("proj-123", null, 1)).thenReturn(page);
+        
+        // When & Then
+        mockMvc.perform(get("/api/components/project/proj-123/page").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].componentId").value("comp-1"))
+                .andExpect(jsonPath("$.nextCursor").value("Y29tcC0x"));
+    }
+    
+    @Test
+    void shouldReturnPrecomputedAnalytics() throws Exception {
+        // Given
+        ComponentAnalytics analytics = ComponentAnalytics.builder()
+                .componentId("comp-123")
+                .projectId("proj-123")
+                .transitiveDependentCount(42)
+                .topologicalLayer(0)
+                .cycleSize(1)
+                .longestChain(5)
+                .criticalPath(true)
+                .build();
+        when(graphAnalyticsService.findAnalytics("comp-123")).thenReturn(Optional.of(analytics));
+        
+        // When & Then
+        mockMvc.perform(get("/api/components/comp-123/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitiveDependentCount").value(42))
+                .andExpect(jsonPath("$.criticalPath").value(true));
+    }
 }
@@ -3,6 +3,7 @@ package com.gigapress.dynamicupdate.controller;
 import com.gigapress.dynamicupdate.domain.Component;
 import com.gigapress.dynamicupdate.domain.ComponentStatus;
 import com.gigapress.dynamicupdate.domain.ComponentType;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
 import com.gigapress.dynamicupdate.service.ComponentService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SimpleComponentControllerTest {
@@ -28,7 +29,31 @@ class SimpleComponentControllerTest {
     private ComponentController componentController;
     
     @Test
-    void shouldGetComponent() {
+    void shouldGetComponentSummary() {
+        // Given
+        String componentId = "comp-123";
+        ComponentSummary summary = ComponentSummary.builder()
+                .componentId(componentId)
+                .name("Test Component")
+                .type(ComponentType.BACKEND)
+                .version("1.0.0")
+                .projectId("proj-123")
+                .status(ComponentStatus.ACTIVE)
+                .build();
+        
+        when(componentService.findSummary(componentId)).thenReturn(Optional.of(summary));
+        
+        // When
+        ResponseEntity<?> response = componentController.getComponent(componentId, false);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(summary);
+        verify(componentService, never()).findByComponentId(componentId);
+    }
+    
+    @Test
+    void shouldGetHydratedComponentWhenExpanded() {
         // Given
         String componentId = "comp-123";
         Component component = Component.builder()
@@ -45,22 +70,22 @@ class SimpleComponentControllerTest {
         when(componentService.findByComponentId(componentId)).thenReturn(Optional.of(component));
         
         // When
-        ResponseEntity<Component> response = componentController.getComponent(componentId);
+        ResponseEntity<?> response = componentController.getComponent(componentId, true);
         
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().getComponentId()).isEqualTo(componentId);
+        assertThat(response.getBody()).isInstanceOf(Component.class);
+        assertThat(((Component) response.getBody()).getComponentId()).isEqualTo(componentId);
     }
     
     @Test
     void shouldReturn404WhenComponentNotFound() {
         // Given
         String componentId = "comp-999";
-        when(componentService.findByComponentId(componentId)).thenReturn(Optional.empty());
+        when(componentService.findSummary(componentId)).thenReturn(Optional.empty());
         
         // When
-        ResponseEntity<Component> response = componentController.getComponent(componentId);
+        ResponseEntity<?> response = componentController.getComponent(componentId, false);
         
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
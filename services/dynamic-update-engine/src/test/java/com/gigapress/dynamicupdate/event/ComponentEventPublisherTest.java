@@ -0,0 +1,117 @@
+package com.gigapress.dynamicupdate.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentEventPublisherTest {
+    
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    
+    @Test
+    void shouldCoalesceRepeatedUpdatesToSameComponent() {
+        // Given: a window long enough that nothing flushes on its own
+        ComponentEventPublisher publisher = new ComponentEventPublisher(kafkaTemplate, 60_000);
+        
+        // When
+        publisher.publishComponentUpdate(update("comp-1", ComponentUpdateEvent.UpdateType.UPDATE, "1.0.0", "1.1.0",
+                Map.of("version", "1.1.0")));
+        publisher.publishComponentUpdate(update("comp-1", ComponentUpdateEvent.UpdateType.VERSION_CHANGE, "1.1.0", "2.0.0",
+                Map.of("breaking_change", true)));
+        publisher.publishComponentUpdate(update("comp-2", ComponentUpdateEvent.UpdateType.UPDATE, "1.0.0", "1.0.1", null));
+        publisher.flush();
+        
+        // Then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("component.changes"), eq("comp-1"), captor.capture());
+        verify(kafkaTemplate).send(eq("component.changes"), eq("comp-2"), any());
+        ComponentUpdateEvent coalesced = (ComponentUpdateEvent) captor.getValue();
+        assertThat(coalesced.getUpdateType()).isEqualTo(ComponentUpdateEvent.UpdateType.VERSION_CHANGE);
+        assertThat(coalesced.getPreviousVersion()).isEqualTo("1.0.0");
+        assertThat(coalesced.getNewVersion()).isEqualTo("2.0.0");
+        assertThat(coalesced.getChanges()).containsKeys("version", "breaking_change");
+        
+        publisher.shutdown();
+    }
+    
+    @Test
+    void shouldSendDependencyChangeAfterComponentUpdatePublishedBeforeIt() {
+        // Given
+        ComponentEventPublisher publisher = new ComponentEventPublisher(kafkaTemplate, 60_000);
+        DependencyChangeEvent dependencyChange = DependencyChangeEvent.builder()
+                .eventId("dep-1")
+                .sourceComponentId("comp-2")
+                .targetComponentId("comp-1")
+                .projectId("proj-1")
+                .changeType(DependencyChangeEvent.ChangeType.ADDED)
+                .build();
+        
+        // When
+        publisher.publishComponentUpdate(update("comp-1", ComponentUpdateEvent.UpdateType.CREATE, null, "1.0.0", null));
+        publisher.publishDependencyChange(dependencyChange);
+        publisher.publishComponentUpdate(update("comp-1", ComponentUpdateEvent.UpdateType.UPDATE, "1.0.0", "1.0.1", null));
+        
+        // Then: nothing leaves before the window closes, then the merged update goes first
+        verifyNoInteractions(kafkaTemplate);
+        publisher.flush();
+        InOrder inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send(eq("component.changes"), eq("comp-1"), any());
+        inOrder.verify(kafkaTemplate).send("dependency.events", "comp-2", dependencyChange);
+        verifyNoMoreInteractions(kafkaTemplate);
+        
+        publisher.shutdown();
+    }
+    
+    @Test
+    void shouldKeepCreationWhenUpdatedWithinWindow() {
+        // When
+        ComponentUpdateEvent coalesced = ComponentEventPublisher.coalesce(
+                update("comp-1", ComponentUpdateEvent.UpdateType.CREATE, null, "1.0.0", null),
+                update("comp-1", ComponentUpdateEvent.UpdateType.UPDATE, "1.0.0", "1.0.1", null));
+        
+        // Then
+        assertThat(coalesced.getUpdateType()).isEqualTo(ComponentUpdateEvent.UpdateType.CREATE);
+        assertThat(coalesced.getNewVersion()).isEqualTo("1.0.1");
+        assertThat(coalesced.getChanges()).isNull();
+    }
+    
+    @Test
+    void shouldSendImmediatelyWhenCoalescingDisabled() {
+        // Given
+        ComponentEventPublisher publisher = new ComponentEventPublisher(kafkaTemplate, 0);
+        
+        // When
+        publisher.publishComponentUpdate(update("comp-1", ComponentUpdateEvent.UpdateType.UPDATE, "1.0.0", "1.1.0", null));
+        
+        // Then
+        verify(kafkaTemplate).send(eq("component.changes"), eq("comp-1"), any());
+        
+        publisher.shutdown();
+    }
+    
+    private ComponentUpdateEvent update(String componentId, ComponentUpdateEvent.UpdateType type,
+                                        String previousVersion, String newVersion, Map<String, Object> changes) {
+        return ComponentUpdateEvent.builder()
+                .eventId(componentId + "-" + newVersion)
+                .componentId(componentId)
+                .projectId("proj-1")
+                .updateType(type)
+                .previousVersion(previousVersion)
+                .newVersion(newVersion)
+                .changes(changes)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.gigapress.dynamicupdate.event;
+
+import com.gigapress.dynamicupdate.service.BulkIngestService;
+import com.gigapress.dynamicupdate.service.ComponentService;
+import com.gigapress.dynamicupdate.service.UpdatePropagationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateEventListenerTest {
+    
+    @Mock
+    private ComponentService componentService;
+    
+    @Mock
+    private UpdatePropagationService propagationService;
+    
+    @Mock
+    private BulkIngestService bulkIngestService;
+    
+    @Mock
+    private ComponentEventPublisher componentEventPublisher;
+    
+    @Mock
+    private ProcessedEventStore processedEventStore;
+    
+    @Mock
+    private Acknowledgment acknowledgment;
+    
+    @InjectMocks
+    private UpdateEventListener listener;
+    
+    @Test
+    void shouldForwardPoisonEventToRetryTopicAndAckBatch() {
+        // Given: the batch fails because of one event, the other one processes fine on its own
+        ComponentUpdateEvent good = update("evt-1", "comp-1");
+        ComponentUpdateEvent poison = update("evt-2", "comp-2");
+        List<ComponentUpdateEvent> batch = List.of(good, poison);
+        when(processedEventStore.filterUnprocessed(batch)).thenReturn(batch);
+        doThrow(new IllegalStateException("boom"))
+                .when(propagationService).analyzeAndPropagateChanges(eq("proj-1"), argThat(events -> events.contains(poison)));
+        doReturn(CompletableFuture.completedFuture(null))
+                .when(componentEventPublisher).publishFailedProjectUpdate(poison);
+        
+        // When
+        listener.handleProjectUpdates(batch, acknowledgment);
+        
+        // Then
+        verify(processedEventStore).markProcessed(List.of(good));
+        verify(componentEventPublisher).publishFailedProjectUpdate(poison);
+        verify(componentEventPublisher, never()).publishFailedProjectUpdate(good);
+        verify(acknowledgment).acknowledge();
+    }
+    
+    @Test
+    void shouldSkipEventsAlreadyProcessed() {
+        // Given
+        ComponentUpdateEvent duplicate = update("evt-1", "comp-1");
+        when(processedEventStore.filterUnprocessed(List.of(duplicate))).thenReturn(List.of());
+        
+        // When
+        listener.handleProjectUpdates(List.of(duplicate), acknowledgment);
+        
+        // Then
+        verifyNoInteractions(propagationService);
+        verify(acknowledgment).acknowledge();
+    }
+    
+    @Test
+    void shouldSkipRecordsThatFailedDeserialization() {
+        // Given: the error handling deserializer hands unreadable records over as nulls
+        ComponentUpdateEvent readable = update("evt-1", "comp-1");
+        List<ComponentUpdateEvent> batch = new ArrayList<>();
+        batch.add(null);
+        batch.add(readable);
+        when(processedEventStore.filterUnprocessed(List.of(readable))).thenReturn(List.of(readable));
+        
+        // When
+        listener.handleProjectUpdates(batch, acknowledgment);
+        
+        // Then
+        verify(processedEventStore).markProcessed(List.of(readable));
+        verify(acknowledgment).acknowledge();
+    }
+    
+    private ComponentUpdateEvent update(String eventId, String componentId) {
+        return ComponentUpdateEvent.builder()
+                .eventId(eventId)
+                .componentId(componentId)
+                .projectId("proj-1")
+                .updateType(ComponentUpdateEvent.UpdateType.UPDATE)
+                .changes(Map.of("version", "1.1.0"))
+                .build();
+    }
+}
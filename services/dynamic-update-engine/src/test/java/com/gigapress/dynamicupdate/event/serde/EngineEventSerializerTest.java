@@ -0,0 +1,86 @@
+package com.gigapress.dynamicupdate.event.serde;
+
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineEventSerializerTest {
+    
+    private final EngineEventSerializer serializer = new EngineEventSerializer();
+    private final EngineEventDeserializer deserializer = new EngineEventDeserializer();
+    
+    @Test
+    void shouldRoundTripComponentUpdateSmallerThanJson() {
+        // Given
+        ComponentUpdateEvent event = ComponentUpdateEvent.builder()
+                .eventId("evt-1")
+                .componentId("comp-1")
+                .projectId("proj-1")
+                .updateType(ComponentUpdateEvent.UpdateType.VERSION_CHANGE)
+                .previousVersion("1.0.0")
+                .newVersion("2.0.0")
+                .changes(Map.of("breaking_change", true, "files", List.of("a.java", "b.java"), "lines", 42))
+                .timestamp(LocalDateTime.of(2024, 5, 1, 12, 30, 15))
+                .userId("user-1")
+                .build();
+        
+        // When
+        byte[] encoded = serializer.serialize("component.changes", event);
+        Object decoded = deserializer.deserialize("component.changes", encoded);
+        
+        // Then
+        assertThat(decoded).isEqualTo(event);
+        assertThat(encoded.length).isLessThan(new JsonSerializer<>().serialize("component.changes", event).length / 2);
+    }
+    
+    @Test
+    void shouldIgnoreFieldsAppendedByNewerSchemaVersion() {
+        // Given: a payload from a producer that appended a field in version 2
+        UpdatePropagationEvent event = UpdatePropagationEvent.builder()
+                .eventId("evt-1")
+                .triggerComponentId("comp-1")
+                .projectId("proj-1")
+                .affectedComponentIds(List.of("comp-2", "comp-3"))
+                .propagationType(UpdatePropagationEvent.PropagationType.CASCADE)
+                .layer(1)
+                .totalChunks(2)
+                .build();
+        byte[] encoded = serializer.serialize("update.propagation", event);
+        byte[] newer = Arrays.copyOf(encoded, encoded.length + 3);
+        newer[2] = 2;
+        newer[encoded.length] = 2;
+        newer[encoded.length + 1] = 'x';
+        
+        // When
+        Object decoded = deserializer.deserialize("update.propagation", newer);
+        
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+    
+    @Test
+    void shouldFallBackToJsonForLegacyProducers() {
+        // Given
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, ComponentUpdateEvent.class.getName(),
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false), false);
+        byte[] json = "{\"eventId\":\"evt-1\",\"componentId\":\"comp-1\",\"updateType\":\"UPDATE\"}".getBytes();
+        
+        // When
+        Object decoded = deserializer.deserialize("project.updates", json);
+        
+        // Then
+        assertThat(decoded).isInstanceOf(ComponentUpdateEvent.class);
+        assertThat(((ComponentUpdateEvent) decoded).getComponentId()).isEqualTo("comp-1");
+    }
+}
@@ -0,0 +1,70 @@
+package com.gigapress.dynamicupdate.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void shouldRejectEdgeClosingACycle() {
+        // Given: api -> service -> db
+        DynamicTopologicalOrder order = DynamicTopologicalOrder.build(Map.of(
+                "api", List.of("service"),
+                "service", List.of("db"),
+                "db", List.of()
+        )).orElseThrow();
+
+        // Then
+        assertThat(order.wouldCreateCycle("db", "api")).isTrue();
+        assertThat(order.addDependency("db", "api")).isFalse();
+        assertThat(order.addDependency("service", "service")).isFalse();
+        assertThat(order.addDependency("api", "db")).isTrue();
+    }
+
+    @Test
+    void shouldReorderWhenEdgeGoesAgainstCurrentOrder() {
+        // Given: two independent chains a -> b and c -> d
+        DynamicTopologicalOrder order = DynamicTopologicalOrder.build(Map.of(
+                "a", List.of("b"),
+                "b", List.of(),
+                "c", List.of("d"),
+                "d", List.of()
+        )).orElseThrow();
+
+        // When: link the chains in both possible directions over time
+        assertThat(order.addDependency("b", "c")).isTrue();
+        assertThat(order.addDependency("d", "a")).isFalse();
+
+        // Then: once the link is removed the reverse direction becomes legal
+        order.removeDependency("b", "c");
+        assertThat(order.addDependency("d", "a")).isTrue();
+        assertThat(order.wouldCreateCycle("b", "c")).isTrue();
+    }
+
+    @Test
+    void shouldTrackComponentsAddedAndRemoved() {
+        // Given
+        DynamicTopologicalOrder order = DynamicTopologicalOrder.build(Map.of("a", List.of())).orElseThrow();
+
+        // When
+        order.addComponent("b");
+        order.addDependency("a", "b");
+        order.removeComponent("a");
+
+        // Then
+        assertThat(order.contains("b")).isTrue();
+        assertThat(order.addDependency("b", "a")).isTrue();
+    }
+
+    @Test
+    void shouldNotBuildFromCyclicGraph() {
+        assertThat(DynamicTopologicalOrder.build(Map.of(
+                "a", List.of("b"),
+                "b", List.of("a")
+        ))).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.gigapress.dynamicupdate.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphAnalyticsTest {
+
+    @Test
+    void shouldComputeDependentCountsLayersAndChains() {
+        // Given: web -> api -> service -> db, cli -> service, web -> db
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "db", List.of(),
+                "service", List.of("db"),
+                "api", List.of("service"),
+                "web", List.of("api", "db"),
+                "cli", List.of("service")
+        ));
+
+        // When
+        GraphAnalytics analytics = GraphAnalytics.compute(graph);
+        Map<String, Integer> byId = indexById(analytics);
+
+        // Then
+        assertThat(analytics.dependentCount(byId.get("db"))).isEqualTo(4);
+        assertThat(analytics.dependentCount(byId.get("service"))).isEqualTo(3);
+        assertThat(analytics.dependentCount(byId.get("web"))).isZero();
+        assertThat(analytics.layer(byId.get("db"))).isZero();
+        assertThat(analytics.layer(byId.get("web"))).isEqualTo(3);
+        assertThat(analytics.maxChain()).isEqualTo(3);
+        assertThat(analytics.onCriticalPath(byId.get("api"))).isTrue();
+        assertThat(analytics.onCriticalPath(byId.get("cli"))).isFalse();
+        assertThat(analytics.cyclicComponentCount()).isZero();
+    }
+
+    @Test
+    void shouldGroupCycleMembersAndShareTheirMetrics() {
+        // Given: a <-> b cycle, app depends on a, both depend on db
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "db", List.of(),
+                "a", List.of("b", "db"),
+                "b", List.of("a", "db"),
+                "app", List.of("a")
+        ));
+
+        // When
+        GraphAnalytics analytics = GraphAnalytics.compute(graph);
+        Map<String, Integer> byId = indexById(analytics);
+
+        // Then: each cycle member counts the other member and app as dependents
+        assertThat(analytics.group(byId.get("a"))).isEqualTo(analytics.group(byId.get("b")));
+        assertThat(analytics.groupSize(byId.get("a"))).isEqualTo(2);
+        assertThat(analytics.dependentCount(byId.get("a"))).isEqualTo(2);
+        assertThat(analytics.dependentCount(byId.get("db"))).isEqualTo(3);
+        assertThat(analytics.layer(byId.get("app"))).isEqualTo(2);
+        assertThat(analytics.cyclicComponentCount()).isEqualTo(2);
+    }
+
+    private Map<String, Integer> indexById(GraphAnalytics analytics) {
+        Map<String, Integer> byId = new HashMap<>();
+        for (int i = 0; i < analytics.size(); i++) {
+            byId.put(analytics.componentId(i), i);
+        }
+        return byId;
+    }
+
+    private Map<String, List<String>> adjacency(Object... entries) {
+        Map<String, List<String>> adjacency = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<String> targets = (List<String>) entries[i + 1];
+            adjacency.put((String) entries[i], targets);
+        }
+        return adjacency;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gigapress.dynamicupdate.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphSnapshotCodecTest {
+
+    @Test
+    void shouldRoundTripSnapshot() {
+        // Given
+        GraphSnapshot snapshot = snapshot("2.0.0");
+
+        // When
+        GraphSnapshot decoded = GraphSnapshotCodec.decode(GraphSnapshotCodec.encode(snapshot));
+
+        // Then
+        assertThat(decoded).isEqualTo(snapshot);
+        assertThat(decoded.edgeCount()).isEqualTo(2);
+        assertThat(decoded.getStatuses()[2]).isNull();
+        assertThat(Arrays.copyOfRange(decoded.getDependencyTargets(),
+                decoded.getDependencyOffsets()[0], decoded.getDependencyOffsets()[1])).containsExactly(1);
+    }
+
+    @Test
+    void shouldVersionByContent() {
+        assertThat(snapshot("2.0.0").getVersion()).isEqualTo(snapshot("2.0.0").getVersion());
+        assertThat(snapshot("2.0.0").getVersion()).isNotEqualTo(snapshot("2.0.1").getVersion());
+    }
+
+    @Test
+    void shouldRejectUnknownPayload() {
+        assertThatThrownBy(() -> GraphSnapshotCodec.decode(new byte[]{1, 2, 3, 4, 5, 6}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private GraphSnapshot snapshot(String dbVersion) {
+        // api -> service -> db, plus an edge leaving the project that must be dropped
+        return GraphSnapshotCodec.snapshot("proj-1",
+                List.of("api", "service", "db"),
+                List.of("API", "Service", "Database"),
+                List.of("API", "SERVICE", "DATABASE"),
+                List.of("1.0.0", "1.0.0", dbVersion),
+                Arrays.asList("ACTIVE", "ACTIVE", null),
+                List.of(List.of("service"), List.of("db", "external"), List.of()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.gigapress.dynamicupdate.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectDependencyGraphTest {
+
+    @Test
+    void shouldComputeTransitiveDependentsWithShortestDistance() {
+        // Given: api -> service -> db, web -> api, web -> db
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "db", List.of(),
+                "service", List.of("db"),
+                "api", List.of("service"),
+                "web", List.of("api", "db")
+        ));
+
+        // When
+        Map<String, Integer> dependents = graph.transitiveDependents("db");
+
+        // Then
+        assertThat(dependents).containsOnlyKeys("service", "web", "api");
+        assertThat(dependents.get("service")).isEqualTo(1);
+        assertThat(dependents.get("web")).isEqualTo(1);
+        assertThat(dependents.get("api")).isEqualTo(2);
+        assertThat(graph.propagationDepth("db")).isEqualTo(2);
+        assertThat(graph.dependsOn("web", "service")).isTrue();
+        assertThat(graph.dependsOn("db", "web")).isFalse();
+    }
+
+    @Test
+    void shouldMergeTransitiveDependentsOfSeveralComponents() {
+        // Given: api -> service -> db, web -> api, cli -> service
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "db", List.of(),
+                "service", List.of("db"),
+                "api", List.of("service"),
+                "web", List.of("api"),
+                "cli", List.of("service")
+        ));
+
+        // When
+        Map<String, Integer> dependents = graph.transitiveDependents(List.of("db", "api"));
+
+        // Then: api is a trigger but also depends on db, web is one hop from api
+        assertThat(dependents).containsOnlyKeys("service", "api", "cli", "web");
+        assertThat(dependents.get("service")).isEqualTo(1);
+        assertThat(dependents.get("web")).isEqualTo(1);
+        assertThat(dependents.get("api")).isEqualTo(2);
+        assertThat(dependents.get("cli")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGroupDependentsIntoTopologicalLayers() {
+        // Given: web depends on db directly and through api -> service
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "db", List.of(),
+                "service", List.of("db"),
+                "api", List.of("service"),
+                "web", List.of("api", "db"),
+                "a", List.of("b", "db"),
+                "b", List.of("a")
+        ));
+
+        // When
+        List<List<String>> layers = graph.dependentLayers(List.of("db"));
+
+        // Then: web waits for api although it is one hop from db, the a <-> b cycle comes last
+        assertThat(layers).hasSize(4);
+        assertThat(layers.get(0)).containsExactly("service");
+        assertThat(layers.get(1)).containsExactly("api");
+        assertThat(layers.get(2)).containsExactly("web");
+        assertThat(layers.get(3)).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void shouldApplyStructuralChangesCopyOnWrite() {
+        // Given
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "a", List.of("b"),
+                "b", List.of()
+        ));
+
+        // When
+        ProjectDependencyGraph updated = graph.withComponent("c").withEdge("c", "a").withoutEdge("a", "b");
+
+        // Then
+        assertThat(graph.containsEdge("a", "b")).isTrue();
+        assertThat(graph.contains("c")).isFalse();
+        assertThat(updated.containsEdge("a", "b")).isFalse();
+        assertThat(updated.directDependents("a")).containsExactly("c");
+        assertThat(updated.edgeCount()).isEqualTo(1);
+        assertThat(updated.withoutComponent("a").edgeCount()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreEdgesOutsideTheProject() {
+        // Given
+        ProjectDependencyGraph graph = ProjectDependencyGraph.build("proj-1", adjacency(
+                "a", List.of("a", "external", "b", "b"),
+                "b", List.of()
+        ));
+
+        // Then
+        assertThat(graph.size()).isEqualTo(2);
+        assertThat(graph.edgeCount()).isEqualTo(1);
+        assertThat(graph.transitiveDependents("unknown")).isEmpty();
+    }
+
+    private Map<String, List<String>> adjacency(Object... entries) {
+        Map<String, List<String>> adjacency = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<String> targets = (List<String>) entries[i + 1];
+            adjacency.put((String) entries[i], targets);
+        }
+        return adjacency;
+    }
+}
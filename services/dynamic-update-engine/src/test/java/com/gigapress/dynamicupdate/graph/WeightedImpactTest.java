@@ -0,0 +1,64 @@
+package com.gigapress.dynamicupdate.graph;
+
+import com.gigapress.dynamicupdate.domain.DependencyStrength;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeightedImpactTest {
+
+    private final ImpactWeights weights = ImpactWeights.parse("STRONG:1.0,WEAK:0.5,OPTIONAL:0.2", "TEST:0.5", 0.9);
+
+    @Test
+    void shouldRankByBestDecayedScoreAndPruneWeakBranches() {
+        // Given: core <- api (strong) <- web (strong), core <- cli (weak) <- web (strong),
+        //        core <- docs (optional) <- site (optional)
+        List<WeightedImpact.Edge> edges = List.of(
+                edge("api", "core", DependencyStrength.STRONG, DependencyType.COMPILE),
+                edge("web", "api", DependencyStrength.STRONG, DependencyType.API_CALL),
+                edge("cli", "core", DependencyStrength.WEAK, DependencyType.COMPILE),
+                edge("web", "cli", DependencyStrength.STRONG, DependencyType.COMPILE),
+                edge("docs", "core", DependencyStrength.OPTIONAL, DependencyType.COMPILE),
+                edge("site", "docs", DependencyStrength.OPTIONAL, DependencyType.COMPILE));
+        List<Collection<String>> requested = new ArrayList<>();
+
+        // When
+        List<WeightedImpact.Scored> ranked = WeightedImpact.rank(List.of("core"), ids -> {
+            requested.add(List.copyOf(ids));
+            return edges.stream().filter(edge -> ids.contains(edge.dependency())).toList();
+        }, weights, 0.1, 100);
+
+        // Then
+        assertThat(ranked).extracting(WeightedImpact.Scored::componentId).containsExactly("api", "web", "cli", "docs");
+        assertThat(ranked.get(0).score()).isCloseTo(0.9, within(1e-9));
+        assertThat(ranked.get(1).score()).isCloseTo(0.81, within(1e-9));
+        assertThat(ranked.get(1).distance()).isEqualTo(2);
+        assertThat(requested).noneMatch(ids -> ids.contains("site"));
+    }
+
+    @Test
+    void shouldApplyTypeWeightsAndLimit() {
+        // Given
+        List<WeightedImpact.Edge> edges = List.of(
+                edge("tests", "core", DependencyStrength.STRONG, DependencyType.TEST),
+                edge("app", "core", DependencyStrength.STRONG, null));
+
+        // When
+        List<WeightedImpact.Scored> ranked = WeightedImpact.rank(List.of("core"),
+                ids -> edges.stream().filter(edge -> ids.contains(edge.dependency())).toList(), weights, 0.1, 1);
+
+        // Then
+        assertThat(ranked).extracting(WeightedImpact.Scored::componentId).containsExactly("app");
+    }
+
+    private WeightedImpact.Edge edge(String dependent, String dependency, DependencyStrength strength,
+                                     DependencyType type) {
+        return new WeightedImpact.Edge(dependent, dependency, strength, type);
+    }
+}
@@ -0,0 +1,62 @@
+package com.gigapress.dynamicupdate.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetadataPropertiesTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void shouldFlattenMetadataIntoTypedProperties() {
+        // Given
+        String json = "{\"framework\":\"react\",\"replicas\":3,\"public\":true,\"ratio\":0.5," +
+                "\"tags\":[\"ui\",\"web\"],\"mixed\":[1,\"a\"],\"owner\":null,\"build\":{\"tool\":\"vite\"}}";
+        
+        // When
+        Map<String, Object> properties = MetadataProperties.flatten(json, objectMapper);
+        
+        // Then
+        assertThat(properties)
+                .containsEntry("meta.framework", "react")
+                .containsEntry("meta.replicas", 3L)
+                .containsEntry("meta.public", true)
+                .containsEntry("meta.ratio", 0.5)
+                .containsEntry("meta.tags", List.of("ui", "web"))
+                .containsEntry("meta.build.tool", "vite")
+                .doesNotContainKeys("meta.mixed", "meta.owner");
+    }
+    
+    @Test
+    void shouldCompareMetadataElementWiseSoArrayPropertiesMatch() {
+        // When
+        String scalar = MetadataProperties.predicate("c", "tags", "ui", "m0");
+        String anyOf = MetadataProperties.predicate("c", "build.tool", List.of("vite", "maven"), "m1");
+        
+        // Then
+        assertThat(scalar).isEqualTo("any(element IN [] + c.`meta.tags` WHERE element = $m0)");
+        assertThat(anyOf).isEqualTo("any(element IN [] + c.`meta.build.tool` WHERE element IN $m1)");
+        assertThatThrownBy(() -> MetadataProperties.predicate("c", "tags` OR true", "ui", "m0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void shouldIgnoreMalformedOrNonObjectMetadata() {
+        assertThat(MetadataProperties.flatten("not json", objectMapper)).isEmpty();
+        assertThat(MetadataProperties.flatten("[1,2]", objectMapper)).isEmpty();
+        assertThat(MetadataProperties.flatten(null, objectMapper)).isEmpty();
+    }
+    
+    @Test
+    void shouldRejectKeysThatCannotBeEmbeddedInCypher() {
+        assertThat(MetadataProperties.propertyName("build.tool")).isEqualTo("`meta.build.tool`");
+        assertThatThrownBy(() -> MetadataProperties.propertyName("x` = 1 OR true //"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.gigapress.dynamicupdate.propagation;
+
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
+import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropagationExecutorTest {
+    
+    @Mock
+    private ComponentEventPublisher componentEventPublisher;
+    
+    private PropagationExecutor executor;
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+    
+    @Test
+    void shouldPublishSmallCascadeAsSingleEvent() {
+        // Given
+        executor = new PropagationExecutor(componentEventPublisher, 10, 2, 1, 1, Duration.ofMinutes(5));
+        when(componentEventPublisher.publishPropagation(any())).thenReturn(CompletableFuture.completedFuture(null));
+        
+        // When
+        PropagationProgress progress = executor.propagate(template(), List.of(List.of("b", "c"), List.of("d")));
+        
+        // Then
+        ArgumentCaptor<UpdatePropagationEvent> captor = ArgumentCaptor.forClass(UpdatePropagationEvent.class);
+        verify(componentEventPublisher).publishPropagation(captor.capture());
+        assertThat(captor.getValue().getAffectedComponentIds()).containsExactly("b", "c", "d");
+        // Depth is the distance the caller measured, not the number of topological layers
+        assertThat(captor.getValue().getPropagationDepth()).isEqualTo(3);
+        assertThat(progress.getStatus()).isEqualTo(PropagationProgress.Status.COMPLETED);
+        assertThat(executor.getProgress(progress.getPropagationId())).contains(progress);
+    }
+    
+    @Test
+    void shouldChunkLargeCascadeLayerByLayer() {
+        // Given
+        executor = new PropagationExecutor(componentEventPublisher, 2, 2, 1, 1, Duration.ofMinutes(5));
+        when(componentEventPublisher.publishPropagation(any())).thenReturn(CompletableFuture.completedFuture(null));
+        
+        // When
+        PropagationProgress progress = executor.propagate(template(),
+                List.of(List.of("b", "c", "d"), List.of("e", "f"), List.of("g")));
+        
+        // Then
+        ArgumentCaptor<UpdatePropagationEvent> captor = ArgumentCaptor.forClass(UpdatePropagationEvent.class);
+        verify(componentEventPublisher, timeout(5000).times(4)).publishPropagation(captor.capture());
+        List<UpdatePropagationEvent> chunks = captor.getAllValues().stream()
+                .sorted(Comparator.comparingInt(UpdatePropagationEvent::getChunkIndex))
+                .toList();
+        assertThat(chunks).extracting(UpdatePropagationEvent::getLayer).containsExactly(0, 0, 1, 2);
+        assertThat(chunks).allSatisfy(chunk -> {
+            assertThat(chunk.getPropagationId()).isEqualTo(progress.getPropagationId());
+            assertThat(chunk.getTotalChunks()).isEqualTo(4);
+            assertThat(chunk.getTriggerComponentId()).isEqualTo("a");
+        });
+        assertThat(chunks.get(0).getAffectedComponentIds()).containsExactly("b", "c");
+        assertThat(chunks.get(1).getAffectedComponentIds()).containsExactly("d");
+        assertThat(progress.getTotalComponents()).isEqualTo(6);
+    }
+    
+    @Test
+    void shouldFailCascadeAndStopBeforeNextLayerWhenSendFails() {
+        // Given
+        executor = new PropagationExecutor(componentEventPublisher, 2, 2, 1, 1, Duration.ofMinutes(5));
+        when(componentEventPublisher.publishPropagation(any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        
+        // When
+        PropagationProgress progress = executor.propagate(template(),
+                List.of(List.of("b", "c", "d"), List.of("e", "f")));
+        
+        // Then
+        await(progress);
+        assertThat(progress.getStatus()).isEqualTo(PropagationProgress.Status.FAILED);
+        assertThat(progress.getError()).isEqualTo("broker unavailable");
+        assertThat(progress.getPublishedChunks()).isEqualTo(1);
+        assertThat(progress.getCompletedLayers()).isZero();
+        verify(componentEventPublisher, times(2)).publishPropagation(any());
+    }
+    
+    private void await(PropagationProgress progress) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (progress.getStatus() == PropagationProgress.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+    
+    private UpdatePropagationEvent template() {
+        return UpdatePropagationEvent.builder()
+                .triggerComponentId("a")
+                .projectId("proj-1")
+                .propagationType(UpdatePropagationEvent.PropagationType.CASCADE)
+                .propagationDepth(3)
+                .build();
+    }
+}
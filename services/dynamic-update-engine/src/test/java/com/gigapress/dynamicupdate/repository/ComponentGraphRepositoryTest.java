@@ -0,0 +1,61 @@
+package com.gigapress.dynamicupdate.repository;
+
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.neo4j.DataNeo4jTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataNeo4jTest
+@Import(ComponentGraphRepository.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "test.neo4j.enabled", matches = "true")
+class ComponentGraphRepositoryTest {
+    
+    @Autowired
+    private Neo4jClient neo4jClient;
+    
+    @Autowired
+    private ComponentGraphRepository componentGraphRepository;
+    
+    @BeforeEach
+    void setUp() {
+        neo4jClient.query("MATCH (c:Component) DETACH DELETE c").run();
+        neo4jClient.query(
+                        "CREATE (:Component {componentId: 'web', projectId: 'proj-1', " +
+                        "`meta.tags`: ['ui', 'web'], `meta.framework`: 'react'}), " +
+                        "(:Component {componentId: 'api', projectId: 'proj-1', " +
+                        "`meta.tags`: ['api'], `meta.framework`: 'spring'})")
+                .run();
+    }
+    
+    @Test
+    void shouldMatchArrayMetadataByElement() {
+        // When & Then
+        assertThat(ids(Map.of("tags", "ui"))).containsExactly("web");
+        assertThat(ids(Map.of("tags", List.of("api", "cli")))).containsExactly("api");
+        assertThat(ids(Map.of("tags", "cli"))).isEmpty();
+    }
+    
+    @Test
+    void shouldMatchScalarMetadataByValue() {
+        // When & Then
+        assertThat(ids(Map.of("framework", "react"))).containsExactly("web");
+        assertThat(ids(Map.of("framework", List.of("react", "spring")))).containsExactly("api", "web");
+    }
+    
+    private List<String> ids(Map<String, Object> filters) {
+        return componentGraphRepository.findProjectSummariesByMetadata("proj-1", filters, null, 10).stream()
+                .map(ComponentSummary::getComponentId)
+                .toList();
+    }
+}
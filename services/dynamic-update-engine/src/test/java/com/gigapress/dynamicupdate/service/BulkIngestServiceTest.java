@@ -0,0 +1,169 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.cache.CacheInvalidationService;
+import com.gigapress.dynamicupdate.domain.ComponentType;
+import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.dto.BulkDependencyRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestRequest;
+import com.gigapress.dynamicupdate.dto.BulkIngestResponse;
+import com.gigapress.dynamicupdate.dto.ComponentRequest;
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.exception.CircularDependencyException;
+import com.gigapress.dynamicupdate.exception.ComponentNotFoundException;
+import com.gigapress.dynamicupdate.exception.DependencyConflictException;
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIngestServiceTest {
+    
+    @Mock
+    private ComponentGraphRepository componentGraphRepository;
+    
+    @Mock
+    private DependencyGraphIndex dependencyGraphIndex;
+    
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+    
+    @Mock
+    private ComponentEventPublisher componentEventPublisher;
+    
+    @Mock
+    private ComponentHistoryService componentHistoryService;
+    
+    @Mock
+    private ComponentMetadataService componentMetadataService;
+    
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    
+    private BulkIngestService bulkIngestService;
+    
+    @BeforeEach
+    void setUp() {
+        bulkIngestService = new BulkIngestService(componentGraphRepository, dependencyGraphIndex,
+                cacheInvalidationService, componentEventPublisher, componentHistoryService,
+                componentMetadataService, applicationEventPublisher, 2);
+        when(dependencyGraphIndex.graphForProject("proj-1")).thenReturn(Optional.empty());
+        when(componentGraphRepository.findProjectAdjacency("proj-1"))
+                .thenReturn(Map.of("existing", new ArrayList<>()));
+    }
+    
+    @Test
+    void shouldWriteInChunksAndPublishOneSummaryEvent() {
+        // Given
+        BulkIngestRequest request = request(
+                List.of(component("a"), component("b"), component("c")),
+                List.of(dependency("a", "b"), dependency("b", "c"), dependency("c", "existing")));
+        when(componentGraphRepository.upsertComponents(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        when(componentGraphRepository.mergeDependencies(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        
+        // When
+        BulkIngestResponse response = bulkIngestService.ingest(request);
+        
+        // Then
+        assertThat(response.getComponentsWritten()).isEqualTo(3);
+        assertThat(response.getDependenciesWritten()).isEqualTo(3);
+        verify(componentGraphRepository, times(2)).upsertComponents(anyList());
+        verify(componentGraphRepository, times(2)).mergeDependencies(anyList());
+        verify(componentHistoryService).recordBulkImport(List.of("a", "b"));
+        verify(componentHistoryService).recordBulkImport(List.of("c"));
+        
+        ArgumentCaptor<ComponentUpdateEvent> captor = ArgumentCaptor.forClass(ComponentUpdateEvent.class);
+        verify(componentEventPublisher, times(1)).publishComponentUpdate(captor.capture());
+        assertThat(captor.getValue().getUpdateType()).isEqualTo(ComponentUpdateEvent.UpdateType.BULK_IMPORT);
+        assertThat(captor.getValue().getChanges())
+                .containsEntry("componentsWritten", 3)
+                .doesNotContainKey("componentIds");
+    }
+    
+    @Test
+    void shouldRejectComponentDeclaringAnotherProject() {
+        // Given
+        ComponentRequest stray = new ComponentRequest("a", "Component a", ComponentType.SERVICE, "1.0.0", "proj-2", null);
+        BulkIngestRequest request = request(List.of(stray), List.of());
+        
+        // When & Then
+        assertThatThrownBy(() -> bulkIngestService.ingest(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("proj-2");
+        verify(componentGraphRepository, never()).upsertComponents(anyList());
+    }
+    
+    @Test
+    void shouldRefuseToTakeOverComponentsOfAnotherProject() {
+        // Given
+        BulkIngestRequest request = request(List.of(component("a"), component("b")), List.of());
+        when(componentGraphRepository.findComponentsOwnedElsewhere("proj-1", List.of("a", "b")))
+                .thenReturn(List.of("b"));
+        
+        // When & Then
+        assertThatThrownBy(() -> bulkIngestService.ingest(request))
+                .isInstanceOf(DependencyConflictException.class)
+                .hasMessageContaining("b");
+        verify(componentGraphRepository, never()).upsertComponents(anyList());
+    }
+    
+    @Test
+    void shouldRejectCycleAcrossBatchBeforeWriting() {
+        // Given
+        BulkIngestRequest request = request(
+                List.of(component("a"), component("b"), component("c")),
+                List.of(dependency("a", "b"), dependency("b", "c"), dependency("c", "a")));
+        
+        // When & Then
+        assertThatThrownBy(() -> bulkIngestService.ingest(request))
+                .isInstanceOf(CircularDependencyException.class);
+        verify(componentGraphRepository, never()).upsertComponents(anyList());
+    }
+    
+    @Test
+    void shouldRejectUnknownTarget() {
+        // Given
+        BulkIngestRequest request = request(List.of(component("a")), List.of(dependency("a", "missing")));
+        
+        // When & Then
+        assertThatThrownBy(() -> bulkIngestService.ingest(request))
+                .isInstanceOf(ComponentNotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+    
+    private BulkIngestRequest request(List<ComponentRequest> components, List<BulkDependencyRequest> dependencies) {
+        return BulkIngestRequest.builder()
+                .projectId("proj-1")
+                .components(new ArrayList<>(components))
+                .dependencies(new ArrayList<>(dependencies))
+                .build();
+    }
+    
+    private ComponentRequest component(String id) {
+        return new ComponentRequest(id, "Component " + id, ComponentType.SERVICE, "1.0.0", "proj-1", null);
+    }
+    
+    private BulkDependencyRequest dependency(String source, String target) {
+        return BulkDependencyRequest.builder()
+                .sourceComponentId(source)
+                .targetComponentId(target)
+                .type(DependencyType.COMPILE)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.dto.ComponentDiff;
+import com.gigapress.dynamicupdate.dto.ComponentRevision;
+import com.gigapress.dynamicupdate.graph.GraphSnapshot;
+import com.gigapress.dynamicupdate.repository.ComponentHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentHistoryServiceTest {
+    
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+    
+    @Mock
+    private ComponentHistoryRepository componentHistoryRepository;
+    
+    private ComponentHistoryService componentHistoryService;
+    
+    @BeforeEach
+    void setUp() {
+        componentHistoryService = new ComponentHistoryService(componentHistoryRepository, 3);
+    }
+    
+    @Test
+    void shouldReplayDeltasOnTopOfCheckpoint() {
+        // Given
+        when(componentHistoryRepository.findReplay("comp-1", 3)).thenReturn(List.of(
+                checkpoint("comp-1", 1, "1.0.0", "ACTIVE", "{}"),
+                delta("comp-1", 2, "version", "1.1.0"),
+                delta("comp-1", 3, "metadata", null)));
+        
+        // When
+        ComponentRevision state = componentHistoryService.getStateAt("comp-1", 3).orElseThrow();
+        
+        // Then
+        assertThat(state.getRevision()).isEqualTo(3);
+        assertThat(state.getProperties())
+                .containsEntry("version", "1.1.0")
+                .containsEntry("status", "ACTIVE")
+                .containsEntry("metadata", null);
+    }
+    
+    @Test
+    void shouldDiffTwoRevisions() {
+        // Given
+        when(componentHistoryRepository.findReplay("comp-1", 1)).thenReturn(List.of(
+                checkpoint("comp-1", 1, "1.0.0", "ACTIVE", "{}")));
+        when(componentHistoryRepository.findReplay("comp-1", 2)).thenReturn(List.of(
+                checkpoint("comp-1", 1, "1.0.0", "ACTIVE", "{}"),
+                delta("comp-1", 2, "status", "DEPRECATED")));
+        
+        // When
+        ComponentDiff diff = componentHistoryService.diff("comp-1", 1, 2);
+        
+        // Then
+        assertThat(diff.getChanges()).containsOnlyKeys("status");
+        assertThat(diff.getChanges().get("status").getFrom()).isEqualTo("ACTIVE");
+        assertThat(diff.getChanges().get("status").getTo()).isEqualTo("DEPRECATED");
+    }
+    
+    @Test
+    void shouldSkipUpdatesWithoutChanges() {
+        // When
+        componentHistoryService.recordUpdate("comp-1", Map.of());
+        
+        // Then
+        verifyNoInteractions(componentHistoryRepository);
+    }
+    
+    @Test
+    void shouldRebuildProjectGraphAtPointInTime() {
+        // Given: b was created after T0, legacy has no history yet
+        when(componentHistoryRepository.findProjectReplay("proj-1", T0)).thenReturn(List.of(
+                checkpoint("a", 1, "1.0.0", "ACTIVE", null),
+                delta("a", 2, "version", "1.1.0"),
+                checkpoint("c", 1, "3.0.0", "ACTIVE", null)));
+        when(componentHistoryRepository.findUntrackedComponents("proj-1", T0)).thenReturn(List.of(
+                checkpoint("legacy", 0, "0.9.0", "ACTIVE", null)));
+        Map<String, List<String>> edges = new HashMap<>();
+        edges.put("a", List.of("c", "b"));
+        edges.put("c", List.of("legacy"));
+        when(componentHistoryRepository.findProjectEdgesAt("proj-1", T0)).thenReturn(edges);
+        
+        // When
+        GraphSnapshot snapshot = componentHistoryService.getProjectGraphAt("proj-1", T0);
+        
+        // Then
+        assertThat(snapshot.getComponentIds()).containsExactly("a", "c", "legacy");
+        assertThat(snapshot.getVersions()).containsExactly("1.1.0", "3.0.0", "0.9.0");
+        assertThat(snapshot.edgeCount()).isEqualTo(2);
+    }
+    
+    private ComponentRevision checkpoint(String componentId, int revision, String version, String status, String metadata) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", componentId);
+        properties.put("type", "BACKEND");
+        properties.put("version", version);
+        properties.put("status", status);
+        properties.put("metadata", metadata);
+        return ComponentRevision.builder()
+                .componentId(componentId)
+                .revision(revision)
+                .kind(ComponentHistoryService.CREATE)
+                .at(T0.minusHours(1))
+                .checkpoint(true)
+                .properties(properties)
+                .build();
+    }
+    
+    private ComponentRevision delta(String componentId, int revision, String property, Object value) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(property, value);
+        return ComponentRevision.builder()
+                .componentId(componentId)
+                .revision(revision)
+                .kind(ComponentHistoryService.UPDATE)
+                .at(T0.minusMinutes(30))
+                .properties(properties)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gigapress.dynamicupdate.repository.ComponentMetadataRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentMetadataServiceTest {
+    
+    @Mock
+    private ComponentMetadataRepository componentMetadataRepository;
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRemovePropertiesOfKeysNoLongerInMetadata() {
+        // Given
+        ComponentMetadataService service = new ComponentMetadataService(componentMetadataRepository,
+                new ObjectMapper(), false, List.of(), 100);
+        when(componentMetadataRepository.findMetadataPropertyNames(anyCollection()))
+                .thenReturn(Map.of("comp-1", Set.of("meta.framework", "meta.tier")));
+        
+        // When
+        service.index("comp-1", "{\"framework\":\"vue\"}");
+        
+        // Then
+        ArgumentCaptor<List<Map<String, Object>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(componentMetadataRepository).writeMetadataProperties(captor.capture());
+        Map<String, Object> properties = (Map<String, Object>) captor.getValue().get(0).get("properties");
+        assertThat(properties)
+                .containsEntry("meta.framework", "vue")
+                .containsEntry("meta.tier", null)
+                .hasSize(2);
+    }
+    
+    @Test
+    void shouldBackfillInComponentIdOrder() {
+        // Given
+        ComponentMetadataService service = new ComponentMetadataService(componentMetadataRepository,
+                new ObjectMapper(), true, List.of(), 2);
+        when(componentMetadataRepository.findUnindexed("", 2)).thenReturn(List.of(
+                Map.of("componentId", "a", "metadata", "{\"tier\":\"web\"}"),
+                Map.of("componentId", "b", "metadata", "{}")));
+        when(componentMetadataRepository.findUnindexed("b", 2)).thenReturn(List.of());
+        when(componentMetadataRepository.findMetadataPropertyNames(anyCollection())).thenReturn(Map.of());
+        
+        // When
+        int indexed = service.backfill();
+        
+        // Then
+        assertThat(indexed).isEqualTo(2);
+        verify(componentMetadataRepository).writeMetadataProperties(anyList());
+    }
+}
@@ -1,20 +1,34 @@
 package com.gigapress.dynamicupdate.service;
 
+import com.gigapress.dynamicupdate.cache.CacheInvalidationService;
 import com.gigapress.dynamicupdate.domain.Component;
 import com.gigapress.dynamicupdate.domain.ComponentStatus;
 import com.gigapress.dynamicupdate.domain.ComponentType;
 import com.gigapress.dynamicupdate.domain.DependencyType;
+import com.gigapress.dynamicupdate.dto.ComponentPage;
+import com.gigapress.dynamicupdate.dto.ComponentSummary;
 import com.gigapress.dynamicupdate.exception.CircularDependencyException;
+import com.gigapress.dynamicupdate.event.ComponentEventPublisher;
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.PropagationRequest;
+import com.gigapress.dynamicupdate.graph.DependencyCheck;
+import com.gigapress.dynamicupdate.graph.DependencyGraphIndex;
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
 import com.gigapress.dynamicupdate.repository.ComponentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,7 +43,25 @@ class ComponentServiceTest {
     private ComponentRepository componentRepository;
     
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ComponentGraphRepository componentGraphRepository;
+    
+    @Mock
+    private ComponentEventPublisher componentEventPublisher;
+    
+    @Mock
+    private DependencyGraphIndex dependencyGraphIndex;
+    
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+    
+    @Mock
+    private ComponentHistoryService componentHistoryService;
+    
+    @Mock
+    private ComponentMetadataService componentMetadataService;
+    
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
     
     @InjectMocks
     private ComponentService componentService;
@@ -46,7 +78,7 @@ class ComponentServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getComponentId()).isEqualTo("comp-123");
-        verify(kafkaTemplate, times(1)).send(anyString(), any());
+        verify(componentEventPublisher, times(1)).publishComponentUpdate(any(ComponentUpdateEvent.class));
     }
     
     @Test
@@ -58,9 +90,8 @@ class ComponentServiceTest {
         // Set up mock to simulate that comp2 already depends on comp1
         when(componentRepository.findByComponentId("comp-1")).thenReturn(Optional.of(comp1));
         when(componentRepository.findByComponentId("comp-2")).thenReturn(Optional.of(comp2));
-        
-        // Simulate circular dependency: comp2 -> comp1, and trying to add comp1 -> comp2
-        comp2.addDependency(comp1, DependencyType.COMPILE);
+        when(dependencyGraphIndex.tryAddDependency("proj-123", "comp-1", "comp-2"))
+                .thenReturn(DependencyCheck.CYCLE);
         
         // When & Then
         assertThatThrownBy(() -> 
@@ -69,6 +100,92 @@ class ComponentServiceTest {
          .hasMessageContaining("Circular dependency detected");
     }
     
+    @Test
+    void shouldFallBackToGraphQueryWhenIndexCannotDecide() {
+        // Given
+        Component comp1 = createTestComponent("comp-1", "Component 1");
+        Component comp2 = createTestComponent("comp-2", "Component 2");
+        when(componentRepository.findByComponentId("comp-1")).thenReturn(Optional.of(comp1));
+        when(componentRepository.findByComponentId("comp-2")).thenReturn(Optional.of(comp2));
+        when(dependencyGraphIndex.tryAddDependency("proj-123", "comp-1", "comp-2"))
+                .thenReturn(DependencyCheck.UNAVAILABLE);
+        when(componentGraphRepository.dependsOn("comp-2", "comp-1")).thenReturn(false);
+        
+        // When
+        componentService.addDependency("comp-1", "comp-2", DependencyType.COMPILE);
+        
+        // Then
+        verify(componentRepository).save(comp1);
+        verify(cacheInvalidationService).dependencyChanged("comp-1", "comp-2");
+    }
+    
+    @Test
+    void shouldPageProjectComponentsByCursor() {
+        // Given: one row more than requested signals another page
+        when(componentGraphRepository.findProjectComponentSummaries("proj-123", null, 3))
+                .thenReturn(new ArrayList<>(List.of(summary("comp-1"), summary("comp-2"), summary("comp-3"))));
+        
+        // When
+        ComponentPage first = componentService.findProjectComponentPage("proj-123", null, 2);
+        
+        // Then
+        assertThat(first.getItems()).extracting(ComponentSummary::getComponentId).containsExactly("comp-1", "comp-2");
+        assertThat(first.getNextCursor()).isNotNull();
+        
+        // When: the cursor resumes after the last item
+        when(componentGraphRepository.findProjectComponentSummaries("proj-123", "comp-2", 3))
+                .thenReturn(new ArrayList<>(List.of(summary("comp-3"))));
+        ComponentPage second = componentService.findProjectComponentPage("proj-123", first.getNextCursor(), 2);
+        
+        // Then
+        assertThat(second.getItems()).extracting(ComponentSummary::getComponentId).containsExactly("comp-3");
+        assertThat(second.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void shouldHandVersionChangeToPropagationAfterCommit() {
+        // Given
+        Component component = createTestComponent("comp-1", "Component 1");
+        when(componentRepository.findByComponentId("comp-1")).thenReturn(Optional.of(component));
+        when(componentRepository.save(any(Component.class))).thenReturn(component);
+        
+        // When
+        componentService.updateComponent("comp-1", Map.of("version", "2.0.0"));
+        
+        // Then
+        verify(componentHistoryService).recordUpdate("comp-1", Map.of("version", "2.0.0"));
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(applicationEventPublisher, atLeastOnce()).publishEvent(captor.capture());
+        ComponentUpdateEvent update = captor.getAllValues().stream()
+                .filter(PropagationRequest.class::isInstance)
+                .map(event -> ((PropagationRequest) event).update())
+                .findFirst()
+                .orElseThrow();
+        assertThat(update.getUpdateType()).isEqualTo(ComponentUpdateEvent.UpdateType.VERSION_CHANGE);
+        assertThat(update.getPreviousVersion()).isEqualTo("1.0.0");
+        assertThat(update.getNewVersion()).isEqualTo("2.0.0");
+        assertThat(update.getChanges()).containsEntry("version", "2.0.0");
+        verify(componentEventPublisher, never()).publishPropagation(any());
+    }
+    
+    @Test
+    void shouldExpandColdIndexLayersInsideTriggerProject() {
+        // Given
+        when(dependencyGraphIndex.graphForComponent("comp-1")).thenReturn(Optional.empty());
+        when(componentGraphRepository.findProjectId("comp-1")).thenReturn(Optional.of("proj-123"));
+        Map<String, Integer> dependents = new LinkedHashMap<>();
+        dependents.put("comp-2", 1);
+        dependents.put("comp-3", 1);
+        dependents.put("comp-4", 2);
+        when(componentGraphRepository.findTransitiveDependents("proj-123", List.of("comp-1"))).thenReturn(dependents);
+        
+        // When
+        List<List<String>> layers = componentService.getAffectedComponentLayers(null, List.of("comp-1"));
+        
+        // Then
+        assertThat(layers).containsExactly(List.of("comp-2", "comp-3"), List.of("comp-4"));
+    }
+    
     private Component createTestComponent(String id, String name) {
         return Component.builder()
                 .componentId(id)
@@ -81,4 +198,11 @@ class ComponentServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+    
+    private ComponentSummary summary(String id) {
+        return ComponentSummary.builder()
+                .componentId(id)
+                .projectId("proj-123")
+                .build();
+    }
 }
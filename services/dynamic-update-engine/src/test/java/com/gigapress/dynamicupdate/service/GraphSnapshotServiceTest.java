@@ -0,0 +1,60 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.repository.ComponentGraphRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GraphSnapshotServiceTest {
+
+    @Mock
+    private ComponentGraphRepository componentGraphRepository;
+
+    private GraphSnapshotService graphSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        graphSnapshotService = new GraphSnapshotService(componentGraphRepository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldReuseSnapshotUntilInvalidated() {
+        // Given
+        when(componentGraphRepository.findProjectSnapshotRows("proj-1")).thenReturn(List.of());
+
+        // When
+        graphSnapshotService.getSnapshot("proj-1");
+        graphSnapshotService.getSnapshot("proj-1");
+        graphSnapshotService.invalidate("proj-1");
+        graphSnapshotService.getSnapshot("proj-1");
+
+        // Then
+        verify(componentGraphRepository, times(2)).findProjectSnapshotRows("proj-1");
+    }
+
+    @Test
+    void shouldNotCacheSnapshotInvalidatedWhileBuilding() {
+        // Given: a change commits while the first build is still reading the graph
+        when(componentGraphRepository.findProjectSnapshotRows("proj-1"))
+                .thenAnswer(invocation -> {
+                    graphSnapshotService.invalidate("proj-1");
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        // When
+        graphSnapshotService.getSnapshot("proj-1");
+        graphSnapshotService.getSnapshot("proj-1");
+
+        // Then: the stale build was served once but not kept
+        verify(componentGraphRepository, times(2)).findProjectSnapshotRows("proj-1");
+    }
+}
@@ -0,0 +1,79 @@
+package com.gigapress.dynamicupdate.service;
+
+import com.gigapress.dynamicupdate.event.ComponentUpdateEvent;
+import com.gigapress.dynamicupdate.event.UpdatePropagationEvent;
+import com.gigapress.dynamicupdate.propagation.PropagationExecutor;
+import com.gigapress.dynamicupdate.propagation.PropagationProgress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdatePropagationServiceTest {
+    
+    @Mock
+    private ComponentService componentService;
+    
+    @Mock
+    private PropagationExecutor propagationExecutor;
+    
+    @Mock
+    private ImpactScoringService impactScoringService;
+    
+    @InjectMocks
+    private UpdatePropagationService updatePropagationService;
+    
+    @Test
+    void shouldAcceptBatchedEventsWithoutChanges() {
+        // Given: version changes carry no changes map, and nothing depends on either component
+        List<ComponentUpdateEvent> events = List.of(versionChange("comp-1"), versionChange("comp-2"));
+        when(componentService.getAffectedComponentLayers("proj-1", List.of("comp-1", "comp-2")))
+                .thenReturn(List.of());
+        
+        // When
+        updatePropagationService.analyzeAndPropagateChanges("proj-1", events);
+        
+        // Then
+        verifyNoInteractions(propagationExecutor);
+    }
+    
+    @Test
+    void shouldReportShortestDistanceAsPropagationDepth() {
+        // Given: b and c both depend on a, and c also depends on b, so c is one layer below b
+        List<List<String>> layers = List.of(List.of("b"), List.of("c"));
+        ComponentUpdateEvent event = versionChange("a");
+        when(componentService.getAffectedComponentLayers("proj-1", List.of("a"))).thenReturn(layers);
+        when(impactScoringService.prune(List.of("a"), layers)).thenReturn(layers);
+        when(componentService.getAffectedComponentDistances("a")).thenReturn(Map.of("b", 1, "c", 1));
+        when(propagationExecutor.propagate(any(), eq(layers))).thenReturn(mock(PropagationProgress.class));
+        
+        // When
+        updatePropagationService.analyzeAndPropagateChanges(event);
+        
+        // Then
+        ArgumentCaptor<UpdatePropagationEvent> captor = ArgumentCaptor.forClass(UpdatePropagationEvent.class);
+        verify(propagationExecutor).propagate(captor.capture(), eq(layers));
+        assertThat(captor.getValue().getPropagationDepth()).isEqualTo(1);
+    }
+    
+    private ComponentUpdateEvent versionChange(String componentId) {
+        return ComponentUpdateEvent.builder()
+                .eventId(componentId + "-evt")
+                .componentId(componentId)
+                .projectId("proj-1")
+                .updateType(ComponentUpdateEvent.UpdateType.VERSION_CHANGE)
+                .newVersion("2.0.0")
+                .build();
+    }
+}
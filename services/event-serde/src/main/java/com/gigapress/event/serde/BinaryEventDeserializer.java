@@ -0,0 +1,63 @@
+package com.gigapress.event.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads records in the {@link EventWireFormat}, dispatching on the type id instead of type headers.
+ * Records that are not binary, from producers still on JSON, go through a {@link JsonDeserializer}
+ * configured from the same consumer properties. Like {@link BinaryEventSerializer}, each service
+ * subclasses this with its own codecs.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+    private final Map<Integer, EventCodec<?>> codecs = new HashMap<>();
+    private final JsonDeserializer<Object> fallback = new JsonDeserializer<>();
+
+    public BinaryEventDeserializer(List<EventCodec<?>> codecs) {
+        codecs.forEach(codec -> this.codecs.put(codec.typeId(), codec));
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < 2 || (data[0] & 0xFF) != EventWireFormat.MAGIC) {
+            return headers != null ? fallback.deserialize(topic, headers, data) : fallback.deserialize(topic, data);
+        }
+        EventCodec<?> codec = codecs.get(data[1] & 0xFF);
+        if (codec == null) {
+            throw new SerializationException("Unknown event type " + (data[1] & 0xFF) + " on topic " + topic);
+        }
+        try {
+            EventReader reader = new EventReader(data, 2);
+            int version = reader.readVarInt();
+            return codec.read(reader, version);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Malformed " + codec.eventType().getSimpleName()
+                    + " on topic " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
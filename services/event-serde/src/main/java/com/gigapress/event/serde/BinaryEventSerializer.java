@@ -0,0 +1,62 @@
+package com.gigapress.event.serde;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes events that have a codec in the {@link EventWireFormat}; anything else falls back to JSON.
+ * Binary records carry no type headers, the type id in the payload is enough. Kafka creates
+ * serializers by class name, so each service subclasses this with a no-arg constructor passing
+ * its own codecs.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    private final Map<Class<?>, EventCodec<?>> codecs = new HashMap<>();
+    private final JsonSerializer<Object> fallback = new JsonSerializer<>();
+
+    public BinaryEventSerializer(List<EventCodec<?>> codecs) {
+        codecs.forEach(codec -> this.codecs.put(codec.eventType(), codec));
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        EventCodec<?> codec = codecs.get(data.getClass());
+        if (codec == null) {
+            return headers != null ? fallback.serialize(topic, headers, data) : fallback.serialize(topic, data);
+        }
+        return encode(codec, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] encode(EventCodec<T> codec, Object data) {
+        EventWriter writer = new EventWriter(256);
+        writer.writeByte(EventWireFormat.MAGIC);
+        writer.writeByte(codec.typeId());
+        writer.writeVarInt(codec.schemaVersion());
+        codec.write((T) data, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.gigapress.event.serde;
+
+/**
+ * Encodes one event type in the {@link EventWireFormat}.
+ */
+public interface EventCodec<T> {
+
+    int typeId();
+
+    Class<T> eventType();
+
+    /**
+     * Version written by {@link #write}; bump it whenever fields are appended.
+     */
+    int schemaVersion();
+
+    void write(T event, EventWriter writer);
+
+    /**
+     * Reads a payload written at {@code version}, which may be older or newer than {@link #schemaVersion()}.
+     */
+    T read(EventReader reader, int version);
+}
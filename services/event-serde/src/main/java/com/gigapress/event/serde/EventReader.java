@@ -0,0 +1,156 @@
+package com.gigapress.event.serde;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Reads values written by {@link EventWriter}. Fields are read in order; whatever follows the
+ * last field a reader knows about belongs to newer schema versions and is ignored.
+ */
+public final class EventReader {
+
+    private final byte[] data;
+    private int position;
+
+    public EventReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= data.length) {
+            throw new IllegalArgumentException("Truncated event payload");
+        }
+        return data[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in event payload");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public long readSignedLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte();
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > data.length - position) {
+            throw new IllegalArgumentException("Truncated event payload");
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Constants unknown to this reader (added by a newer producer) map to null.
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public LocalDateTime readDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readSignedLong();
+        return LocalDateTime.ofEpochSecond(seconds, readVarInt(), ZoneOffset.UTC);
+    }
+
+    public List<String> readStringList() {
+        int count = readVarInt() - 1;
+        if (count < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(Math.min(count, data.length - position));
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    public Map<String, Object> readMap() {
+        int count = readVarInt() - 1;
+        if (count < 0) {
+            return null;
+        }
+        return readEntries(count);
+    }
+
+    public Object readValue() {
+        int tag = readByte();
+        switch (tag) {
+            case EventWireFormat.VALUE_NULL:
+                return null;
+            case EventWireFormat.VALUE_STRING:
+                return readString();
+            case EventWireFormat.VALUE_INT:
+                return (int) readSignedLong();
+            case EventWireFormat.VALUE_LONG:
+                return readSignedLong();
+            case EventWireFormat.VALUE_DOUBLE:
+                return readDouble();
+            case EventWireFormat.VALUE_BOOLEAN:
+                return readBoolean();
+            case EventWireFormat.VALUE_LIST: {
+                int count = readVarInt();
+                List<Object> values = new ArrayList<>(Math.min(count, data.length - position));
+                for (int i = 0; i < count; i++) {
+                    values.add(readValue());
+                }
+                return values;
+            }
+            case EventWireFormat.VALUE_MAP:
+                return readEntries(readVarInt());
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag + " in event payload");
+        }
+    }
+
+    private Map<String, Object> readEntries(int count) {
+        Map<String, Object> values = new LinkedHashMap<>(Math.min(count, data.length - position) * 2);
+        for (int i = 0; i < count; i++) {
+            String key = readString();
+            values.put(key, readValue());
+        }
+        return values;
+    }
+}
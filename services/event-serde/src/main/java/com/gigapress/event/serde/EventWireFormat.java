@@ -0,0 +1,40 @@
+package com.gigapress.event.serde;
+
+/**
+ * Binary event format shared by GigaPress services.
+ * <pre>
+ *   byte    MAGIC (0xE7, never the first byte of a JSON document)
+ *   byte    event type id
+ *   varint  schema version of the payload
+ *   ...     fields of that version, in declaration order
+ * </pre>
+ * Schemas evolve by appending fields and bumping the version. A reader ignores bytes after the
+ * fields it knows (written by a newer producer) and defaults fields newer than the payload's
+ * version (written by an older producer). Fields are never removed or reordered and type ids are
+ * never reused. Every service links this module, so the type ids below are allocated here and
+ * each service registers codecs only for the ids it owns.
+ */
+public final class EventWireFormat {
+
+    public static final int MAGIC = 0xE7;
+
+    // Owned by the dynamic-update-engine
+    public static final int COMPONENT_UPDATE = 1;
+    public static final int DEPENDENCY_CHANGE = 2;
+    public static final int UPDATE_PROPAGATION = 3;
+    // Owned by the mcp-server
+    public static final int PROJECT_EVENT = 4;
+    public static final int ANALYSIS_EVENT = 5;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_STRING = 1;
+    static final int VALUE_INT = 2;
+    static final int VALUE_LONG = 3;
+    static final int VALUE_DOUBLE = 4;
+    static final int VALUE_BOOLEAN = 5;
+    static final int VALUE_LIST = 6;
+    static final int VALUE_MAP = 7;
+
+    private EventWireFormat() {
+    }
+}
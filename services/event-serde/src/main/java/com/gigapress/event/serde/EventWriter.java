@@ -0,0 +1,160 @@
+package com.gigapress.event.serde;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends primitive values in the binary event format. Lengths and integers are unsigned LEB128
+ * varints; nullable values carry a presence marker, see {@link EventWireFormat}.
+ */
+public final class EventWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public EventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeSignedLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    /**
+     * Nullable string: 0 for null, otherwise UTF-8 length + 1 followed by the bytes.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Enums travel by name so constants can be added or reordered without breaking old readers.
+     */
+    public void writeEnum(Enum<?> value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    public void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(value.getNano());
+    }
+
+    public void writeStringList(Collection<String> values) {
+        if (values == null) {
+            writeByte(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        values.forEach(this::writeString);
+    }
+
+    public void writeMap(Map<String, ?> values) {
+        if (values == null) {
+            writeByte(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        values.forEach((key, value) -> {
+            writeString(key);
+            writeValue(value);
+        });
+    }
+
+    /**
+     * Self-describing value for free-form maps such as change sets: a type tag followed by the value.
+     * Types without a tag are written as their string form.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeValue(Object value) {
+        if (value == null) {
+            writeByte(EventWireFormat.VALUE_NULL);
+        } else if (value instanceof String string) {
+            writeByte(EventWireFormat.VALUE_STRING);
+            writeString(string);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeByte(EventWireFormat.VALUE_INT);
+            writeSignedLong(((Number) value).longValue());
+        } else if (value instanceof Long number) {
+            writeByte(EventWireFormat.VALUE_LONG);
+            writeSignedLong(number);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeByte(EventWireFormat.VALUE_DOUBLE);
+            writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean bool) {
+            writeByte(EventWireFormat.VALUE_BOOLEAN);
+            writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            writeByte(EventWireFormat.VALUE_LIST);
+            writeVarInt(list.size());
+            list.forEach(this::writeValue);
+        } else if (value instanceof Map<?, ?> map) {
+            writeByte(EventWireFormat.VALUE_MAP);
+            writeVarInt(map.size());
+            ((Map<Object, Object>) map).forEach((key, entry) -> {
+                writeString(String.valueOf(key));
+                writeValue(entry);
+            });
+        } else {
+            writeByte(EventWireFormat.VALUE_STRING);
+            writeString(value.toString());
+        }
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
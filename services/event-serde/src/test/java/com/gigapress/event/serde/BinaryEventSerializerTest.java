@@ -0,0 +1,107 @@
+package com.gigapress.event.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventSerializerTest {
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer(List.of(new SampleCodec()));
+    private final BinaryEventDeserializer deserializer = new BinaryEventDeserializer(List.of(new SampleCodec()));
+
+    @Test
+    void shouldRoundTripEveryFieldType() {
+        // Given
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("count", 3);
+        details.put("total", 5_000_000_000L);
+        details.put("ratio", 0.5);
+        details.put("enabled", true);
+        details.put("missing", null);
+        details.put("tags", List.of("ui", "web"));
+        details.put("nested", Map.of("key", "value"));
+        Sample event = new Sample("evt-1", Thread.State.RUNNABLE, LocalDateTime.of(2024, 5, 1, 12, 0, 30),
+                List.of("comp-1", "comp-2"), details);
+
+        // When
+        byte[] encoded = serializer.serialize("samples", event);
+        Object decoded = deserializer.deserialize("samples", encoded);
+
+        // Then
+        assertThat(encoded[0] & 0xFF).isEqualTo(EventWireFormat.MAGIC);
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void shouldRoundTripNullFields() {
+        // Given
+        Sample event = new Sample(null, null, null, null, null);
+
+        // When
+        Object decoded = deserializer.deserialize("samples", serializer.serialize("samples", event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void shouldRejectUnknownTypeIdsAndTruncatedPayloads() {
+        // Given
+        byte[] encoded = serializer.serialize("samples", new Sample("evt-1", null, null, List.of(), Map.of()));
+        byte[] unknown = encoded.clone();
+        unknown[1] = (byte) 0x7F;
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("samples", unknown))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown event type 127");
+        assertThatThrownBy(() -> deserializer.deserialize("samples", truncated))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Malformed Sample");
+    }
+
+    record Sample(String id, Thread.State state, LocalDateTime at, List<String> ids, Map<String, Object> details) {
+    }
+
+    static final class SampleCodec implements EventCodec<Sample> {
+
+        @Override
+        public int typeId() {
+            return 0x7E;
+        }
+
+        @Override
+        public Class<Sample> eventType() {
+            return Sample.class;
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(Sample event, EventWriter writer) {
+            writer.writeString(event.id());
+            writer.writeEnum(event.state());
+            writer.writeDateTime(event.at());
+            writer.writeStringList(event.ids());
+            writer.writeMap(event.details());
+        }
+
+        @Override
+        public Sample read(EventReader reader, int version) {
+            return new Sample(reader.readString(), reader.readEnum(Thread.State.class), reader.readDateTime(),
+                    reader.readStringList(), reader.readMap());
+        }
+    }
+}
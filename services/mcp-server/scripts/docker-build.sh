@@ -6,7 +6,7 @@ echo "🐳 Building Docker image for MCP Server..."
 cd "$(dirname "$0")/.."
 
 # Build Docker image
-docker build -t gigapress/mcp-server:latest .
+docker build -f Dockerfile -t gigapress/mcp-server:latest ..
 
 if [ $? -eq 0 ]; then
     echo "✅ Docker image built successfully!"
@@ -0,0 +1,90 @@
+package com.gigapress.mcp.cache;
+
+import com.gigapress.mcp.client.DynamicUpdateEngineClient;
+import com.gigapress.mcp.model.domain.DependencyGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-project cache of dependency graphs fetched from the dynamic-update-engine.
+ * <p>
+ * Each entry holds one shared, cached fetch, so concurrent callers for a project wait on the same
+ * request instead of issuing their own. Entries are dropped when the engine reports a component or
+ * dependency change for the project, and expire after {@code mcp.graph-cache.ttl} in case an event
+ * is missed. The refetch after an invalidation is conditional on the last snapshot version, so a
+ * change that did not touch the graph costs a 304. Failed fetches are not cached.
+ */
+@Slf4j
+@Component
+public class DependencyGraphCache {
+    
+    private final DynamicUpdateEngineClient dynamicUpdateEngineClient;
+    private final Duration ttl;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public DependencyGraphCache(DynamicUpdateEngineClient dynamicUpdateEngineClient,
+                                @Value("${mcp.graph-cache.ttl:PT5M}") Duration ttl) {
+        this.dynamicUpdateEngineClient = dynamicUpdateEngineClient;
+        this.ttl = ttl;
+    }
+    
+    /**
+     * The project's dependency graph, from cache or a fetch shared with concurrent callers. Like
+     * the client, an empty graph is returned when the engine cannot be reached.
+     */
+    public Mono<DependencyGraph> get(String projectId) {
+        return Mono.defer(() -> entries.compute(projectId, (id, current) ->
+                    current != null && !current.isExpired() ? current : new Entry(id)).graph)
+            .onErrorResume(error -> {
+                log.warn("Serving empty dependency graph for project {}: {}", projectId, error.getMessage());
+                return Mono.just(new DependencyGraph());
+            });
+    }
+    
+    public void invalidate(String projectId) {
+        if (entries.remove(projectId) != null) {
+            invalidations.incrementAndGet();
+            log.debug("Invalidated cached dependency graph of project {}", projectId);
+        }
+    }
+    
+    public void invalidateAll() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "projects", entries.size(),
+            "fetches", fetches.get(),
+            "invalidations", invalidations.get());
+    }
+    
+    private final class Entry {
+        
+        private final Instant createdAt = Instant.now();
+        private final Mono<DependencyGraph> graph;
+        
+        private Entry(String projectId) {
+            fetches.incrementAndGet();
+            // Subscribers share one fetch; a failure evicts this entry so the next caller retries
+            this.graph = dynamicUpdateEngineClient.fetchDependencyGraph(projectId)
+                .doOnError(error -> entries.remove(projectId, this))
+                .cache();
+        }
+        
+        private boolean isExpired() {
+            return createdAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+}
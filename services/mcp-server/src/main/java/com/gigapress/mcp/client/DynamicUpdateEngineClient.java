@@ -3,11 +3,15 @@ package com.gigapress.mcp.client;
 import com.gigapress.mcp.model.domain.DependencyGraph;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -16,19 +20,48 @@ public class DynamicUpdateEngineClient {
     
     private final WebClient dynamicUpdateEngineWebClient;
     
+    // Last snapshot per project, revalidated with If-None-Match on every fetch
+    private final Map<String, GraphSnapshotDecoder.Snapshot> snapshots = new ConcurrentHashMap<>();
+    
     public Mono<DependencyGraph> getDependencyGraph(String projectId) {
+        return fetchDependencyGraph(projectId)
+            .onErrorReturn(new DependencyGraph()); // Return empty graph on error
+    }
+    
+    /**
+     * Like {@link #getDependencyGraph(String)} but signals failures instead of returning an empty
+     * graph, so callers that cache the result can tell the two apart.
+     */
+    public Mono<DependencyGraph> fetchDependencyGraph(String projectId) {
         log.debug("Fetching dependency graph for project: {}", projectId);
+        GraphSnapshotDecoder.Snapshot cached = snapshots.get(projectId);
         
         return dynamicUpdateEngineWebClient
             .get()
             .uri("/api/projects/{projectId}/dependency-graph", projectId)
-            .retrieve()
-            .bodyToMono(DependencyGraph.class)
+            .accept(MediaType.parseMediaType(GraphSnapshotDecoder.MEDIA_TYPE))
+            .headers(headers -> {
+                if (cached != null) {
+                    headers.setIfNoneMatch("\"" + cached.version() + "\"");
+                }
+            })
+            .exchangeToMono(response -> {
+                if (response.statusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                    log.debug("Dependency graph of project {} unchanged at version {}", projectId, cached.version());
+                    return Mono.just(cached.graph());
+                }
+                if (response.statusCode().is2xxSuccessful()) {
+                    return response.bodyToMono(byte[].class)
+                        .map(GraphSnapshotDecoder::decode)
+                        .doOnNext(snapshot -> snapshots.put(projectId, snapshot))
+                        .map(GraphSnapshotDecoder.Snapshot::graph);
+                }
+                return response.createException().flatMap(Mono::error);
+            })
             .timeout(Duration.ofSeconds(30))
             .doOnSuccess(graph -> log.debug("Retrieved dependency graph with {} nodes", 
                 graph.getNodes() != null ? graph.getNodes().size() : 0))
-            .doOnError(error -> log.error("Error fetching dependency graph", error))
-            .onErrorReturn(new DependencyGraph()); // Return empty graph on error
+            .doOnError(error -> log.error("Error fetching dependency graph", error));
     }
     
     public Mono<Void> updateDependencyGraph(String projectId, DependencyGraph graph) {
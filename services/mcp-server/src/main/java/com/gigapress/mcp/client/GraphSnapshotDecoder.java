@@ -0,0 +1,115 @@
+package com.gigapress.mcp.client;
+
+import com.gigapress.mcp.model.domain.Component;
+import com.gigapress.mcp.model.domain.DependencyGraph;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Decodes the dynamic update engine's binary project graph snapshot into a {@link DependencyGraph}.
+ * The format is defined by the engine's {@code GraphSnapshotCodec}: a header, a table of interned
+ * strings, per-node string references and per-node dependency index lists, all as varints.
+ */
+public final class GraphSnapshotDecoder {
+    
+    public static final String MEDIA_TYPE = "application/x-gigapress-graph";
+    
+    private static final int MAGIC = 0x47504753; // "GPGS"
+    private static final short FORMAT_VERSION = 1;
+    
+    private GraphSnapshotDecoder() {
+    }
+    
+    public record Snapshot(String projectId, String version, DependencyGraph graph) {
+    }
+    
+    public static Snapshot decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a graph snapshot");
+            }
+            short format = in.readShort();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported graph snapshot format: " + format);
+            }
+            String projectId = in.readUTF();
+            String version = in.readUTF();
+            
+            String[] table = new String[readVarInt(in)];
+            for (int i = 0; i < table.length; i++) {
+                byte[] utf8 = new byte[readVarInt(in)];
+                in.readFully(utf8);
+                table[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            
+            int n = readVarInt(in);
+            String[] ids = new String[n];
+            List<Component> components = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                ids[i] = lookup(table, readVarInt(in));
+                components.add(Component.builder()
+                    .componentId(ids[i])
+                    .componentName(lookup(table, readVarInt(in)))
+                    .type(parse(Component.ComponentType.class, lookup(table, readVarInt(in))))
+                    .version(lookup(table, readVarInt(in)))
+                    .status(parse(Component.ComponentStatus.class, lookup(table, readVarInt(in))))
+                    .dependencies(new ArrayList<>())
+                    .dependents(new ArrayList<>())
+                    .build());
+            }
+            
+            DependencyGraph graph = new DependencyGraph();
+            graph.setNodes(new HashMap<>(n * 2));
+            graph.setEdges(new ArrayList<>());
+            for (int i = 0; i < n; i++) {
+                graph.addNode(ids[i], components.get(i));
+            }
+            for (int i = 0; i < n; i++) {
+                int degree = readVarInt(in);
+                for (int d = 0; d < degree; d++) {
+                    int target = readVarInt(in);
+                    graph.addEdge(ids[i], ids[target], DependencyGraph.EdgeType.DEPENDS_ON);
+                    components.get(i).getDependencies().add(ids[target]);
+                    components.get(target).getDependents().add(ids[i]);
+                }
+            }
+            return new Snapshot(projectId, version, graph);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated graph snapshot", e);
+        }
+    }
+    
+    private static String lookup(String[] table, int ref) {
+        return ref == 0 ? null : table[ref - 1];
+    }
+    
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            // The engine knows more states than the MCP model, e.g. UPDATING
+            return null;
+        }
+    }
+    
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
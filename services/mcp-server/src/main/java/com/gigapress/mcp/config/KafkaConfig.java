@@ -2,12 +2,16 @@ package com.gigapress.mcp.config;
 
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import com.gigapress.mcp.event.serde.McpEventSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +23,17 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    // Consumers read both formats, so enable this only once every consumer of the topics is upgraded
+    @Value("${mcp.kafka.producer.binary-events:false}")
+    private boolean binaryEvents;
+    
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer eventFormatCustomizer() {
+        return producerFactory -> producerFactory.updateConfigs(Map.of(
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                binaryEvents ? McpEventSerializer.class : JsonSerializer.class));
+    }
+    
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -24,6 +24,10 @@ public class WebClientConfig {
     @Value("${dynamic-update-engine.read-timeout}")
     private int readTimeout;
     
+    // Graph snapshots of large projects exceed the 256 KB default buffer
+    @Value("${dynamic-update-engine.max-in-memory-size:16777216}")
+    private int maxInMemorySize;
+    
     @Bean
     public WebClient dynamicUpdateEngineWebClient() {
         HttpClient httpClient = HttpClient.create()
@@ -37,6 +41,7 @@ public class WebClientConfig {
         return WebClient.builder()
             .baseUrl(dynamicUpdateEngineBaseUrl)
             .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
             .build();
     }
 }
@@ -16,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
@@ -75,6 +76,43 @@ public class ToolController {
             });
     }
     
+    @PostMapping(value = "/analyze/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Analyze impact of many changes", 
+              description = "Analyzes a batch of proposed changes against one project and streams one result per change as it completes")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Results streamed as newline-delimited JSON"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public Flux<ApiResponse<ChangeAnalysisResponse>> analyzeChangeImpactBatch(
+            @Valid @RequestBody BatchChangeAnalysisRequest request,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+        
+        if (requestId == null) {
+            requestId = UUID.randomUUID().toString();
+        }
+        final String finalRequestId = requestId;
+        
+        log.info("Analyzing {} changes for project: {} [Request ID: {}]", 
+                request.getChanges().size(), request.getProjectId(), requestId);
+        
+        return changeAnalysisService.analyzeChanges(request)
+            .map(response -> ApiResponse.<ChangeAnalysisResponse>builder()
+                .success(true)
+                .data(response)
+                .requestId(finalRequestId)
+                .build())
+            .onErrorResume(error -> {
+                // Results already streamed stay valid; the failure is reported as the last element
+                log.error("Error analyzing batch of changes", error);
+                ApiResponse<ChangeAnalysisResponse> errorResponse = ApiResponse.error(
+                    "Failed to analyze change impact: " + error.getMessage(),
+                    "ANALYSIS_ERROR"
+                );
+                errorResponse.setRequestId(finalRequestId);
+                return Mono.just(errorResponse);
+            });
+    }
+    
     @PostMapping("/generate")
     @Operation(summary = "Generate project structure", 
               description = "Generates a new project structure based on requirements")
@@ -1,5 +1,8 @@
 package com.gigapress.mcp.event;
 
+import com.gigapress.mcp.cache.DependencyGraphCache;
+import com.gigapress.mcp.model.event.ComponentChangeEvent;
+import com.gigapress.mcp.model.event.DependencyChangeEvent;
 import com.gigapress.mcp.model.event.ProjectEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class EventConsumer {
     
+    private final DependencyGraphCache dependencyGraphCache;
+    
     @KafkaListener(topics = "project-generation", groupId = "mcp-server-group")
     public void handleProjectEvent(ProjectEvent event) {
         log.info("Received project event: {} for project: {}", 
@@ -37,4 +42,38 @@ public class EventConsumer {
         log.info("Received dependency update: {}", message);
         // Process dependency updates from Dynamic Update Engine
     }
+    
+    // Every instance keeps its own graph cache, so each one needs every change: a group per instance.
+    // JSON records from the engine name engine classes in their type headers, so they are read as
+    // the local event type instead.
+    @KafkaListener(topics = "component.changes", groupId = "mcp-server-graph-cache-${random.uuid}",
+        properties = {
+            "auto.offset.reset=latest",
+            "spring.json.use.type.headers=false",
+            "spring.json.value.default.type=com.gigapress.mcp.model.event.ComponentChangeEvent"
+        })
+    public void handleComponentChange(ComponentChangeEvent event) {
+        log.debug("Received component change: {} for component: {}", event.getUpdateType(), event.getComponentId());
+        invalidateGraph(event.getProjectId());
+    }
+    
+    @KafkaListener(topics = "dependency.events", groupId = "mcp-server-graph-cache-${random.uuid}",
+        properties = {
+            "auto.offset.reset=latest",
+            "spring.json.use.type.headers=false",
+            "spring.json.value.default.type=com.gigapress.mcp.model.event.DependencyChangeEvent"
+        })
+    public void handleDependencyChange(DependencyChangeEvent event) {
+        log.debug("Received dependency change: {} {} -> {}", event.getChangeType(),
+            event.getSourceComponentId(), event.getTargetComponentId());
+        invalidateGraph(event.getProjectId());
+    }
+    
+    private void invalidateGraph(String projectId) {
+        if (projectId == null) {
+            dependencyGraphCache.invalidateAll();
+        } else {
+            dependencyGraphCache.invalidate(projectId);
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package com.gigapress.mcp.event.serde;
+
+import com.gigapress.event.serde.EventCodec;
+import com.gigapress.event.serde.EventReader;
+import com.gigapress.event.serde.EventWireFormat;
+import com.gigapress.event.serde.EventWriter;
+import com.gigapress.mcp.model.event.AnalysisEvent;
+import com.gigapress.mcp.model.event.ComponentChangeEvent;
+import com.gigapress.mcp.model.event.DependencyChangeEvent;
+import com.gigapress.mcp.model.event.ProjectEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codecs for the events the mcp-server publishes and consumes. Engine events are read with the
+ * engine's field layout; fields this service does not use are skipped.
+ */
+public final class McpEventCodecs {
+    
+    public static final List<EventCodec<?>> ALL = List.of(new ProjectEventCodec(), new AnalysisEventCodec(),
+            new ComponentChangeCodec(), new DependencyChangeCodec());
+    
+    private McpEventCodecs() {
+    }
+    
+    static final class ProjectEventCodec implements EventCodec<ProjectEvent> {
+        
+        @Override
+        public int typeId() {
+            return EventWireFormat.PROJECT_EVENT;
+        }
+        
+        @Override
+        public Class<ProjectEvent> eventType() {
+            return ProjectEvent.class;
+        }
+        
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+        
+        @Override
+        public void write(ProjectEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeEnum(event.getEventType());
+            writer.writeString(event.getProjectId());
+            writer.writeString(event.getComponentId());
+            writer.writeMap(event.getPayload());
+            writer.writeString(event.getSourceService());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeString(event.getCorrelationId());
+            writer.writeMap(event.getMetadata());
+        }
+        
+        @Override
+        public ProjectEvent read(EventReader reader, int version) {
+            return ProjectEvent.builder()
+                    .eventId(reader.readString())
+                    .eventType(reader.readEnum(ProjectEvent.EventType.class))
+                    .projectId(reader.readString())
+                    .componentId(reader.readString())
+                    .payload(reader.readMap())
+                    .sourceService(reader.readString())
+                    .timestamp(reader.readDateTime())
+                    .correlationId(reader.readString())
+                    .metadata(toStringMap(reader.readMap()))
+                    .build();
+        }
+        
+        private static Map<String, String> toStringMap(Map<String, Object> values) {
+            if (values == null) {
+                return null;
+            }
+            Map<String, String> strings = new LinkedHashMap<>(values.size() * 2);
+            values.forEach((key, value) -> strings.put(key, value == null ? null : value.toString()));
+            return strings;
+        }
+    }
+    
+    static final class AnalysisEventCodec implements EventCodec<AnalysisEvent> {
+        
+        @Override
+        public int typeId() {
+            return EventWireFormat.ANALYSIS_EVENT;
+        }
+        
+        @Override
+        public Class<AnalysisEvent> eventType() {
+            return AnalysisEvent.class;
+        }
+        
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+        
+        @Override
+        public void write(AnalysisEvent event, EventWriter writer) {
+            writer.writeString(event.getAnalysisId());
+            writer.writeString(event.getProjectId());
+            writer.writeEnum(event.getAnalysisType());
+            writer.writeString(event.getTriggerSource());
+            writer.writeStringList(event.getAffectedComponents());
+            writer.writeMap(event.getAnalysisResults());
+            writer.writeStringList(event.getRecommendations());
+            writer.writeDateTime(event.getTimestamp());
+        }
+        
+        @Override
+        public AnalysisEvent read(EventReader reader, int version) {
+            return AnalysisEvent.builder()
+                    .analysisId(reader.readString())
+                    .projectId(reader.readString())
+                    .analysisType(reader.readEnum(AnalysisEvent.AnalysisType.class))
+                    .triggerSource(reader.readString())
+                    .affectedComponents(reader.readStringList())
+                    .analysisResults(reader.readMap())
+                    .recommendations(reader.readStringList())
+                    .timestamp(reader.readDateTime())
+                    .build();
+        }
+    }
+    
+    static final class ComponentChangeCodec implements EventCodec<ComponentChangeEvent> {
+        
+        @Override
+        public int typeId() {
+            return EventWireFormat.COMPONENT_UPDATE;
+        }
+        
+        @Override
+        public Class<ComponentChangeEvent> eventType() {
+            return ComponentChangeEvent.class;
+        }
+        
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+        
+        @Override
+        public void write(ComponentChangeEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeString(event.getComponentId());
+            writer.writeString(event.getProjectId());
+            writer.writeString(event.getUpdateType());
+            writer.writeString(event.getPreviousVersion());
+            writer.writeString(event.getNewVersion());
+            writer.writeMap(event.getChanges());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeString(null);
+            writer.writeString(null);
+        }
+        
+        @Override
+        public ComponentChangeEvent read(EventReader reader, int version) {
+            ComponentChangeEvent event = ComponentChangeEvent.builder()
+                    .eventId(reader.readString())
+                    .componentId(reader.readString())
+                    .projectId(reader.readString())
+                    .updateType(reader.readString())
+                    .previousVersion(reader.readString())
+                    .newVersion(reader.readString())
+                    .changes(reader.readMap())
+                    .timestamp(reader.readDateTime())
+                    .build();
+            // userId and reason
+            reader.readString();
+            reader.readString();
+            return event;
+        }
+    }
+    
+    static final class DependencyChangeCodec implements EventCodec<DependencyChangeEvent> {
+        
+        @Override
+        public int typeId() {
+            return EventWireFormat.DEPENDENCY_CHANGE;
+        }
+        
+        @Override
+        public Class<DependencyChangeEvent> eventType() {
+            return DependencyChangeEvent.class;
+        }
+        
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+        
+        @Override
+        public void write(DependencyChangeEvent event, EventWriter writer) {
+            writer.writeString(event.getEventId());
+            writer.writeString(event.getSourceComponentId());
+            writer.writeString(event.getTargetComponentId());
+            writer.writeString(event.getProjectId());
+            writer.writeString(event.getChangeType());
+            writer.writeString(event.getDependencyType());
+            writer.writeDateTime(event.getTimestamp());
+            writer.writeString(null);
+        }
+        
+        @Override
+        public DependencyChangeEvent read(EventReader reader, int version) {
+            DependencyChangeEvent event = DependencyChangeEvent.builder()
+                    .eventId(reader.readString())
+                    .sourceComponentId(reader.readString())
+                    .targetComponentId(reader.readString())
+                    .projectId(reader.readString())
+                    .changeType(reader.readString())
+                    .dependencyType(reader.readString())
+                    .timestamp(reader.readDateTime())
+                    .build();
+            // metadata
+            reader.readString();
+            return event;
+        }
+    }
+}
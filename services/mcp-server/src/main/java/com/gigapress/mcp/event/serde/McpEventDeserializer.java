@@ -0,0 +1,13 @@
+package com.gigapress.mcp.event.serde;
+
+import com.gigapress.event.serde.BinaryEventDeserializer;
+
+/**
+ * {@link BinaryEventDeserializer} for the {@link McpEventCodecs}.
+ */
+public class McpEventDeserializer extends BinaryEventDeserializer {
+
+    public McpEventDeserializer() {
+        super(McpEventCodecs.ALL);
+    }
+}
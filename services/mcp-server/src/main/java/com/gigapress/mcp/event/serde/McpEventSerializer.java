@@ -0,0 +1,13 @@
+package com.gigapress.mcp.event.serde;
+
+import com.gigapress.event.serde.BinaryEventSerializer;
+
+/**
+ * {@link BinaryEventSerializer} for the {@link McpEventCodecs}.
+ */
+public class McpEventSerializer extends BinaryEventSerializer {
+
+    public McpEventSerializer() {
+        super(McpEventCodecs.ALL);
+    }
+}
@@ -0,0 +1,158 @@
+package com.gigapress.mcp.graph;
+
+import com.gigapress.mcp.model.domain.DependencyGraphIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds dependency cycles as strongly connected components.
+ * <p>
+ * Runs Tarjan's algorithm with an explicit stack, so deep dependency chains cannot overflow the
+ * thread stack. Every component with more than one member, or a single member that depends on
+ * itself, is reported together with one concrete cycle through it. The whole pass, including the
+ * example paths, is O(V + E).
+ */
+public final class CycleFinder {
+
+    private CycleFinder() {
+    }
+
+    /**
+     * A set of components that all reach each other.
+     *
+     * @param members every component in the strongly connected component, in discovery order
+     * @param path    one cycle through the first member, starting and ending with it
+     */
+    public record Cycle(List<String> members, List<String> path) {
+    }
+
+    public static List<Cycle> find(DependencyGraphIndex index) {
+        int size = index.size();
+        int[] order = new int[size];
+        int[] lowLink = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(order, -1);
+        Arrays.fill(component, -1);
+
+        int[] sccStack = new int[size];
+        int sccTop = 0;
+        int[] callStack = new int[size];
+        int[] nextEdge = new int[size];
+        int counter = 0;
+        int componentCount = 0;
+        int[] previous = new int[size];
+        int[] searched = new int[size];
+        Arrays.fill(searched, -1);
+        List<Cycle> cycles = new ArrayList<>();
+
+        for (int root = 0; root < size; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            order[root] = lowLink[root] = counter++;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (callTop > 0) {
+                int node = callStack[callTop - 1];
+                if (nextEdge[node] < index.dependencyCount(node)) {
+                    int next = index.dependencyAt(node, nextEdge[node]++);
+                    if (order[next] < 0) {
+                        order[next] = lowLink[next] = counter++;
+                        sccStack[sccTop++] = next;
+                        onStack[next] = true;
+                        callStack[callTop++] = next;
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], order[next]);
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] != order[node]) {
+                    continue;
+                }
+
+                int start = sccTop;
+                do {
+                    start--;
+                    onStack[sccStack[start]] = false;
+                    component[sccStack[start]] = componentCount;
+                } while (sccStack[start] != node);
+                int[] members = Arrays.copyOfRange(sccStack, start, sccTop);
+                sccTop = start;
+                if (members.length > 1 || dependsOnItself(index, node)) {
+                    cycles.add(toCycle(index, members, component, componentCount, previous, searched));
+                }
+                componentCount++;
+            }
+        }
+        return cycles;
+    }
+
+    private static boolean dependsOnItself(DependencyGraphIndex index, int node) {
+        for (int k = 0; k < index.dependencyCount(node); k++) {
+            if (index.dependencyAt(node, k) == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the report for one component. The example path is the shortest cycle through the
+     * first member, found by a breadth-first search that never leaves the component. The scratch
+     * arrays are shared across components; {@code searched} marks which entries belong to this one.
+     */
+    private static Cycle toCycle(DependencyGraphIndex index, int[] members, int[] component, int id,
+                                 int[] previous, int[] searched) {
+        List<String> names = new ArrayList<>(members.length);
+        for (int member : members) {
+            names.add(index.idAt(member));
+        }
+
+        int start = members[0];
+        int[] queue = new int[members.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        previous[start] = -1;
+        searched[start] = id;
+        int last = -1;
+        search:
+        while (head < tail) {
+            int node = queue[head++];
+            for (int k = 0; k < index.dependencyCount(node); k++) {
+                int next = index.dependencyAt(node, k);
+                if (next == start) {
+                    last = node;
+                    break search;
+                }
+                if (component[next] == id && searched[next] != id) {
+                    searched[next] = id;
+                    previous[next] = node;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        path.add(index.idAt(start));
+        for (int node = last; node != start; node = previous[node]) {
+            path.add(index.idAt(node));
+        }
+        path.add(index.idAt(start));
+        Collections.reverse(path);
+        return new Cycle(List.copyOf(names), List.copyOf(path));
+    }
+}
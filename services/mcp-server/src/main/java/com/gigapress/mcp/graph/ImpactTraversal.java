@@ -0,0 +1,216 @@
+package com.gigapress.mcp.graph;
+
+import com.gigapress.mcp.model.domain.DependencyGraphIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous breadth-first search over the dependencies of a {@link DependencyGraphIndex}.
+ * <p>
+ * Level {@code k} holds exactly the components whose shortest distance from the nearest source is
+ * {@code k}, so the level a component lands on no longer depends on visiting order. Only components
+ * with a node entry are reached; bare edge endpoints are neither reported nor expanded. Frontiers
+ * larger than {@link #PARALLEL_THRESHOLD} are split across the common fork-join pool, and every
+ * level is sorted so the result is the same whichever path expanded it.
+ * <p>
+ * Many traversals over the same graph can share one sweep: each source set owns one bit of a
+ * {@code long}, and a component's frontier bits are pushed along every edge at once, so a
+ * component reached by several sets is expanded only once per level.
+ */
+public final class ImpactTraversal {
+
+    /** Frontier size above which a level is expanded in parallel. */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /** Number of source sets that share one sweep, one bit each. */
+    public static final int SWEEP_WIDTH = Long.SIZE;
+
+    private ImpactTraversal() {
+    }
+
+    /**
+     * Returns the components reachable from {@code sources} grouped by distance, level 0 being the
+     * sources themselves.
+     *
+     * @param maxDistance last level to include; {@link Integer#MAX_VALUE} for no limit
+     */
+    public static List<int[]> levels(DependencyGraphIndex index, int[] sources, int maxDistance) {
+        AtomicIntegerArray reached = new AtomicIntegerArray(index.size());
+        IntBuffer start = new IntBuffer(sources.length);
+        for (int source : sources) {
+            if (source >= 0 && index.isNode(source) && reached.compareAndSet(source, 0, 1)) {
+                start.add(source);
+            }
+        }
+
+        List<int[]> levels = new ArrayList<>();
+        int[] frontier = start.toSortedArray();
+        for (int distance = 0; frontier.length > 0; distance++) {
+            levels.add(frontier);
+            if (distance == maxDistance) {
+                break;
+            }
+            frontier = frontier.length > PARALLEL_THRESHOLD
+                ? expandParallel(index, frontier, reached)
+                : expand(index, frontier, 0, frontier.length, reached).toSortedArray();
+        }
+        return levels;
+    }
+
+    /**
+     * Runs {@link #levels(DependencyGraphIndex, int[], int)} for several source sets at once and
+     * returns their levels in the same order. Sets are processed {@link #SWEEP_WIDTH} at a time.
+     */
+    public static List<List<int[]>> levels(DependencyGraphIndex index, int[][] sources, int[] maxDistances) {
+        List<List<int[]>> result = new ArrayList<>(sources.length);
+        for (int from = 0; from < sources.length; from += SWEEP_WIDTH) {
+            result.addAll(sweep(index, sources, maxDistances, from, Math.min(sources.length, from + SWEEP_WIDTH)));
+        }
+        return result;
+    }
+
+    private static List<List<int[]>> sweep(DependencyGraphIndex index, int[][] sources, int[] maxDistances,
+                                           int from, int to) {
+        int width = to - from;
+        long[] seen = new long[index.size()];
+        long[] visit = new long[index.size()];
+        long[] visitNext = new long[index.size()];
+        List<List<int[]>> levels = new ArrayList<>(width);
+        IntBuffer[] reached = new IntBuffer[width];
+        IntBuffer frontier = new IntBuffer(16);
+
+        for (int set = 0; set < width; set++) {
+            levels.add(new ArrayList<>());
+            reached[set] = new IntBuffer(16);
+            long bit = 1L << set;
+            for (int source : sources[from + set]) {
+                if (source < 0 || !index.isNode(source) || (seen[source] & bit) != 0) {
+                    continue;
+                }
+                if (visit[source] == 0) {
+                    frontier.add(source);
+                }
+                seen[source] |= bit;
+                visit[source] |= bit;
+                reached[set].add(source);
+            }
+        }
+
+        for (int distance = 0; frontier.size > 0; distance++) {
+            closeLevel(reached, levels);
+            long active = 0;
+            for (int set = 0; set < width; set++) {
+                if (maxDistances[from + set] > distance) {
+                    active |= 1L << set;
+                }
+            }
+
+            IntBuffer next = new IntBuffer(frontier.size);
+            for (int i = 0; i < frontier.size; i++) {
+                int node = frontier.values[i];
+                long bits = visit[node] & active;
+                visit[node] = 0;
+                if (bits == 0) {
+                    continue;
+                }
+                for (int k = 0; k < index.dependencyCount(node); k++) {
+                    int target = index.dependencyAt(node, k);
+                    long fresh = bits & ~seen[target];
+                    if (fresh == 0 || !index.isNode(target)) {
+                        continue;
+                    }
+                    if (visitNext[target] == 0) {
+                        next.add(target);
+                    }
+                    visitNext[target] |= fresh;
+                    seen[target] |= fresh;
+                    for (long rest = fresh; rest != 0; rest &= rest - 1) {
+                        reached[Long.numberOfTrailingZeros(rest)].add(target);
+                    }
+                }
+            }
+
+            long[] swap = visit;
+            visit = visitNext;
+            visitNext = swap;
+            frontier = next;
+        }
+        closeLevel(reached, levels);
+        return levels;
+    }
+
+    private static void closeLevel(IntBuffer[] reached, List<List<int[]>> levels) {
+        for (int set = 0; set < reached.length; set++) {
+            if (reached[set].size > 0) {
+                levels.get(set).add(reached[set].toSortedArray());
+                reached[set].size = 0;
+            }
+        }
+    }
+
+    private static IntBuffer expand(DependencyGraphIndex index, int[] frontier, int from, int to,
+                                    AtomicIntegerArray reached) {
+        IntBuffer next = new IntBuffer(Math.max(16, to - from));
+        for (int i = from; i < to; i++) {
+            int node = frontier[i];
+            for (int k = 0; k < index.dependencyCount(node); k++) {
+                int target = index.dependencyAt(node, k);
+                if (index.isNode(target) && reached.get(target) == 0 && reached.compareAndSet(target, 0, 1)) {
+                    next.add(target);
+                }
+            }
+        }
+        return next;
+    }
+
+    private static int[] expandParallel(DependencyGraphIndex index, int[] frontier, AtomicIntegerArray reached) {
+        int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, frontier.length / PARALLEL_THRESHOLD * 4);
+        chunks = Math.max(2, chunks);
+        IntBuffer[] parts = new IntBuffer[chunks];
+        int chunkCount = chunks;
+        IntStream.range(0, chunkCount).parallel().forEach(c -> parts[c] = expand(index, frontier,
+            (int) ((long) frontier.length * c / chunkCount),
+            (int) ((long) frontier.length * (c + 1) / chunkCount), reached));
+
+        int total = 0;
+        for (IntBuffer part : parts) {
+            total += part.size;
+        }
+        int[] next = new int[total];
+        int offset = 0;
+        for (IntBuffer part : parts) {
+            System.arraycopy(part.values, 0, next, offset, part.size);
+            offset += part.size;
+        }
+        Arrays.sort(next);
+        return next;
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values;
+        private int size;
+
+        IntBuffer(int capacity) {
+            values = new int[Math.max(1, capacity)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toSortedArray() {
+            int[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -1,29 +1,49 @@
 package com.gigapress.mcp.model.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
-import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.*;
 
+/**
+ * Dependency graph of one project. It is filled through {@link #addNode} and {@link #addEdge}
+ * and then read through {@link #index()}, an int-indexed snapshot with forward and reverse
+ * adjacency and memoized transitive closures. Any later mutation drops the snapshot, so the
+ * graph should be treated as immutable once analysis starts.
+ */
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class DependencyGraph {
     
     private Map<String, Node> nodes;
     private List<Edge> edges;
-    
-    @Builder.Default
     private Map<String, Set<String>> adjacencyList = new HashMap<>();
     
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile DependencyGraphIndex index;
+    
+    public void setNodes(Map<String, Node> nodes) {
+        this.nodes = nodes;
+        this.index = null;
+    }
+    
+    public void setEdges(List<Edge> edges) {
+        this.edges = edges;
+        this.index = null;
+    }
+    
     public void addNode(String componentId, Component component) {
         if (nodes == null) {
             nodes = new HashMap<>();
         }
         nodes.put(componentId, new Node(componentId, component));
+        index = null;
     }
     
     public void addEdge(String from, String to, EdgeType type) {
@@ -33,32 +53,52 @@ public class DependencyGraph {
         edges.add(new Edge(from, to, type));
         
         adjacencyList.computeIfAbsent(from, k -> new HashSet<>()).add(to);
+        index = null;
+    }
+    
+    /**
+     * Returns the indexed snapshot of this graph, building it on first use.
+     */
+    public DependencyGraphIndex index() {
+        DependencyGraphIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = DependencyGraphIndex.build(nodes, edges);
+                    index = current;
+                }
+            }
+        }
+        return current;
     }
     
     public Set<String> getDirectDependencies(String componentId) {
-        return adjacencyList.getOrDefault(componentId, new HashSet<>());
+        return adjacencyList.getOrDefault(componentId, Collections.emptySet());
+    }
+    
+    public Set<String> getDirectDependents(String componentId) {
+        DependencyGraphIndex graphIndex = index();
+        int i = graphIndex.indexOf(componentId);
+        return i < 0 ? Collections.emptySet() : graphIndex.dependentIds(i);
+    }
+    
+    public boolean hasDependents(String componentId) {
+        DependencyGraphIndex graphIndex = index();
+        int i = graphIndex.indexOf(componentId);
+        return i >= 0 && graphIndex.dependentCount(i) > 0;
     }
     
     public Set<String> getAllDependencies(String componentId) {
-        Set<String> visited = new HashSet<>();
-        Set<String> allDeps = new HashSet<>();
-        
-        collectDependencies(componentId, visited, allDeps);
-        return allDeps;
+        DependencyGraphIndex graphIndex = index();
+        int i = graphIndex.indexOf(componentId);
+        return i < 0 ? new HashSet<>() : graphIndex.transitiveDependencyIds(i);
     }
     
-    private void collectDependencies(String componentId, Set<String> visited, Set<String> allDeps) {
-        if (visited.contains(componentId)) {
-            return;
-        }
-        
-        visited.add(componentId);
-        Set<String> directDeps = getDirectDependencies(componentId);
-        
-        for (String dep : directDeps) {
-            allDeps.add(dep);
-            collectDependencies(dep, visited, allDeps);
-        }
+    public Set<String> getAllDependents(String componentId) {
+        DependencyGraphIndex graphIndex = index();
+        int i = graphIndex.indexOf(componentId);
+        return i < 0 ? new HashSet<>() : graphIndex.transitiveDependentIds(i);
     }
     
     @Data
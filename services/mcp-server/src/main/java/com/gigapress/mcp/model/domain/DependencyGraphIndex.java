@@ -0,0 +1,304 @@
+package com.gigapress.mcp.model.domain;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable, int-indexed view of a {@link DependencyGraph}.
+ * <p>
+ * Every component id, plus any edge endpoint that has no node entry, gets a dense index in
+ * {@code [0, size())}. Edges are stored twice in compressed-row form: {@code dependencies} points
+ * from a component to what it depends on, {@code dependents} the other way round. Duplicate edges
+ * collapse to one. Transitive closures are computed on first request per component and reused;
+ * they are never invalidated because the index itself never changes. Each closure takes up to
+ * {@code size()} bits, so only as many are kept per direction as fit in {@link #MEMO_BUDGET_BITS};
+ * on large graphs the rest are recomputed on every request.
+ * <p>
+ * The per-component accessors ({@link #dependencyCount}, {@link #dependencyAt}, the
+ * {@code forEach} methods) do not allocate, so analysis loops can walk large graphs without
+ * creating sets or iterators.
+ */
+public final class DependencyGraphIndex {
+
+    /** Bits of memoized closures kept per direction, 8 MiB. */
+    static final long MEMO_BUDGET_BITS = 1L << 26;
+
+    private final String[] ids;
+    private final Map<String, Integer> indexById;
+    private final int nodeCount;
+    private final int edgeCount;
+
+    private final int[] dependencyOffsets;
+    private final int[] dependencyTargets;
+    private final int[] dependentOffsets;
+    private final int[] dependentTargets;
+
+    private final ClosureMemo dependencyClosures;
+    private final ClosureMemo dependentClosures;
+
+    private DependencyGraphIndex(String[] ids, Map<String, Integer> indexById, int nodeCount,
+                                 int[] dependencyOffsets, int[] dependencyTargets,
+                                 int[] dependentOffsets, int[] dependentTargets, long memoBudgetBits) {
+        this.ids = ids;
+        this.indexById = indexById;
+        this.nodeCount = nodeCount;
+        this.edgeCount = dependencyTargets.length;
+        this.dependencyOffsets = dependencyOffsets;
+        this.dependencyTargets = dependencyTargets;
+        this.dependentOffsets = dependentOffsets;
+        this.dependentTargets = dependentTargets;
+        this.dependencyClosures = new ClosureMemo(ids.length, memoBudgetBits);
+        this.dependentClosures = new ClosureMemo(ids.length, memoBudgetBits);
+    }
+
+    static DependencyGraphIndex build(Map<String, DependencyGraph.Node> nodes, List<DependencyGraph.Edge> edges) {
+        return build(nodes, edges, MEMO_BUDGET_BITS);
+    }
+
+    static DependencyGraphIndex build(Map<String, DependencyGraph.Node> nodes, List<DependencyGraph.Edge> edges,
+                                      long memoBudgetBits) {
+        Map<String, Integer> indexById = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        if (nodes != null) {
+            for (String id : nodes.keySet()) {
+                indexById.put(id, ids.size());
+                ids.add(id);
+            }
+        }
+        int nodeCount = ids.size();
+
+        int edgeTotal = edges != null ? edges.size() : 0;
+        int[] from = new int[edgeTotal];
+        int[] to = new int[edgeTotal];
+        for (int e = 0; e < edgeTotal; e++) {
+            DependencyGraph.Edge edge = edges.get(e);
+            from[e] = intern(edge.getFrom(), indexById, ids);
+            to[e] = intern(edge.getTo(), indexById, ids);
+        }
+
+        int size = ids.size();
+        int[][] forward = compress(size, from, to);
+        int[][] reverse = compress(size, to, from);
+        return new DependencyGraphIndex(ids.toArray(new String[0]), Collections.unmodifiableMap(indexById),
+            nodeCount, forward[0], forward[1], reverse[0], reverse[1], memoBudgetBits);
+    }
+
+    /** Number of indexed components, including edge endpoints that have no node entry. */
+    public int size() {
+        return ids.length;
+    }
+
+    /** Number of distinct edges. */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /** Returns the index of {@code componentId}, or {@code -1} if the graph does not mention it. */
+    public int indexOf(String componentId) {
+        Integer index = indexById.get(componentId);
+        return index != null ? index : -1;
+    }
+
+    public String idAt(int index) {
+        return ids[index];
+    }
+
+    /** Whether the component at {@code index} has a node entry, as opposed to only appearing on edges. */
+    public boolean isNode(int index) {
+        return index < nodeCount;
+    }
+
+    public int dependencyCount(int index) {
+        return dependencyOffsets[index + 1] - dependencyOffsets[index];
+    }
+
+    /** The {@code k}-th direct dependency of {@code index}, for {@code k < dependencyCount(index)}. */
+    public int dependencyAt(int index, int k) {
+        return dependencyTargets[dependencyOffsets[index] + k];
+    }
+
+    public int dependentCount(int index) {
+        return dependentOffsets[index + 1] - dependentOffsets[index];
+    }
+
+    /** The {@code k}-th direct dependent of {@code index}, for {@code k < dependentCount(index)}. */
+    public int dependentAt(int index, int k) {
+        return dependentTargets[dependentOffsets[index] + k];
+    }
+
+    public void forEachDependency(int index, IntConsumer action) {
+        for (int k = dependencyOffsets[index]; k < dependencyOffsets[index + 1]; k++) {
+            action.accept(dependencyTargets[k]);
+        }
+    }
+
+    public void forEachDependent(int index, IntConsumer action) {
+        for (int k = dependentOffsets[index]; k < dependentOffsets[index + 1]; k++) {
+            action.accept(dependentTargets[k]);
+        }
+    }
+
+    /** Visits everything {@code index} depends on, directly or transitively. */
+    public void forEachTransitiveDependency(int index, IntConsumer action) {
+        forEach(closure(index, dependencyClosures, dependencyOffsets, dependencyTargets), action);
+    }
+
+    /** Visits everything that depends on {@code index}, directly or transitively. */
+    public void forEachTransitiveDependent(int index, IntConsumer action) {
+        forEach(closure(index, dependentClosures, dependentOffsets, dependentTargets), action);
+    }
+
+    public int transitiveDependencyCount(int index) {
+        return closure(index, dependencyClosures, dependencyOffsets, dependencyTargets).cardinality();
+    }
+
+    public int transitiveDependentCount(int index) {
+        return closure(index, dependentClosures, dependentOffsets, dependentTargets).cardinality();
+    }
+
+    /** Whether {@code from} reaches {@code to} by following dependencies. */
+    public boolean dependsOn(int from, int to) {
+        return closure(from, dependencyClosures, dependencyOffsets, dependencyTargets).get(to);
+    }
+
+    Set<String> transitiveDependencyIds(int index) {
+        return toIds(closure(index, dependencyClosures, dependencyOffsets, dependencyTargets));
+    }
+
+    Set<String> transitiveDependentIds(int index) {
+        return toIds(closure(index, dependentClosures, dependentOffsets, dependentTargets));
+    }
+
+    Set<String> dependencyIds(int index) {
+        Set<String> result = new HashSet<>();
+        forEachDependency(index, target -> result.add(ids[target]));
+        return result;
+    }
+
+    Set<String> dependentIds(int index) {
+        Set<String> result = new HashSet<>();
+        forEachDependent(index, target -> result.add(ids[target]));
+        return result;
+    }
+
+    /**
+     * Reachable set of {@code start}, excluding {@code start} itself unless it lies on a cycle.
+     * Two threads may compute the same closure concurrently; the first one stored wins.
+     */
+    private BitSet closure(int start, ClosureMemo memo, int[] offsets, int[] targets) {
+        BitSet cached = memo.get(start);
+        if (cached != null) {
+            return cached;
+        }
+
+        BitSet reached = new BitSet(ids.length);
+        int[] stack = new int[Math.max(1, ids.length)];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int current = stack[--top];
+            for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                int next = targets[k];
+                if (reached.get(next)) {
+                    continue;
+                }
+                reached.set(next);
+                BitSet known = memo.get(next);
+                if (known != null) {
+                    reached.or(known);
+                } else {
+                    stack[top++] = next;
+                }
+            }
+        }
+
+        return memo.store(start, reached);
+    }
+
+    private Set<String> toIds(BitSet bits) {
+        Set<String> result = new HashSet<>(Math.max(16, bits.cardinality() * 2));
+        forEach(bits, index -> result.add(ids[index]));
+        return result;
+    }
+
+    private static void forEach(BitSet bits, IntConsumer action) {
+        for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+            action.accept(index);
+        }
+    }
+
+    private static int intern(String id, Map<String, Integer> indexById, List<String> ids) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            index = ids.size();
+            indexById.put(id, index);
+            ids.add(id);
+        }
+        return index;
+    }
+
+    /**
+     * Closures memoized per component, up to a fixed number of entries. Slots are claimed first come,
+     * first served and never evicted, so lookups stay lock-free.
+     */
+    private static final class ClosureMemo {
+
+        private final AtomicReferenceArray<BitSet> closures;
+        private final AtomicInteger capacity;
+
+        ClosureMemo(int size, long budgetBits) {
+            this.closures = new AtomicReferenceArray<>(size);
+            this.capacity = new AtomicInteger((int) Math.min(size, budgetBits / Math.max(1, size)));
+        }
+
+        BitSet get(int index) {
+            return closures.get(index);
+        }
+
+        /** Keeps {@code closure} if there is room and returns the closure callers should use. */
+        BitSet store(int index, BitSet closure) {
+            if (capacity.getAndUpdate(left -> left > 0 ? left - 1 : 0) == 0) {
+                return closure;
+            }
+            if (closures.compareAndSet(index, null, closure)) {
+                return closure;
+            }
+            // Another thread stored this closure first; give the claimed slot back
+            capacity.incrementAndGet();
+            return closures.get(index);
+        }
+    }
+
+    /** Builds offsets and sorted, de-duplicated targets for the rows {@code rows[e] -> cols[e]}. */
+    private static int[][] compress(int size, int[] rows, int[] cols) {
+        int[] offsets = new int[size + 1];
+        for (int row : rows) {
+            offsets[row + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[rows.length];
+        int[] cursor = Arrays.copyOf(offsets, size);
+        for (int e = 0; e < rows.length; e++) {
+            targets[cursor[rows[e]]++] = cols[e];
+        }
+
+        int[] compactOffsets = new int[size + 1];
+        int write = 0;
+        for (int i = 0; i < size; i++) {
+            Arrays.sort(targets, offsets[i], offsets[i + 1]);
+            int rowStart = write;
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                if (write == rowStart || targets[write - 1] != targets[k]) {
+                    targets[write++] = targets[k];
+                }
+            }
+            compactOffsets[i + 1] = write;
+        }
+        return new int[][]{compactOffsets, write == targets.length ? targets : Arrays.copyOf(targets, write)};
+    }
+}
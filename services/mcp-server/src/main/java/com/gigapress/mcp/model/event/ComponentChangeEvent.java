@@ -0,0 +1,36 @@
+package com.gigapress.mcp.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A component change published by the dynamic-update-engine on {@code component.changes}. The
+ * update type is kept as a string so new engine types do not break this reader.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentChangeEvent {
+    
+    private String eventId;
+    
+    private String componentId;
+    
+    private String projectId;
+    
+    private String updateType;
+    
+    private String previousVersion;
+    
+    private String newVersion;
+    
+    private Map<String, Object> changes;
+    
+    private LocalDateTime timestamp;
+}
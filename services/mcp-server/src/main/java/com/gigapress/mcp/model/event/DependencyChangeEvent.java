@@ -0,0 +1,32 @@
+package com.gigapress.mcp.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DEPENDS_ON edge change published by the dynamic-update-engine on {@code dependency.events}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyChangeEvent {
+    
+    private String eventId;
+    
+    private String sourceComponentId;
+    
+    private String targetComponentId;
+    
+    private String projectId;
+    
+    private String changeType;
+    
+    private String dependencyType;
+    
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,32 @@
+package com.gigapress.mcp.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.ConvertGroup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChangeAnalysisRequest {
+    
+    @NotBlank(message = "Project ID is required")
+    @JsonProperty("project_id")
+    private String projectId;
+    
+    // Each change is analyzed against this batch's project; its own project_id is optional and ignored
+    @NotEmpty(message = "At least one change is required")
+    @Size(max = 1000, message = "At most 1000 changes per batch")
+    @JsonProperty("changes")
+    private List<@Valid @NotNull @ConvertGroup(to = ChangeAnalysisRequest.BatchItem.class) ChangeAnalysisRequest> changes;
+}
@@ -3,6 +3,7 @@ package com.gigapress.mcp.model.request;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,7 +21,7 @@ public class ChangeAnalysisRequest {
     @JsonProperty("project_id")
     private String projectId;
     
-    @NotBlank(message = "Change description is required")
+    @NotBlank(message = "Change description is required", groups = {Default.class, BatchItem.class})
     @JsonProperty("change_description")
     private String changeDescription;
     
@@ -37,6 +38,13 @@ public class ChangeAnalysisRequest {
     @Builder.Default
     private AnalysisDepth analysisDepth = AnalysisDepth.NORMAL;
     
+    /**
+     * Validation group for changes inside a {@link BatchChangeAnalysisRequest}, which take their
+     * project from the batch and so do not need a {@code project_id} of their own.
+     */
+    public interface BatchItem {
+    }
+    
     public enum ChangeType {
         FEATURE_ADD,
         FEATURE_MODIFY,
@@ -22,6 +22,10 @@ public class ChangeAnalysisResponse {
     @JsonProperty("project_id")
     private String projectId;
     
+    // Position of the change in a batch request; null for single analyses
+    @JsonProperty("change_index")
+    private Integer changeIndex;
+    
     @JsonProperty("impact_summary")
     private ImpactSummary impactSummary;
     
@@ -1,18 +1,22 @@
 package com.gigapress.mcp.service;
 
-import com.gigapress.mcp.client.DynamicUpdateEngineClient;
+import com.gigapress.mcp.cache.DependencyGraphCache;
 import com.gigapress.mcp.event.EventProducer;
+import com.gigapress.mcp.graph.ImpactTraversal;
 import com.gigapress.mcp.model.domain.Component;
 import com.gigapress.mcp.model.domain.DependencyGraph;
+import com.gigapress.mcp.model.domain.DependencyGraphIndex;
 import com.gigapress.mcp.model.event.AnalysisEvent;
+import com.gigapress.mcp.model.request.BatchChangeAnalysisRequest;
 import com.gigapress.mcp.model.request.ChangeAnalysisRequest;
 import com.gigapress.mcp.model.response.ChangeAnalysisResponse;
 import com.gigapress.mcp.model.response.ChangeAnalysisResponse.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -23,7 +27,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChangeAnalysisService {
     
-    private final DynamicUpdateEngineClient dynamicUpdateEngineClient;
+    private final DependencyGraphCache dependencyGraphCache;
     private final EventProducer eventProducer;
     
     public Mono<ChangeAnalysisResponse> analyzeChange(ChangeAnalysisRequest request) {
@@ -31,119 +35,154 @@ public class ChangeAnalysisService {
         
         String analysisId = UUID.randomUUID().toString();
         
-        return dynamicUpdateEngineClient.getDependencyGraph(request.getProjectId())
+        return dependencyGraphCache.get(request.getProjectId())
             .flatMap(graph -> performAnalysis(request, graph, analysisId))
             .doOnSuccess(response -> publishAnalysisEvent(response, request))
             .doOnError(error -> log.error("Error analyzing change", error));
     }
     
+    /**
+     * Analyzes many changes against one project. The graph is fetched once and the traversals of
+     * up to {@link ImpactTraversal#SWEEP_WIDTH} changes share a single sweep; responses are emitted
+     * as each sweep finishes, tagged with the change's position in the batch.
+     */
+    public Flux<ChangeAnalysisResponse> analyzeChanges(BatchChangeAnalysisRequest batch) {
+        List<ChangeAnalysisRequest> changes = batch.getChanges();
+        log.info("Analyzing {} changes for project: {}", changes.size(), batch.getProjectId());
+        int sweeps = (changes.size() + ImpactTraversal.SWEEP_WIDTH - 1) / ImpactTraversal.SWEEP_WIDTH;
+        return dependencyGraphCache.get(batch.getProjectId())
+            .flatMapMany(graph -> Flux.range(0, sweeps)
+                .flatMap(sweep -> Mono.fromCallable(() -> performSweep(batch.getProjectId(), changes, graph, sweep))
+                    .subscribeOn(Schedulers.boundedElastic()))
+                .flatMapIterable(responses -> responses))
+            .doOnNext(response -> publishAnalysisEvent(response, changes.get(response.getChangeIndex())))
+            .doOnError(error -> log.error("Error analyzing batch of changes", error));
+    }
+    
+    private List<ChangeAnalysisResponse> performSweep(
+            String projectId,
+            List<ChangeAnalysisRequest> changes,
+            DependencyGraph graph,
+            int sweep) {
+        
+        int from = sweep * ImpactTraversal.SWEEP_WIDTH;
+        int to = Math.min(changes.size(), from + ImpactTraversal.SWEEP_WIDTH);
+        DependencyGraphIndex index = graph.index();
+        int[][] sources = new int[to - from][];
+        int[] maxDistances = new int[to - from];
+        for (int i = from; i < to; i++) {
+            sources[i - from] = sources(index, changes.get(i));
+            maxDistances[i - from] = maxDistance(changes.get(i).getAnalysisDepth());
+        }
+        
+        List<List<int[]>> levels = ImpactTraversal.levels(index, sources, maxDistances);
+        List<ChangeAnalysisResponse> responses = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ChangeAnalysisResponse response = buildResponse(projectId, changes.get(i), graph,
+                UUID.randomUUID().toString(), toAffectedComponents(graph, index, levels.get(i - from)));
+            response.setChangeIndex(i);
+            responses.add(response);
+        }
+        return responses;
+    }
+    
     private Mono<ChangeAnalysisResponse> performAnalysis(
             ChangeAnalysisRequest request, 
             DependencyGraph graph,
             String analysisId) {
         
         return Mono.fromCallable(() -> {
-            // Identify affected components
-            List<AffectedComponent> affectedComponents = analyzeAffectedComponents(request, graph);
-            
-            // Calculate impact summary
-            ImpactSummary impactSummary = calculateImpactSummary(affectedComponents, graph);
-            
-            // Assess risks
-            RiskAssessment riskAssessment = assessRisks(affectedComponents, request);
+            DependencyGraphIndex index = graph.index();
             
-            // Generate recommendations
-            List<String> recommendations = generateRecommendations(affectedComponents, riskAssessment);
+            // Impact level is the shortest distance from any target
+            List<int[]> levels = ImpactTraversal.levels(index, sources(index, request),
+                maxDistance(request.getAnalysisDepth()));
             
-            // Estimate effort
-            EffortEstimate effortEstimate = estimateEffort(affectedComponents);
-            
-            return ChangeAnalysisResponse.builder()
-                .analysisId(analysisId)
-                .projectId(request.getProjectId())
-                .impactSummary(impactSummary)
-                .affectedComponents(affectedComponents)
-                .riskAssessment(riskAssessment)
-                .recommendations(recommendations)
-                .estimatedEffort(effortEstimate)
-                .build();
-        });
+            return buildResponse(request.getProjectId(), request, graph, analysisId,
+                toAffectedComponents(graph, index, levels));
+        })
+        // Traversal is CPU-bound; keep it off the Netty event loop
+        .subscribeOn(Schedulers.boundedElastic());
     }
     
-    private List<AffectedComponent> analyzeAffectedComponents(
-            ChangeAnalysisRequest request, 
-            DependencyGraph graph) {
+    private ChangeAnalysisResponse buildResponse(
+            String projectId,
+            ChangeAnalysisRequest request,
+            DependencyGraph graph,
+            String analysisId,
+            List<AffectedComponent> affectedComponents) {
         
-        List<AffectedComponent> affected = new ArrayList<>();
-        Set<String> visitedComponents = new HashSet<>();
+        // Calculate impact summary
+        ImpactSummary impactSummary = calculateImpactSummary(affectedComponents, graph);
         
-        // Start with target components
+        // Assess risks
+        RiskAssessment riskAssessment = assessRisks(affectedComponents, request);
+        
+        // Generate recommendations
+        List<String> recommendations = generateRecommendations(affectedComponents, riskAssessment);
+        
+        // Estimate effort
+        EffortEstimate effortEstimate = estimateEffort(affectedComponents);
+        
+        return ChangeAnalysisResponse.builder()
+            .analysisId(analysisId)
+            .projectId(projectId)
+            .impactSummary(impactSummary)
+            .affectedComponents(affectedComponents)
+            .riskAssessment(riskAssessment)
+            .recommendations(recommendations)
+            .estimatedEffort(effortEstimate)
+            .build();
+    }
+    
+    private int[] sources(DependencyGraphIndex index, ChangeAnalysisRequest request) {
         String[] targetComponents = request.getTargetComponents();
-        if (targetComponents != null) {
-            for (String componentId : targetComponents) {
-                analyzeComponentImpact(
-                    componentId, 
-                    graph, 
-                    affected, 
-                    visitedComponents,
-                    request.getAnalysisDepth(),
-                    0
-                );
-            }
+        if (targetComponents == null) {
+            return new int[0];
         }
         
-        return affected;
+        int[] sources = new int[targetComponents.length];
+        for (int i = 0; i < targetComponents.length; i++) {
+            sources[i] = index.indexOf(targetComponents[i]);
+        }
+        return sources;
     }
     
-    private void analyzeComponentImpact(
-            String componentId,
+    private List<AffectedComponent> toAffectedComponents(
             DependencyGraph graph,
-            List<AffectedComponent> affected,
-            Set<String> visited,
-            ChangeAnalysisRequest.AnalysisDepth depth,
-            int currentLevel) {
+            DependencyGraphIndex index,
+            List<int[]> levels) {
         
-        if (visited.contains(componentId)) {
-            return;
+        List<AffectedComponent> affected = new ArrayList<>();
+        for (int level = 0; level < levels.size(); level++) {
+            ImpactLevel impactLevel = calculateImpactLevel(level);
+            for (int node : levels.get(level)) {
+                String componentId = index.idAt(node);
+                Component component = graph.getNodes().get(componentId).getComponent();
+                
+                affected.add(AffectedComponent.builder()
+                    .componentId(componentId)
+                    .componentName(component.getComponentName())
+                    .componentType(component.getType().toString())
+                    .impactLevel(impactLevel)
+                    .impactedFeatures(identifyImpactedFeatures(component))
+                    .changeDetails(new HashMap<>())
+                    .build());
+            }
         }
         
-        visited.add(componentId);
-        
-        // Check depth limits
-        int maxDepth = switch (depth) {
+        return affected;
+    }
+    
+    private int maxDistance(ChangeAnalysisRequest.AnalysisDepth depth) {
+        if (depth == null) {
+            depth = ChangeAnalysisRequest.AnalysisDepth.NORMAL;
+        }
+        return switch (depth) {
             case SHALLOW -> 1;
             case NORMAL -> 2;
             case DEEP -> Integer.MAX_VALUE;
         };
-        
-        if (currentLevel > maxDepth) {
-            return;
-        }
-        
-        // Get component details
-        DependencyGraph.Node node = graph.getNodes().get(componentId);
-        if (node != null) {
-            Component component = node.getComponent();
-            
-            ImpactLevel impactLevel = calculateImpactLevel(currentLevel);
-            
-            AffectedComponent affectedComponent = AffectedComponent.builder()
-                .componentId(componentId)
-                .componentName(component.getComponentName())
-                .componentType(component.getType().toString())
-                .impactLevel(impactLevel)
-                .impactedFeatures(identifyImpactedFeatures(component))
-                .changeDetails(new HashMap<>())
-                .build();
-            
-            affected.add(affectedComponent);
-            
-            // Analyze dependencies
-            Set<String> dependencies = graph.getDirectDependencies(componentId);
-            for (String depId : dependencies) {
-                analyzeComponentImpact(depId, graph, affected, visited, depth, currentLevel + 1);
-            }
-        }
     }
     
     private ImpactLevel calculateImpactLevel(int level) {
@@ -1,7 +1,8 @@
 package com.gigapress.mcp.service;
 
-import com.gigapress.mcp.client.DynamicUpdateEngineClient;
-import com.gigapress.mcp.model.domain.DependencyGraph;
+import com.gigapress.mcp.cache.DependencyGraphCache;
+import com.gigapress.mcp.graph.CycleFinder;
+import com.gigapress.mcp.model.domain.DependencyGraphIndex;
 import com.gigapress.mcp.model.request.ValidationRequest;
 import com.gigapress.mcp.model.response.ValidationResponse;
 import com.gigapress.mcp.model.response.ValidationResponse.*;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -19,7 +21,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ConsistencyValidationService {
     
-    private final DynamicUpdateEngineClient dynamicUpdateEngineClient;
+    private final DependencyGraphCache dependencyGraphCache;
     
     public Mono<ValidationResponse> validateConsistency(ValidationRequest request) {
         log.info("Validating consistency for project: {}", request.getProjectId());
@@ -54,37 +56,36 @@ public class ConsistencyValidationService {
     }
     
     private Mono<ValidationResult> validateDependencyConsistency(ValidationRequest request) {
-        return dynamicUpdateEngineClient.getDependencyGraph(request.getProjectId())
+        return dependencyGraphCache.get(request.getProjectId())
+            // Graph traversal is CPU-bound; keep it off the Netty event loop
+            .publishOn(Schedulers.boundedElastic())
             .map(graph -> {
                 List<Issue> issues = new ArrayList<>();
                 
                 // Check for circular dependencies
-                Set<String> visited = new HashSet<>();
-                Set<String> recursionStack = new HashSet<>();
-                
-                for (String nodeId : graph.getNodes().keySet()) {
-                    if (hasCycle(nodeId, graph, visited, recursionStack)) {
-                        issues.add(Issue.builder()
-                            .issueId(UUID.randomUUID().toString())
-                            .severity(Severity.ERROR)
-                            .category("Circular Dependency")
-                            .component(nodeId)
-                            .description("Circular dependency detected involving " + nodeId)
-                            .suggestion("Refactor to remove circular dependency")
-                            .autoFixable(false)
-                            .build());
-                    }
+                DependencyGraphIndex index = graph.index();
+                List<CycleFinder.Cycle> cycles = CycleFinder.find(index);
+                for (CycleFinder.Cycle cycle : cycles) {
+                    issues.add(Issue.builder()
+                        .issueId(UUID.randomUUID().toString())
+                        .severity(Severity.ERROR)
+                        .category("Circular Dependency")
+                        .component(cycle.members().get(0))
+                        .description("Circular dependency among " + cycle.members().size() + " components "
+                            + cycle.members() + ", e.g. " + String.join(" -> ", cycle.path()))
+                        .suggestion("Refactor to remove circular dependency")
+                        .autoFixable(false)
+                        .build());
                 }
                 
                 // Check for orphaned components
-                for (String nodeId : graph.getNodes().keySet()) {
-                    if (graph.getDirectDependencies(nodeId).isEmpty() && 
-                        !hasIncomingDependencies(nodeId, graph)) {
+                for (int i = 0; i < index.size(); i++) {
+                    if (index.isNode(i) && index.dependencyCount(i) == 0 && index.dependentCount(i) == 0) {
                         issues.add(Issue.builder()
                             .issueId(UUID.randomUUID().toString())
                             .severity(Severity.WARNING)
                             .category("Orphaned Component")
-                            .component(nodeId)
+                            .component(index.idAt(i))
                             .description("Component has no dependencies or dependents")
                             .suggestion("Consider removing or integrating this component")
                             .autoFixable(false)
@@ -101,38 +102,14 @@ public class ConsistencyValidationService {
                     .status(status)
                     .issues(issues)
                     .metrics(Map.of(
-                        "totalComponents", graph.getNodes().size(),
-                        "totalDependencies", graph.getEdges() != null ? graph.getEdges().size() : 0
+                        "totalComponents", graph.getNodes() != null ? graph.getNodes().size() : 0,
+                        "totalDependencies", graph.getEdges() != null ? graph.getEdges().size() : 0,
+                        "circularDependencies", cycles.size()
                     ))
                     .build();
             });
     }
     
-    private boolean hasCycle(String node, DependencyGraph graph, 
-                            Set<String> visited, Set<String> recursionStack) {
-        visited.add(node);
-        recursionStack.add(node);
-        
-        Set<String> dependencies = graph.getDirectDependencies(node);
-        for (String dep : dependencies) {
-            if (!visited.contains(dep)) {
-                if (hasCycle(dep, graph, visited, recursionStack)) {
-                    return true;
-                }
-            } else if (recursionStack.contains(dep)) {
-                return true;
-            }
-        }
-        
-        recursionStack.remove(node);
-        return false;
-    }
-    
-    private boolean hasIncomingDependencies(String nodeId, DependencyGraph graph) {
-        return graph.getNodes().values().stream()
-            .anyMatch(node -> graph.getDirectDependencies(node.getId()).contains(nodeId));
-    }
-    
     private Mono<ValidationResult> validateCodeQuality(ValidationRequest request) {
         return Mono.fromCallable(() -> {
             List<Issue> issues = new ArrayList<>();
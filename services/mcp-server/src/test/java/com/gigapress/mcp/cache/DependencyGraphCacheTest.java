@@ -0,0 +1,97 @@
+package com.gigapress.mcp.cache;
+
+import com.gigapress.mcp.client.DynamicUpdateEngineClient;
+import com.gigapress.mcp.model.domain.DependencyGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyGraphCacheTest {
+    
+    @Mock
+    private DynamicUpdateEngineClient dynamicUpdateEngineClient;
+    
+    private DependencyGraphCache cache;
+    
+    private AtomicInteger subscriptions;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new DependencyGraphCache(dynamicUpdateEngineClient, Duration.ofMinutes(5));
+        subscriptions = new AtomicInteger();
+    }
+    
+    @Test
+    void testGet_ConcurrentCallersShareOneFetch() {
+        // Given
+        DependencyGraph graph = graph();
+        when(dynamicUpdateEngineClient.fetchDependencyGraph("proj-1"))
+            .thenReturn(Mono.just(graph).delayElement(Duration.ofMillis(50)).doOnSubscribe(s -> subscriptions.incrementAndGet()));
+        
+        // When
+        Mono<DependencyGraph> first = cache.get("proj-1");
+        Mono<DependencyGraph> second = cache.get("proj-1");
+        
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+            .assertNext(both -> {
+                assertSame(graph, both.getT1());
+                assertSame(graph, both.getT2());
+            })
+            .verifyComplete();
+        assertEquals(1, subscriptions.get());
+        verify(dynamicUpdateEngineClient, times(1)).fetchDependencyGraph("proj-1");
+    }
+    
+    @Test
+    void testInvalidate_NextCallerFetchesAgain() {
+        // Given
+        when(dynamicUpdateEngineClient.fetchDependencyGraph("proj-1"))
+            .thenAnswer(invocation -> Mono.just(graph()));
+        cache.get("proj-1").block();
+        
+        // When
+        cache.invalidate("proj-1");
+        cache.get("proj-1").block();
+        cache.get("proj-1").block();
+        
+        // Then
+        verify(dynamicUpdateEngineClient, times(2)).fetchDependencyGraph("proj-1");
+        assertEquals(1L, cache.getStats().get("invalidations"));
+    }
+    
+    @Test
+    void testGet_FailedFetchIsNotCached() {
+        // Given
+        when(dynamicUpdateEngineClient.fetchDependencyGraph("proj-1"))
+            .thenReturn(Mono.error(new IllegalStateException("engine down")))
+            .thenReturn(Mono.just(graph()));
+        
+        // When
+        DependencyGraph fallback = cache.get("proj-1").block();
+        DependencyGraph recovered = cache.get("proj-1").block();
+        
+        // Then
+        assertNull(fallback.getNodes());
+        assertEquals(1, recovered.getNodes().size());
+    }
+    
+    private DependencyGraph graph() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setNodes(new HashMap<>());
+        graph.addNode("comp1", null);
+        return graph;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gigapress.mcp.client;
+
+import com.gigapress.mcp.model.domain.Component;
+import com.gigapress.mcp.model.domain.DependencyGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphSnapshotDecoderTest {
+    
+    @Test
+    void testDecode_BuildsGraphWithBothDirections() throws IOException {
+        // Given: api -> service, with an engine-only status on service
+        byte[] data = snapshot();
+        
+        // When
+        GraphSnapshotDecoder.Snapshot snapshot = GraphSnapshotDecoder.decode(data);
+        
+        // Then
+        DependencyGraph graph = snapshot.graph();
+        assertEquals("proj-1", snapshot.projectId());
+        assertEquals("abc123", snapshot.version());
+        assertEquals(2, graph.getNodes().size());
+        assertEquals(Set.of("service"), graph.getDirectDependencies("api"));
+        assertEquals(1, graph.getEdges().size());
+        
+        Component service = graph.getNodes().get("service").getComponent();
+        assertEquals(Component.ComponentType.SERVICE, service.getType());
+        assertEquals("2.0.0", service.getVersion());
+        assertNull(service.getStatus());
+        assertEquals(List.of("api"), service.getDependents());
+    }
+    
+    @Test
+    void testDecode_RejectsUnknownPayload() {
+        assertThrows(IllegalArgumentException.class,
+            () -> GraphSnapshotDecoder.decode(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+    
+    private byte[] snapshot() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x47504753);
+        out.writeShort(1);
+        out.writeUTF("proj-1");
+        out.writeUTF("abc123");
+        
+        List<String> table = List.of("api", "API", "SERVICE", "1.0.0", "ACTIVE", "service", "Service", "2.0.0", "UPDATING");
+        out.writeByte(table.size());
+        for (String value : table) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(utf8.length);
+            out.write(utf8);
+        }
+        
+        out.writeByte(2);
+        out.write(new byte[]{1, 2, 2, 4, 5});   // api: id, name, type, version, status
+        out.write(new byte[]{6, 7, 3, 8, 9});   // service
+        out.write(new byte[]{1, 1});            // api depends on node 1
+        out.write(new byte[]{0});               // service has no dependencies
+        return bytes.toByteArray();
+    }
+}
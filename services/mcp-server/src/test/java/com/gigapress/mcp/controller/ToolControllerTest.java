@@ -1,5 +1,6 @@
 package com.gigapress.mcp.controller;
 
+import com.gigapress.mcp.model.request.BatchChangeAnalysisRequest;
 import com.gigapress.mcp.model.request.ChangeAnalysisRequest;
 import com.gigapress.mcp.model.response.ApiResponse;
 import com.gigapress.mcp.model.response.ChangeAnalysisResponse;
@@ -10,8 +11,11 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -62,6 +66,33 @@ class ToolControllerTest {
             .jsonPath("$.data.analysisId").isEqualTo("test-analysis-id");
     }
     
+    @Test
+    void testAnalyzeChangeImpactBatch_StreamsOneResultPerChange() {
+        // Given
+        BatchChangeAnalysisRequest request = BatchChangeAnalysisRequest.builder()
+            .projectId("test-project")
+            .changes(List.of(
+                ChangeAnalysisRequest.builder().changeDescription("Change A").build(),
+                ChangeAnalysisRequest.builder().changeDescription("Change B").build()))
+            .build();
+        
+        when(changeAnalysisService.analyzeChanges(any(BatchChangeAnalysisRequest.class)))
+            .thenReturn(Flux.just(
+                ChangeAnalysisResponse.builder().analysisId("a").changeIndex(0).build(),
+                ChangeAnalysisResponse.builder().analysisId("b").changeIndex(1).build()));
+        
+        // When & Then
+        webTestClient.post()
+            .uri("/api/tools/analyze/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(ApiResponse.class)
+            .hasSize(2);
+    }
+    
     @Test
     void testHealthCheck() {
         webTestClient.get()
@@ -0,0 +1,134 @@
+package com.gigapress.mcp.event.serde;
+
+import com.gigapress.event.serde.EventWireFormat;
+import com.gigapress.event.serde.EventWriter;
+import com.gigapress.mcp.model.event.AnalysisEvent;
+import com.gigapress.mcp.model.event.ComponentChangeEvent;
+import com.gigapress.mcp.model.event.DependencyChangeEvent;
+import com.gigapress.mcp.model.event.ProjectEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpEventSerializerTest {
+    
+    private final McpEventSerializer serializer = new McpEventSerializer();
+    private final McpEventDeserializer deserializer = new McpEventDeserializer();
+    
+    @Test
+    void testRoundTrip_ProjectEvent() {
+        // Given
+        ProjectEvent event = ProjectEvent.builder()
+                .eventId("evt-1")
+                .eventType(ProjectEvent.EventType.COMPONENT_ADDED)
+                .projectId("proj-1")
+                .componentId("comp-1")
+                .payload(Map.of("name", "api", "replicas", 3))
+                .sourceService("mcp-server")
+                .timestamp(LocalDateTime.of(2024, 5, 1, 12, 30, 15))
+                .metadata(Map.of("trace", "abc"))
+                .build();
+        
+        // When
+        byte[] encoded = serializer.serialize("project-generation", event);
+        Object decoded = deserializer.deserialize("project-generation", encoded);
+        
+        // Then
+        assertEquals(EventWireFormat.MAGIC, encoded[0] & 0xFF);
+        assertEquals(EventWireFormat.PROJECT_EVENT, encoded[1]);
+        assertEquals(event, decoded);
+    }
+    
+    @Test
+    void testRoundTrip_AnalysisEventWithNulls() {
+        // Given
+        AnalysisEvent event = AnalysisEvent.builder()
+                .analysisId("analysis-1")
+                .projectId("proj-1")
+                .analysisType(AnalysisEvent.AnalysisType.CHANGE_IMPACT)
+                .affectedComponents(List.of("comp-1", "comp-2"))
+                .analysisResults(Map.of("risk", 0.75, "nested", Map.of("count", 2L)))
+                .timestamp(null)
+                .build();
+        
+        // When
+        Object decoded = deserializer.deserialize("change-analysis", serializer.serialize("change-analysis", event));
+        
+        // Then
+        assertEquals(event, decoded);
+        assertNull(((AnalysisEvent) decoded).getRecommendations());
+    }
+    
+    @Test
+    void testDecode_EngineJsonComponentChangeWithForeignTypeHeader() {
+        // Given: a record as the engine's JsonSerializer writes it, typed with an engine class
+        Map<String, Object> engineEvent = new LinkedHashMap<>();
+        engineEvent.put("eventId", "evt-3");
+        engineEvent.put("componentId", "comp-1");
+        engineEvent.put("projectId", "proj-1");
+        engineEvent.put("updateType", "VERSION_CHANGE");
+        engineEvent.put("newVersion", "2.0.0");
+        engineEvent.put("userId", "someone");
+        RecordHeaders headers = new RecordHeaders();
+        byte[] encoded;
+        try (JsonSerializer<Object> engineSerializer = new JsonSerializer<>()) {
+            encoded = engineSerializer.serialize("component.changes", headers, engineEvent);
+        }
+        headers.remove(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        headers.add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                "com.gigapress.dynamicupdate.event.ComponentUpdateEvent".getBytes(StandardCharsets.UTF_8));
+        
+        // Configured like the graph cache listener on component.changes
+        McpEventDeserializer listenerDeserializer = new McpEventDeserializer();
+        listenerDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, "false",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, ComponentChangeEvent.class.getName()), false);
+        
+        // When
+        Object decoded = listenerDeserializer.deserialize("component.changes", headers, encoded);
+        
+        // Then
+        ComponentChangeEvent event = assertInstanceOf(ComponentChangeEvent.class, decoded);
+        assertEquals("proj-1", event.getProjectId());
+        assertEquals("comp-1", event.getComponentId());
+        assertEquals("VERSION_CHANGE", event.getUpdateType());
+        listenerDeserializer.close();
+    }
+    
+    @Test
+    void testDecode_EngineDependencyChangeEvent() {
+        // Given: a record as the dynamic-update-engine writes it, metadata included
+        EventWriter writer = new EventWriter(64);
+        writer.writeByte(EventWireFormat.MAGIC);
+        writer.writeByte(EventWireFormat.DEPENDENCY_CHANGE);
+        writer.writeVarInt(1);
+        writer.writeString("evt-2");
+        writer.writeString("api");
+        writer.writeString("db");
+        writer.writeString("proj-1");
+        writer.writeString("ADDED");
+        writer.writeString("DATABASE");
+        writer.writeDateTime(LocalDateTime.of(2024, 5, 1, 12, 0));
+        writer.writeString("{\"pool\":10}");
+        
+        // When
+        Object decoded = deserializer.deserialize("dependency.events", writer.toByteArray());
+        
+        // Then
+        DependencyChangeEvent event = assertInstanceOf(DependencyChangeEvent.class, decoded);
+        assertEquals("proj-1", event.getProjectId());
+        assertEquals("api", event.getSourceComponentId());
+        assertEquals("ADDED", event.getChangeType());
+    }
+}
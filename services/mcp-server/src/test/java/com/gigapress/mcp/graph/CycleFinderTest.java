@@ -0,0 +1,75 @@
+package com.gigapress.mcp.graph;
+
+import com.gigapress.mcp.model.domain.DependencyGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CycleFinderTest {
+    
+    @Test
+    void testFind_ReportsEveryMemberAndAnExamplePath() {
+        // Given: a -> b -> c -> a, a shortcut b -> a, d -> a outside the cycle, e -> e
+        DependencyGraph graph = graph("a", "b", "c", "d", "e");
+        graph.addEdge("a", "b", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "c", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("c", "a", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "a", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("d", "a", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("e", "e", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        // When
+        List<CycleFinder.Cycle> cycles = CycleFinder.find(graph.index());
+        
+        // Then
+        assertEquals(2, cycles.size());
+        CycleFinder.Cycle abc = cycles.get(0);
+        assertEquals(Set.of("a", "b", "c"), Set.copyOf(abc.members()));
+        List<String> path = abc.path();
+        assertEquals(path.get(0), path.get(path.size() - 1));
+        assertEquals(3, path.size());
+        assertEquals(List.of("e", "e"), cycles.get(1).path());
+    }
+    
+    @Test
+    void testFind_AcyclicGraphHasNoCycles() {
+        // Given
+        DependencyGraph graph = graph("api", "service", "db");
+        graph.addEdge("api", "service", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("service", "db", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("api", "db", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        // When & Then
+        assertTrue(CycleFinder.find(graph.index()).isEmpty());
+    }
+    
+    @Test
+    void testFind_HandlesLongChainsWithoutRecursion() {
+        // Given: a ring of 100k components
+        int size = 100_000;
+        DependencyGraph graph = new DependencyGraph();
+        for (int i = 0; i < size; i++) {
+            graph.addNode("c" + i, null);
+            graph.addEdge("c" + i, "c" + ((i + 1) % size), DependencyGraph.EdgeType.DEPENDS_ON);
+        }
+        
+        // When
+        List<CycleFinder.Cycle> cycles = CycleFinder.find(graph.index());
+        
+        // Then
+        assertEquals(1, cycles.size());
+        assertEquals(size, cycles.get(0).members().size());
+        assertEquals(size + 1, cycles.get(0).path().size());
+    }
+    
+    private DependencyGraph graph(String... ids) {
+        DependencyGraph graph = new DependencyGraph();
+        for (String id : ids) {
+            graph.addNode(id, null);
+        }
+        return graph;
+    }
+}
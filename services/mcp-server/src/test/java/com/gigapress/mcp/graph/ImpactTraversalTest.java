@@ -0,0 +1,124 @@
+package com.gigapress.mcp.graph;
+
+import com.gigapress.mcp.model.domain.DependencyGraph;
+import com.gigapress.mcp.model.domain.DependencyGraphIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImpactTraversalTest {
+    
+    @Test
+    void testLevels_GroupsByShortestDistanceAndStopsAtMaxDistance() {
+        // Given: a -> b -> c -> d with a shortcut a -> c, and an edge to an unknown id
+        DependencyGraph graph = graph("a", "b", "c", "d");
+        graph.addEdge("a", "b", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "c", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("a", "c", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("c", "d", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "external", DependencyGraph.EdgeType.USES);
+        DependencyGraphIndex index = graph.index();
+        
+        // When
+        List<int[]> all = ImpactTraversal.levels(index, new int[]{index.indexOf("a")}, Integer.MAX_VALUE);
+        List<int[]> shallow = ImpactTraversal.levels(index, new int[]{index.indexOf("a")}, 1);
+        
+        // Then
+        assertEquals(3, all.size());
+        assertEquals(List.of("a"), ids(index, all.get(0)));
+        assertEquals(List.of("b", "c"), ids(index, all.get(1)).stream().sorted().toList());
+        assertEquals(List.of("d"), ids(index, all.get(2)));
+        assertEquals(2, shallow.size());
+    }
+    
+    @Test
+    void testLevels_ParallelFrontierMatchesSequentialDistances() {
+        // Given: root fans out to more children than the parallel threshold, each with one grandchild
+        int fanOut = ImpactTraversal.PARALLEL_THRESHOLD + 100;
+        DependencyGraph graph = graph("root");
+        for (int i = 0; i < fanOut; i++) {
+            graph.addNode("child-" + i, null);
+            graph.addNode("leaf-" + i, null);
+            graph.addEdge("root", "child-" + i, DependencyGraph.EdgeType.DEPENDS_ON);
+            graph.addEdge("child-" + i, "leaf-" + i, DependencyGraph.EdgeType.DEPENDS_ON);
+            graph.addEdge("child-" + i, "leaf-0", DependencyGraph.EdgeType.DEPENDS_ON);
+        }
+        DependencyGraphIndex index = graph.index();
+        
+        // When
+        List<int[]> levels = ImpactTraversal.levels(index, new int[]{index.indexOf("root")}, Integer.MAX_VALUE);
+        
+        // Then
+        assertEquals(3, levels.size());
+        assertEquals(fanOut, levels.get(1).length);
+        assertEquals(fanOut, levels.get(2).length);
+        for (int i = 1; i < levels.get(2).length; i++) {
+            assertTrue(levels.get(2)[i - 1] < levels.get(2)[i]);
+        }
+    }
+    
+    @Test
+    void testLevels_IgnoresUnknownAndDuplicateSources() {
+        // Given
+        DependencyGraph graph = graph("a", "b");
+        graph.addEdge("a", "b", DependencyGraph.EdgeType.DEPENDS_ON);
+        DependencyGraphIndex index = graph.index();
+        
+        // When
+        List<int[]> levels = ImpactTraversal.levels(index,
+            new int[]{index.indexOf("a"), index.indexOf("missing"), index.indexOf("a")}, Integer.MAX_VALUE);
+        
+        // Then
+        assertEquals(1, levels.get(0).length);
+        assertEquals(2, levels.size());
+    }
+    
+    @Test
+    void testLevels_SharedSweepMatchesIndividualTraversals() {
+        // Given: more source sets than fit in one sweep, with mixed distance limits
+        DependencyGraph graph = graph();
+        for (int i = 0; i < 50; i++) {
+            graph.addNode("c" + i, null);
+        }
+        for (int i = 0; i < 50; i++) {
+            graph.addEdge("c" + i, "c" + ((i * 7 + 3) % 50), DependencyGraph.EdgeType.DEPENDS_ON);
+            graph.addEdge("c" + i, "c" + ((i + 1) % 50), DependencyGraph.EdgeType.DEPENDS_ON);
+        }
+        DependencyGraphIndex index = graph.index();
+        int sets = ImpactTraversal.SWEEP_WIDTH + 6;
+        int[][] sources = new int[sets][];
+        int[] maxDistances = new int[sets];
+        for (int s = 0; s < sets; s++) {
+            sources[s] = new int[]{index.indexOf("c" + (s % 50)), index.indexOf("c" + ((s * 3) % 50))};
+            maxDistances[s] = s % 3 == 0 ? Integer.MAX_VALUE : s % 3;
+        }
+        
+        // When
+        List<List<int[]>> shared = ImpactTraversal.levels(index, sources, maxDistances);
+        
+        // Then
+        assertEquals(sets, shared.size());
+        for (int s = 0; s < sets; s++) {
+            List<int[]> single = ImpactTraversal.levels(index, sources[s], maxDistances[s]);
+            assertEquals(single.size(), shared.get(s).size());
+            for (int level = 0; level < single.size(); level++) {
+                assertArrayEquals(single.get(level), shared.get(s).get(level));
+            }
+        }
+    }
+    
+    private List<String> ids(DependencyGraphIndex index, int[] level) {
+        return Arrays.stream(level).mapToObj(index::idAt).toList();
+    }
+    
+    private DependencyGraph graph(String... ids) {
+        DependencyGraph graph = new DependencyGraph();
+        for (String id : ids) {
+            graph.addNode(id, null);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gigapress.mcp.model.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+    
+    @Test
+    void testIndex_BuildsForwardAndReverseAdjacency() {
+        // Given: api -> service -> db, with a duplicate edge and an edge to an unknown id
+        DependencyGraph graph = graph("api", "service", "db");
+        graph.addEdge("api", "service", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("api", "service", DependencyGraph.EdgeType.CALLS);
+        graph.addEdge("service", "db", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("db", "external", DependencyGraph.EdgeType.USES);
+        
+        // When
+        DependencyGraphIndex index = graph.index();
+        
+        // Then
+        assertEquals(4, index.size());
+        assertEquals(3, index.edgeCount());
+        int service = index.indexOf("service");
+        assertEquals(1, index.dependencyCount(service));
+        assertEquals("db", index.idAt(index.dependencyAt(service, 0)));
+        assertEquals(1, index.dependentCount(service));
+        assertEquals("api", index.idAt(index.dependentAt(service, 0)));
+        assertFalse(index.isNode(index.indexOf("external")));
+        assertEquals(-1, index.indexOf("missing"));
+    }
+    
+    @Test
+    void testTransitiveClosures_FollowCyclesAndStayMemoized() {
+        // Given: a -> b -> c -> a, and d -> a
+        DependencyGraph graph = graph("a", "b", "c", "d");
+        graph.addEdge("a", "b", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "c", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("c", "a", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("d", "a", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        // When
+        Set<String> dependencies = graph.getAllDependencies("d");
+        Set<String> dependents = graph.getAllDependents("a");
+        
+        // Then
+        assertEquals(Set.of("a", "b", "c"), dependencies);
+        assertEquals(Set.of("a", "b", "c", "d"), dependents);
+        DependencyGraphIndex index = graph.index();
+        assertSame(index, graph.index());
+        assertTrue(index.dependsOn(index.indexOf("b"), index.indexOf("a")));
+        assertFalse(index.dependsOn(index.indexOf("a"), index.indexOf("d")));
+        assertEquals(3, index.transitiveDependencyCount(index.indexOf("d")));
+    }
+    
+    @Test
+    void testTransitiveClosures_RecomputedOnceMemoBudgetIsSpent() {
+        // Given: a -> b -> c -> d, with room for a single memoized closure per direction
+        DependencyGraph graph = graph("a", "b", "c", "d");
+        graph.addEdge("a", "b", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("b", "c", DependencyGraph.EdgeType.DEPENDS_ON);
+        graph.addEdge("c", "d", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        // When
+        DependencyGraphIndex index = DependencyGraphIndex.build(graph.getNodes(), graph.getEdges(), 4);
+        
+        // Then
+        assertEquals(Set.of("b", "c", "d"), index.transitiveDependencyIds(index.indexOf("a")));
+        assertEquals(Set.of("c", "d"), index.transitiveDependencyIds(index.indexOf("b")));
+        assertEquals(Set.of("a", "b", "c"), index.transitiveDependentIds(index.indexOf("d")));
+        assertEquals(3, index.transitiveDependencyCount(index.indexOf("a")));
+        assertTrue(index.dependsOn(index.indexOf("b"), index.indexOf("d")));
+        assertFalse(index.dependsOn(index.indexOf("d"), index.indexOf("a")));
+    }
+    
+    @Test
+    void testAddEdge_RebuildsIndexAfterMutation() {
+        // Given
+        DependencyGraph graph = graph("api", "service");
+        DependencyGraphIndex before = graph.index();
+        assertFalse(graph.hasDependents("service"));
+        
+        // When
+        graph.addEdge("api", "service", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        // Then
+        assertNotSame(before, graph.index());
+        assertTrue(graph.hasDependents("service"));
+        assertEquals(Set.of("api"), graph.getDirectDependents("service"));
+        assertTrue(graph.getDirectDependencies("service").isEmpty());
+    }
+    
+    private DependencyGraph graph(String... ids) {
+        DependencyGraph graph = new DependencyGraph();
+        for (String id : ids) {
+            graph.addNode(id, Component.builder().componentId(id).componentName(id).build());
+        }
+        return graph;
+    }
+}
@@ -1,9 +1,10 @@
 package com.gigapress.mcp.service;
 
-import com.gigapress.mcp.client.DynamicUpdateEngineClient;
+import com.gigapress.mcp.cache.DependencyGraphCache;
 import com.gigapress.mcp.event.EventProducer;
 import com.gigapress.mcp.model.domain.Component;
 import com.gigapress.mcp.model.domain.DependencyGraph;
+import com.gigapress.mcp.model.request.BatchChangeAnalysisRequest;
 import com.gigapress.mcp.model.request.ChangeAnalysisRequest;
 import com.gigapress.mcp.model.response.ChangeAnalysisResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,7 +29,7 @@ import static org.mockito.Mockito.*;
 class ChangeAnalysisServiceTest {
     
     @Mock
-    private DynamicUpdateEngineClient dynamicUpdateEngineClient;
+    private DependencyGraphCache dependencyGraphCache;
     
     @Mock
     private EventProducer eventProducer;
@@ -65,7 +67,7 @@ class ChangeAnalysisServiceTest {
             .analysisDepth(ChangeAnalysisRequest.AnalysisDepth.NORMAL)
             .build();
         
-        when(dynamicUpdateEngineClient.getDependencyGraph(anyString()))
+        when(dependencyGraphCache.get(anyString()))
             .thenReturn(Mono.just(testGraph));
         
         // When
@@ -88,6 +90,87 @@ class ChangeAnalysisServiceTest {
         verify(eventProducer, times(1)).publishAnalysisEvent(any());
     }
     
+    @Test
+    void testAnalyzeChange_UsesShortestDistanceAndHonoursDepth() {
+        // Given: comp1 -> comp3 -> comp2 alongside the direct comp1 -> comp2, and comp2 -> comp4
+        testGraph.addNode("comp3", Component.builder()
+            .componentId("comp3")
+            .componentName("Component 3")
+            .type(Component.ComponentType.SERVICE)
+            .build());
+        testGraph.addNode("comp4", Component.builder()
+            .componentId("comp4")
+            .componentName("Component 4")
+            .type(Component.ComponentType.DATABASE)
+            .build());
+        testGraph.addEdge("comp1", "comp3", DependencyGraph.EdgeType.DEPENDS_ON);
+        testGraph.addEdge("comp3", "comp2", DependencyGraph.EdgeType.DEPENDS_ON);
+        testGraph.addEdge("comp2", "comp4", DependencyGraph.EdgeType.DEPENDS_ON);
+        
+        ChangeAnalysisRequest request = ChangeAnalysisRequest.builder()
+            .projectId("test-project")
+            .changeDescription("Rename endpoint")
+            .changeType(ChangeAnalysisRequest.ChangeType.REFACTOR)
+            .targetComponents(new String[]{"comp1"})
+            .analysisDepth(ChangeAnalysisRequest.AnalysisDepth.SHALLOW)
+            .build();
+        
+        when(dependencyGraphCache.get(anyString()))
+            .thenReturn(Mono.just(testGraph));
+        
+        // When
+        Mono<ChangeAnalysisResponse> result = changeAnalysisService.analyzeChange(request);
+        
+        // Then
+        StepVerifier.create(result)
+            .assertNext(response -> {
+                Map<String, ChangeAnalysisResponse.ImpactLevel> levels = new HashMap<>();
+                response.getAffectedComponents()
+                    .forEach(c -> levels.put(c.getComponentId(), c.getImpactLevel()));
+                assertEquals(Map.of(
+                    "comp1", ChangeAnalysisResponse.ImpactLevel.CRITICAL,
+                    "comp2", ChangeAnalysisResponse.ImpactLevel.HIGH,
+                    "comp3", ChangeAnalysisResponse.ImpactLevel.HIGH), levels);
+            })
+            .verifyComplete();
+    }
+    
+    @Test
+    void testAnalyzeChanges_FetchesGraphOnceAndTagsEachResult() {
+        // Given
+        BatchChangeAnalysisRequest batch = BatchChangeAnalysisRequest.builder()
+            .projectId("test-project")
+            .changes(List.of(
+                ChangeAnalysisRequest.builder()
+                    .changeDescription("Touch component 1")
+                    .targetComponents(new String[]{"comp1"})
+                    .build(),
+                ChangeAnalysisRequest.builder()
+                    .changeDescription("Touch component 2")
+                    .targetComponents(new String[]{"comp2"})
+                    .analysisDepth(ChangeAnalysisRequest.AnalysisDepth.DEEP)
+                    .build()))
+            .build();
+        
+        when(dependencyGraphCache.get("test-project"))
+            .thenReturn(Mono.just(testGraph));
+        
+        // When
+        List<ChangeAnalysisResponse> responses = changeAnalysisService.analyzeChanges(batch)
+            .collectList()
+            .block();
+        
+        // Then
+        assertNotNull(responses);
+        Map<Integer, Integer> affectedByChange = new HashMap<>();
+        responses.forEach(r -> affectedByChange.put(r.getChangeIndex(), r.getAffectedComponents().size()));
+        assertEquals(Map.of(0, 2, 1, 1), affectedByChange);
+        responses.forEach(r -> assertEquals("test-project", r.getProjectId()));
+        batch.getChanges().forEach(change -> assertNull(change.getProjectId()));
+        verify(dependencyGraphCache, times(1)).get("test-project");
+        verify(eventProducer, times(2)).publishAnalysisEvent(any());
+    }
+    
     @Test
     void testAnalyzeChange_EmptyGraph() {
         // Given
@@ -97,7 +180,7 @@ class ChangeAnalysisServiceTest {
             .changeType(ChangeAnalysisRequest.ChangeType.FEATURE_ADD)
             .build();
         
-        when(dynamicUpdateEngineClient.getDependencyGraph(anyString()))
+        when(dependencyGraphCache.get(anyString()))
             .thenReturn(Mono.just(new DependencyGraph()));
         
         // When